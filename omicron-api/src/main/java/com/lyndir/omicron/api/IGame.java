@@ -26,7 +26,14 @@ public interface IGame {
     /**
      * @return The turns that have so-far occurred in this game.  The final entry is the currently active turn.
      */
-    Deque<Turn> getTurns();
+    ImmutableList<Turn> getTurns();
+
+    /**
+     * @return The currently active turn.
+     */
+    default Turn getCurrentTurn() {
+        return Iterables.getLast( getTurns() );
+    }
 
     /**
      * @return The maximum dimensions to create the levels of this game in.
@@ -77,8 +84,6 @@ public interface IGame {
 
         IBuilder setTotalPlayers(Integer totalPlayers);
 
-        IBuilder addGameListener(GameListener gameListener);
-
         GameResourceConfig getResourceConfig();
 
         IBuilder setResourceConfig(GameResourceConfig resourceConfig);
@@ -27,4 +27,32 @@ public interface IGameController {
      * @return true if this action has caused a new turn to begin.
      */
     boolean setReady();
+
+    /**
+     * The planned movement of a group of units that move together.
+     */
+    interface IGroupMovement {
+
+        /**
+         * @return The movement of each unit that can reach its target, in the order they will be executed.
+         */
+        ImmutableMap<IGameObject, ? extends IMobilityModuleController.IMovement> getMovements();
+
+        /**
+         * @return The units that can't reach their target, either by themselves or because the other units of the group are in the way.
+         */
+        ImmutableSet<IGameObject> getImpossible();
+
+        /**
+         * @return true if at least one unit of the group can be moved.
+         */
+        boolean isPossible();
+
+        /**
+         * Move all the units that can reach their target.  Either all of them are moved or none of them are, and game listeners are only
+         * notified of their movement after all of them have moved.
+         */
+        void execute()
+                throws IModule.ImpossibleException, IModule.InvalidatedException;
+    }
 }
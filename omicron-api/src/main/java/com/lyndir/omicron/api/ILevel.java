@@ -4,6 +4,8 @@ import com.google.common.collect.ImmutableMap;
 import com.lyndir.lhunath.opal.math.Size;
 import com.lyndir.lhunath.opal.math.Vec2;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 
 /**
@@ -41,4 +43,22 @@ public interface ILevel {
 
         return Optional.of( getTilesByPosition().get( position ) );
     }
+
+    /**
+     * Get the tiles in a rectangular window of this level.
+     *
+     * @param origin The position of the window's top-left tile.
+     * @param size   The amount of columns and rows in the window.
+     *
+     * @return The tiles of the window that are within the bounds of this level, row by row.
+     */
+    default Stream<? extends ITile> getTiles(final Vec2 origin, final Size size) {
+        int fromX = Math.max( 0, origin.getX() ), toX = Math.min( getSize().getWidth(), origin.getX() + size.getWidth() );
+        int fromY = Math.max( 0, origin.getY() ), toY = Math.min( getSize().getHeight(), origin.getY() + size.getHeight() );
+        ImmutableMap<Vec2, ? extends ITile> tilesByPosition = getTilesByPosition();
+
+        return IntStream.range( fromY, toY )
+                        .boxed()
+                        .flatMap( y -> IntStream.range( fromX, toX ).<ITile>mapToObj( x -> tilesByPosition.get( Vec2.create( x, y ) ) ) );
+    }
 }
@@ -17,6 +17,7 @@
 package com.lyndir.omicron.api;
 
 import com.lyndir.omicron.api.util.PathUtils;
+import com.lyndir.omicron.api.view.ReachableArea;
 
 
 /**
@@ -38,6 +39,31 @@ public interface IMobilityModuleController extends IModuleController<IMobilityMo
      */
     IMovement movement(ITile target);
 
+    /**
+     * Move the unit toward a tile, as far as its remaining speed allows.
+     * <p>
+     * The unit follows the flow field toward the tile, which is shared by all the units of the player that head for the same tile.
+     * The movement ends next to the tile if the tile is held.
+     *
+     * @param target The tile to head for.
+     *
+     * @return The movement along the part of the way that the unit can make this turn.  Not possible if the tile can't be reached or the
+     * unit can't make any progress toward it this turn.
+     */
+    IMovement movementToward(ITile target);
+
+    /**
+     * Find all the tiles in the given level that the unit can move to with its remaining speed, using a single search.
+     * <p>
+     * The result holds the same tiles and costs as calling {@link #movement(ITile)} for each tile of the level, including the cost
+     * of leveling there first.
+     *
+     * @param levelType The level to move around in.
+     *
+     * @return The reachable tiles.  Empty if the unit can't level to the given level.
+     */
+    ReachableArea reachable(LevelType levelType);
+
     interface ILeveling {
 
         boolean isPossible();
@@ -1,7 +1,10 @@
 package com.lyndir.omicron.api;
 
 import com.google.common.collect.ImmutableMap;
+import com.lyndir.lhunath.opal.math.Size;
+import com.lyndir.lhunath.opal.math.Vec2;
 import com.lyndir.omicron.api.util.Maybool;
+import com.lyndir.omicron.api.view.ObservedTile;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import org.jetbrains.annotations.NotNull;
@@ -62,4 +65,11 @@ public interface IPlayer extends GameObserver {
     default Stream<? extends ITile> observableTiles() {
         return getController().observableTiles();
     }
+
+    /**
+     * @see IPlayerController#observedTiles(LevelType, Vec2, Size)
+     */
+    default Stream<ObservedTile> observedTiles(final LevelType levelType, final Vec2 origin, final Size size) {
+        return getController().observedTiles( levelType, origin, size );
+    }
 }
@@ -1,6 +1,9 @@
 package com.lyndir.omicron.api;
 
+import com.lyndir.lhunath.opal.math.Size;
+import com.lyndir.lhunath.opal.math.Vec2;
 import com.lyndir.omicron.api.util.Maybe;
+import com.lyndir.omicron.api.view.ObservedTile;
 import java.util.stream.Stream;
 
 
@@ -26,5 +29,17 @@ public interface IPlayerController extends GameObserver {
 
     Maybe<? extends IGameObject> getObject(int objectId);
 
+    /**
+     * Observe the tiles in a rectangular window of a level.
+     *
+     * @param levelType The level to observe tiles in.
+     * @param origin    The position of the window's top-left tile.
+     * @param size      The amount of columns and rows in the window.
+     *
+     * @return The tiles of the window that this player (and the current player) can observe, row by row, along with their contents
+     * and resources.
+     */
+    Stream<ObservedTile> observedTiles(LevelType levelType, Vec2 origin, Size size);
+
     IGameController getGameController();
 }
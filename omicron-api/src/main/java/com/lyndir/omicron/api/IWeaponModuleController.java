@@ -16,7 +16,9 @@
 
 package com.lyndir.omicron.api;
 
+import com.google.common.collect.ImmutableList;
 import com.lyndir.omicron.api.error.OmicronException;
+import java.util.List;
 
 
 /**
@@ -27,6 +29,21 @@ public interface IWeaponModuleController extends IModuleController<IWeaponModule
     boolean fireAt(ITile target)
             throws OutOfRangeException, OutOfRepeatsException, OutOfAmmunitionException;
 
+    /**
+     * Fire a series of shots in one go.  All shots are validated before any of them is fired, so either all of them are fired or none
+     * of them are.  Game listeners are notified once for each target fired at and once for each object damaged.
+     *
+     * @param targets The tile to fire each shot at.  A tile can be listed more than once to fire several shots at it.
+     */
+    boolean fireAt(List<? extends ITile> targets)
+            throws OutOfRangeException, OutOfRepeatsException, OutOfAmmunitionException;
+
+    /**
+     * @return The objects of other players that the weapon can fire at from its current location: the objects that the current player
+     * can observe within the weapon's range on the levels the weapon supports, nearest first.
+     */
+    ImmutableList<? extends IGameObject> targets();
+
     class OutOfRangeException extends OmicronException {
 
         OutOfRangeException() {
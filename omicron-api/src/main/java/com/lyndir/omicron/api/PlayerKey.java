@@ -1,5 +1,7 @@
 package com.lyndir.omicron.api;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.io.Serializable;
 import java.security.SecureRandom;
 import java.util.Arrays;
@@ -17,6 +19,24 @@ public class PlayerKey implements Serializable {
         RANDOM.nextBytes( key );
     }
 
+    /**
+     * Restore a key from its encoded form, eg. as received from a remote player.
+     *
+     * @param encoded The bytes obtained from {@link #getEncoded()}.
+     */
+    public PlayerKey(final byte[] encoded) {
+        checkArgument( encoded.length == key.length, "Invalid player key, expected %s bytes, got: %s", key.length, encoded.length );
+
+        System.arraycopy( encoded, 0, key, 0, key.length );
+    }
+
+    /**
+     * @return The secret bytes of this key, for transferring it to the player that owns it.
+     */
+    public byte[] getEncoded() {
+        return key.clone();
+    }
+
     @Override
     public boolean equals(@Nullable final Object obj) {
         if (obj == this)
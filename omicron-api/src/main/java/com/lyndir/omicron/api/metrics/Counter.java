@@ -0,0 +1,44 @@
+package com.lyndir.omicron.api.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+
+/**
+ * A count that only goes up.  Increments are striped, so concurrent threads don't contend on the same memory.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class Counter extends Metric {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter(final String name, final String help, @Nullable final String labelName, @Nullable final String labelValue) {
+        super( name, help, labelName, labelValue );
+    }
+
+    public void increment() {
+        if (Metrics.ENABLED)
+            count.increment();
+    }
+
+    public void add(final long amount) {
+        if (Metrics.ENABLED)
+            count.add( amount );
+    }
+
+    public long get() {
+        return count.sum();
+    }
+
+    @Override
+    public String getType() {
+        return "counter";
+    }
+
+    @Override
+    public ImmutableMap<String, Number> sample() {
+        return ImmutableMap.of( "", get() );
+    }
+}
@@ -0,0 +1,38 @@
+package com.lyndir.omicron.api.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+
+/**
+ * A count that only goes up and is looked up whenever the metric is sampled, such as a count that is already kept by the code it
+ * measures.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class FunctionCounter extends Metric {
+
+    private final LongSupplier count;
+
+    FunctionCounter(final String name, final String help, @Nullable final String labelName, @Nullable final String labelValue,
+                    final LongSupplier count) {
+        super( name, help, labelName, labelValue );
+
+        this.count = count;
+    }
+
+    public long get() {
+        return count.getAsLong();
+    }
+
+    @Override
+    public String getType() {
+        return "counter";
+    }
+
+    @Override
+    public ImmutableMap<String, Number> sample() {
+        return ImmutableMap.of( "", get() );
+    }
+}
@@ -0,0 +1,37 @@
+package com.lyndir.omicron.api.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+
+/**
+ * A value that is looked up whenever the metric is sampled, such as the size of a queue.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class Gauge extends Metric {
+
+    private final LongSupplier value;
+
+    Gauge(final String name, final String help, @Nullable final String labelName, @Nullable final String labelValue,
+          final LongSupplier value) {
+        super( name, help, labelName, labelValue );
+
+        this.value = value;
+    }
+
+    public long get() {
+        return value.getAsLong();
+    }
+
+    @Override
+    public String getType() {
+        return "gauge";
+    }
+
+    @Override
+    public ImmutableMap<String, Number> sample() {
+        return ImmutableMap.of( "", get() );
+    }
+}
@@ -0,0 +1,123 @@
+package com.lyndir.omicron.api.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+
+/**
+ * The distribution of recorded values.
+ * <p>
+ * Values are counted in buckets whose bounds are powers of two, so recording a value is a bit count and an increment of a striped
+ * counter, without locks or allocation.  Quantiles are approximated by the upper bound of the bucket they fall in, which is at most
+ * twice the real value.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class Histogram extends Metric {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder[]     buckets = new LongAdder[BUCKETS];
+    private final LongAdder       count   = new LongAdder();
+    private final LongAdder       sum     = new LongAdder();
+    private final LongAccumulator max     = new LongAccumulator( Math::max, 0 );
+
+    Histogram(final String name, final String help, @Nullable final String labelName, @Nullable final String labelValue) {
+        super( name, help, labelName, labelValue );
+
+        for (int b = 0; b < BUCKETS; ++b)
+            buckets[b] = new LongAdder();
+    }
+
+    /**
+     * Record a value.  Negative values are recorded as zero.
+     */
+    public void record(final long value) {
+        if (!Metrics.ENABLED)
+            return;
+
+        long positiveValue = Math.max( 0, value );
+        buckets[bucket( positiveValue )].increment();
+        count.increment();
+        sum.add( positiveValue );
+        max.accumulate( positiveValue );
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @param quantile The fraction of the recorded values, between 0 and 1.
+     *
+     * @return An upper bound for the value below which the given fraction of the recorded values lie.
+     */
+    public long getQuantile(final double quantile) {
+        long total = getCount(), rank = (long) Math.ceil( quantile * total ), seen = 0;
+        for (int b = 0; b < BUCKETS; ++b) {
+            seen += buckets[b].sum();
+            if (seen >= rank && seen > 0)
+                return Math.min( upperBound( b ), getMax() );
+        }
+
+        return getMax();
+    }
+
+    /**
+     * @return The amount of recorded values for each bucket that holds any, cumulatively, by the bucket's upper bound.
+     */
+    public ImmutableMap<Long, Long> getCumulativeBuckets() {
+        ImmutableMap.Builder<Long, Long> cumulativeBuckets = ImmutableMap.builder();
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; ++b) {
+            long bucketCount = buckets[b].sum();
+            if (bucketCount == 0)
+                continue;
+
+            seen += bucketCount;
+            cumulativeBuckets.put( upperBound( b ), seen );
+        }
+
+        return cumulativeBuckets.build();
+    }
+
+    @Override
+    public String getType() {
+        return "histogram";
+    }
+
+    @Override
+    public ImmutableMap<String, Number> sample() {
+        return ImmutableMap.<String, Number>builder()
+                           .put( "_count", getCount() )
+                           .put( "_sum", getSum() )
+                           .put( "_max", getMax() )
+                           .put( "_p50", getQuantile( 0.5 ) )
+                           .put( "_p99", getQuantile( 0.99 ) )
+                           .build();
+    }
+
+    /**
+     * @return The index of the bucket for the value: the amount of bits needed to represent it.
+     */
+    private static int bucket(final long value) {
+        return Long.SIZE - Long.numberOfLeadingZeros( value );
+    }
+
+    /**
+     * @return The largest value that is counted in the bucket.
+     */
+    private static long upperBound(final int bucket) {
+        return bucket >= Long.SIZE - 1? Long.MAX_VALUE: (1L << bucket) - 1;
+    }
+}
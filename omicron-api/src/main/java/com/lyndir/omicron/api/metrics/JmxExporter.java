@@ -0,0 +1,101 @@
+package com.lyndir.omicron.api.metrics;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import javax.management.*;
+
+
+/**
+ * Exposes the registered metrics as the read-only attributes of a single MBean, {@value #OBJECT_NAME}.
+ * <p>
+ * Each attribute is a value of a metric, named after the metric, its label and the value's suffix, eg.
+ * {@code omicron_turn_phase_seconds{phase="reset"}_p99}.  Timer values are in nanoseconds.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class JmxExporter implements DynamicMBean {
+
+    static final Logger logger = Logger.get( JmxExporter.class );
+
+    public static final String OBJECT_NAME = "com.lyndir.omicron:type=Metrics";
+
+    /**
+     * Register the exporter with the platform MBean server, unless it has already been registered.
+     */
+    public static void register() {
+        try {
+            ObjectName objectName = new ObjectName( OBJECT_NAME );
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered( objectName ))
+                server.registerMBean( new JmxExporter(), objectName );
+        }
+        catch (final InstanceAlreadyExistsException ignored) {
+            // Registered concurrently.
+        }
+        catch (final JMException e) {
+            logger.wrn( e, "Couldn't register the metrics MBean." );
+        }
+    }
+
+    private static ImmutableSortedMap<String, Number> sample() {
+        ImmutableSortedMap.Builder<String, Number> samples = ImmutableSortedMap.naturalOrder();
+        for (final Map.Entry<String, Metric> metric : Metrics.all().entrySet())
+            for (final Map.Entry<String, Number> sample : metric.getValue().sample().entrySet())
+                samples.put( metric.getKey() + sample.getKey(), sample.getValue() );
+
+        return samples.build();
+    }
+
+    @Override
+    public Object getAttribute(final String attribute)
+            throws AttributeNotFoundException {
+        Number value = sample().get( attribute );
+        if (value == null)
+            throw new AttributeNotFoundException( attribute );
+
+        return value.longValue();
+    }
+
+    @Override
+    public AttributeList getAttributes(final String[] attributes) {
+        ImmutableSortedMap<String, Number> samples = sample();
+        AttributeList attributeList = new AttributeList();
+        for (final String attribute : attributes) {
+            Number value = samples.get( attribute );
+            if (value != null)
+                attributeList.add( new Attribute( attribute, value.longValue() ) );
+        }
+
+        return attributeList;
+    }
+
+    @Override
+    public void setAttribute(final Attribute attribute)
+            throws AttributeNotFoundException {
+        throw new AttributeNotFoundException( "Metrics are read-only: " + attribute.getName() );
+    }
+
+    @Override
+    public AttributeList setAttributes(final AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(final String actionName, final Object[] params, final String[] signature)
+            throws ReflectionException {
+        throw new ReflectionException( new NoSuchMethodException( actionName ) );
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        ImmutableSortedMap<String, Number> samples = sample();
+        MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[samples.size()];
+        int a = 0;
+        for (final String attribute : samples.keySet())
+            attributes[a++] = new MBeanAttributeInfo( attribute, long.class.getName(), attribute, true, false, false );
+
+        return new MBeanInfo( JmxExporter.class.getName(), "Omicron metrics", attributes, null, null, null );
+    }
+}
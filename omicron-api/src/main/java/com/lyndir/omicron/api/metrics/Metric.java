@@ -0,0 +1,66 @@
+package com.lyndir.omicron.api.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import javax.annotation.Nullable;
+
+
+/**
+ * A named measurement, optionally distinguished from its siblings of the same name by a single label.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final String help;
+    @Nullable
+    private final String labelName;
+    @Nullable
+    private final String labelValue;
+
+    Metric(final String name, final String help, @Nullable final String labelName, @Nullable final String labelValue) {
+        this.name = name;
+        this.help = help;
+        this.labelName = labelName;
+        this.labelValue = labelValue;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    @Nullable
+    public String getLabelName() {
+        return labelName;
+    }
+
+    @Nullable
+    public String getLabelValue() {
+        return labelValue;
+    }
+
+    /**
+     * @return The kind of metric, as understood by Prometheus: {@code counter}, {@code gauge} or {@code histogram}.
+     */
+    public abstract String getType();
+
+    /**
+     * @return The current values of the metric, by the suffix that is appended to the metric's name to identify the value.
+     */
+    public abstract ImmutableMap<String, Number> sample();
+
+    /**
+     * @return The unique key of this metric: its name and label.
+     */
+    String getKey() {
+        return key( name, labelName, labelValue );
+    }
+
+    static String key(final String name, @Nullable final String labelName, @Nullable final String labelValue) {
+        return labelName == null? name: name + '{' + labelName + "=\"" + labelValue + "\"}";
+    }
+}
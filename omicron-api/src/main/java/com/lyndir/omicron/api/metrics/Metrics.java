@@ -0,0 +1,114 @@
+package com.lyndir.omicron.api.metrics;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+
+/**
+ * The registry of all metrics in the VM.
+ * <p>
+ * Metrics are created once, typically in a static field, and recorded on the hot path.  Recording is cheap: counters and histograms
+ * stripe their state over the recording threads.  When metrics are disabled with {@code -Domicron.metrics=false}, recording does
+ * nothing at all and timers don't read the clock.
+ * <p>
+ * The registered metrics are exported by {@link PrometheusExporter} and {@link JmxExporter}.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public abstract class Metrics {
+
+    static final boolean ENABLED = Boolean.parseBoolean( System.getProperty( "omicron.metrics", "true" ) );
+
+    private static final ConcurrentMap<String, Metric> metrics = Maps.newConcurrentMap();
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static Counter counter(final String name, final String help) {
+        return counter( name, help, null, null );
+    }
+
+    public static Counter counter(final String name, final String help, @Nullable final String labelName,
+                                  @Nullable final String labelValue) {
+        return register( Counter.class, new Counter( name, help, labelName, labelValue ) );
+    }
+
+    public static Histogram histogram(final String name, final String help) {
+        return histogram( name, help, null, null );
+    }
+
+    public static Histogram histogram(final String name, final String help, @Nullable final String labelName,
+                                      @Nullable final String labelValue) {
+        return register( Histogram.class, new Histogram( name, help, labelName, labelValue ) );
+    }
+
+    public static Timer timer(final String name, final String help) {
+        return timer( name, help, null, null );
+    }
+
+    public static Timer timer(final String name, final String help, @Nullable final String labelName, @Nullable final String labelValue) {
+        return register( Timer.class, new Timer( name, help, labelName, labelValue ) );
+    }
+
+    /**
+     * Register a gauge, replacing any earlier gauge with the same name and label.
+     */
+    public static Gauge gauge(final String name, final String help, final LongSupplier value) {
+        return gauge( name, help, null, null, value );
+    }
+
+    /**
+     * Register a gauge, replacing any earlier gauge with the same name and label.
+     */
+    public static Gauge gauge(final String name, final String help, @Nullable final String labelName, @Nullable final String labelValue,
+                              final LongSupplier value) {
+        Gauge gauge = new Gauge( name, help, labelName, labelValue, value );
+        metrics.put( gauge.getKey(), gauge );
+
+        return gauge;
+    }
+
+    /**
+     * Register a counter whose count is kept elsewhere, replacing any earlier counter with the same name and label.
+     */
+    public static FunctionCounter counter(final String name, final String help, final LongSupplier count) {
+        return counter( name, help, null, null, count );
+    }
+
+    /**
+     * Register a counter whose count is kept elsewhere, replacing any earlier counter with the same name and label.
+     *
+     * @param count Looks up the count, which must never go down.
+     */
+    public static FunctionCounter counter(final String name, final String help, @Nullable final String labelName,
+                                          @Nullable final String labelValue, final LongSupplier count) {
+        FunctionCounter counter = new FunctionCounter( name, help, labelName, labelValue, count );
+        metrics.put( counter.getKey(), counter );
+
+        return counter;
+    }
+
+    /**
+     * @return All registered metrics, ordered by their name and label.
+     */
+    public static ImmutableSortedMap<String, Metric> all() {
+        return ImmutableSortedMap.copyOf( metrics );
+    }
+
+    /**
+     * @return The metric with the same name and label that was registered earlier, or the given metric if there is none.
+     */
+    private static <M extends Metric> M register(final Class<M> type, final M metric) {
+        Metric registered = metrics.putIfAbsent( metric.getKey(), metric );
+        if (registered == null)
+            return metric;
+        if (registered.getClass() != type)
+            throw new IllegalArgumentException( "Metric " + metric.getKey() + " is already registered as a " + registered.getType() );
+
+        return type.cast( registered );
+    }
+}
@@ -0,0 +1,70 @@
+package com.lyndir.omicron.api.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Writes the registered metrics in the Prometheus text exposition format.
+ * <p>
+ * Timers are exported in seconds, as Prometheus expects.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public abstract class PrometheusExporter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    public static void write(final Appendable out)
+            throws IOException {
+        String lastName = null;
+        for (final Metric metric : Metrics.all().values()) {
+            if (!metric.getName().equals( lastName )) {
+                out.append( "# HELP " ).append( metric.getName() ).append( ' ' ).append( metric.getHelp() ).append( '\n' );
+                out.append( "# TYPE " ).append( metric.getName() ).append( ' ' ).append( metric.getType() ).append( '\n' );
+                lastName = metric.getName();
+            }
+
+            if (metric instanceof Histogram)
+                writeHistogram( out, (Histogram) metric );
+            else
+                for (final Map.Entry<String, Number> sample : metric.sample().entrySet())
+                    writeSample( out, metric, sample.getKey(), null, sample.getValue() );
+        }
+    }
+
+    private static void writeHistogram(final Appendable out, final Histogram histogram)
+            throws IOException {
+        boolean seconds = histogram instanceof Timer;
+        for (final Map.Entry<Long, Long> bucket : histogram.getCumulativeBuckets().entrySet())
+            writeSample( out, histogram, "_bucket", "le=\"" + (seconds? seconds( bucket.getKey() ): bucket.getKey()) + '"',
+                         bucket.getValue() );
+        writeSample( out, histogram, "_bucket", "le=\"+Inf\"", histogram.getCount() );
+        writeSample( out, histogram, "_sum", null, seconds? seconds( histogram.getSum() ): histogram.getSum() );
+        writeSample( out, histogram, "_count", null, histogram.getCount() );
+    }
+
+    private static void writeSample(final Appendable out, final Metric metric, final String suffix, final String extraLabel,
+                                    final Number value)
+            throws IOException {
+        out.append( metric.getName() ).append( suffix );
+
+        if (metric.getLabelName() != null || extraLabel != null) {
+            out.append( '{' );
+            if (metric.getLabelName() != null)
+                out.append( metric.getLabelName() ).append( "=\"" ).append( metric.getLabelValue() ).append( '"' );
+            if (metric.getLabelName() != null && extraLabel != null)
+                out.append( ',' );
+            if (extraLabel != null)
+                out.append( extraLabel );
+            out.append( '}' );
+        }
+
+        out.append( ' ' ).append( String.valueOf( value ) ).append( '\n' );
+    }
+
+    private static double seconds(final long nanos) {
+        return (double) nanos / TimeUnit.SECONDS.toNanos( 1 );
+    }
+}
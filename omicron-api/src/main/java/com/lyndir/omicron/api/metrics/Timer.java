@@ -0,0 +1,41 @@
+package com.lyndir.omicron.api.metrics;
+
+import javax.annotation.Nullable;
+
+
+/**
+ * The distribution of the durations of an operation, in nanoseconds.
+ * <p>
+ * Time an operation by taking a timestamp before it and passing it back afterwards:
+ * <pre>
+ * long start = timer.start();
+ * ...
+ * timer.stop( start );
+ * </pre>
+ * When metrics are disabled, neither call reads the clock.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class Timer extends Histogram {
+
+    Timer(final String name, final String help, @Nullable final String labelName, @Nullable final String labelValue) {
+        super( name, help, labelName, labelValue );
+    }
+
+    /**
+     * @return The timestamp to pass to {@link #stop(long)} when the operation completes.
+     */
+    public long start() {
+        return Metrics.ENABLED? System.nanoTime(): 0;
+    }
+
+    /**
+     * Record the duration of an operation.
+     *
+     * @param start The timestamp obtained from {@link #start()} when the operation began.
+     */
+    public void stop(final long start) {
+        if (Metrics.ENABLED)
+            record( System.nanoTime() - start );
+    }
+}
@@ -0,0 +1,120 @@
+package com.lyndir.omicron.api.trace;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.lyndir.omicron.api.GameListener;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import javax.annotation.Nullable;
+
+
+/**
+ * Level-guarded tracing for hot paths.
+ * <p>
+ * Tracing is configured once, when the VM starts, with the {@code omicron.trace} system property:
+ * <ul>
+ * <li>{@code off} (the default): nothing is traced.  The checks are constants, so the JIT removes the tracing code altogether.</li>
+ * <li>{@code record}: trace events are recorded into a fixed-size ring buffer, holding only primitives, and formatted only when the
+ * trace is {@link #dump(Appendable) dumped}.  The buffer keeps the last {@code omicron.trace.capacity} events (65536 by
+ * default).</li>
+ * <li>{@code log}: like {@code record}, and also enables the detailed trace and debug log statements that describe their arguments as
+ * they happen.</li>
+ * </ul>
+ * Recording looks like:
+ * <pre>
+ * Trace.record( TracePoint.PATH_FOUND_NEIGHBOUR, Trace.bits( cost ), testedNodes.size() );
+ * if (Trace.LOGGING)
+ *     logger.trc( "found neighbour at cost %.2f: %s", cost, neighbour );
+ * </pre>
+ *
+ * @author lhunath, 2014-08-18
+ */
+public abstract class Trace {
+
+    private static final String MODE = System.getProperty( "omicron.trace", "off" );
+
+    /**
+     * True if trace events are recorded.
+     */
+    public static final boolean RECORDING = "record".equals( MODE ) || "log".equals( MODE );
+
+    /**
+     * True if the detailed log statements on hot paths should be made.
+     */
+    public static final boolean LOGGING = "log".equals( MODE );
+
+    private static final int DEFAULT_CAPACITY = 65536;
+
+    @Nullable
+    private static final TraceRecorder recorder = RECORDING? //
+            new TraceRecorder( Integer.getInteger( "omicron.trace.capacity", DEFAULT_CAPACITY ) ): null;
+
+    private static final ImmutableList<Method>         gameEvents;
+    private static final ImmutableMap<Method, Integer> gameEventIndexes;
+
+    static {
+        Method[] methods = GameListener.class.getDeclaredMethods();
+        Arrays.sort( methods, Comparator.comparing( Method::getName ) );
+        gameEvents = ImmutableList.copyOf( methods );
+
+        ImmutableMap.Builder<Method, Integer> gameEventIndexesBuilder = ImmutableMap.builder();
+        for (int m = 0; m < methods.length; ++m)
+            gameEventIndexesBuilder.put( methods[m], m );
+        gameEventIndexes = gameEventIndexesBuilder.build();
+    }
+
+    public static void record(final TracePoint point) {
+        if (RECORDING)
+            recorder.record( point, 0, 0, 0, 0 );
+    }
+
+    public static void record(final TracePoint point, final long a) {
+        if (RECORDING)
+            recorder.record( point, a, 0, 0, 0 );
+    }
+
+    public static void record(final TracePoint point, final long a, final long b) {
+        if (RECORDING)
+            recorder.record( point, a, b, 0, 0 );
+    }
+
+    public static void record(final TracePoint point, final long a, final long b, final long c) {
+        if (RECORDING)
+            recorder.record( point, a, b, c, 0 );
+    }
+
+    public static void record(final TracePoint point, final long a, final long b, final long c, final long d) {
+        if (RECORDING)
+            recorder.record( point, a, b, c, d );
+    }
+
+    /**
+     * @return The double encoded as a trace argument, for {@link TracePoint.Arg#DOUBLE}.
+     */
+    public static long bits(final double value) {
+        return Double.doubleToRawLongBits( value );
+    }
+
+    /**
+     * @return The game listener method encoded as a trace argument, for {@link TracePoint.Arg#GAME_EVENT}.
+     */
+    public static long gameEvent(final Method method) {
+        Integer index = gameEventIndexes.get( method );
+        return index == null? -1: index;
+    }
+
+    static String gameEventName(final int index) {
+        return index < 0 || index >= gameEvents.size()? "?": gameEvents.get( index ).getName();
+    }
+
+    /**
+     * Write the recorded trace events, oldest first, one per line.  Writes nothing if tracing isn't recording.
+     */
+    public static void dump(final Appendable out)
+            throws IOException {
+        if (RECORDING)
+            recorder.dump( out );
+    }
+}
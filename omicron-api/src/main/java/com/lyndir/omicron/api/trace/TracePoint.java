@@ -0,0 +1,77 @@
+package com.lyndir.omicron.api.trace;
+
+import static com.lyndir.lhunath.opal.system.util.StringUtils.strf;
+
+import com.lyndir.omicron.api.ResourceType;
+
+
+/**
+ * The places in the code that record trace events, and how to describe their arguments.
+ * <p>
+ * Trace events only hold primitive arguments; they're formatted into a description when the trace is dumped.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public enum TracePoint {
+
+    PATH_FOUND_ROOT( "path search: found root" ),
+    PATH_COST_EXCEEDED( "path search: neighbour exceeds maximum cost (%.2f > %.2f)", Arg.DOUBLE, Arg.DOUBLE ),
+    PATH_FOUND_NEIGHBOUR( "path search: found neighbour at cost %.2f after testing %d nodes", Arg.DOUBLE, Arg.LONG ),
+    PATH_INTERMEDIATE_NEIGHBOUR( "path search: intermediate neighbour at cost %.2f", Arg.DOUBLE ),
+    NEIGHBOURS_RADIUS_EXCEEDED( "neighbour search: neighbour exceeds radius (%d > %d)", Arg.LONG, Arg.LONG ),
+    NEIGHBOURS_FOUND_NEIGHBOUR( "neighbour search: neighbour at distance %d", Arg.LONG ),
+    RESOURCES_DEPOSITED( "world generation: deposited %d %s at [%d,%d]", Arg.LONG, Arg.RESOURCE_TYPE, Arg.LONG, Arg.LONG ),
+    RESOURCES_UNSTOCKED( "extractor: unstocked resources: %d %s, left in tile: %d", Arg.LONG, Arg.RESOURCE_TYPE, Arg.LONG ),
+    GAME_EVENT_FIRED( "game event: %s to %d listeners", Arg.GAME_EVENT, Arg.LONG );
+
+    private final String format;
+    private final Arg[]  args;
+
+    TracePoint(final String format, final Arg... args) {
+        this.format = format;
+        this.args = args;
+    }
+
+    /**
+     * @return A description of an event recorded at this point with the given arguments.
+     */
+    public String describe(final long... recordedArgs) {
+        Object[] formatArgs = new Object[args.length];
+        for (int a = 0; a < args.length; ++a)
+            formatArgs[a] = args[a].decode( recordedArgs[a] );
+
+        return strf( format, formatArgs );
+    }
+
+    /**
+     * How a recorded argument was encoded into a {@code long}.
+     */
+    public enum Arg {
+        LONG {
+            @Override
+            Object decode(final long arg) {
+                return arg;
+            }
+        },
+        DOUBLE {
+            @Override
+            Object decode(final long arg) {
+                return Double.longBitsToDouble( arg );
+            }
+        },
+        RESOURCE_TYPE {
+            @Override
+            Object decode(final long arg) {
+                return ResourceType.values()[(int) arg];
+            }
+        },
+        GAME_EVENT {
+            @Override
+            Object decode(final long arg) {
+                return Trace.gameEventName( (int) arg );
+            }
+        };
+
+        abstract Object decode(long arg);
+    }
+}
@@ -0,0 +1,82 @@
+package com.lyndir.omicron.api.trace;
+
+import static com.lyndir.lhunath.opal.system.util.StringUtils.strf;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Records trace events into a ring buffer of primitives, overwriting the oldest events once it's full.
+ * <p>
+ * Each event occupies a fixed stripe of the buffer: its sequence number, timestamp, thread, trace point and four arguments.  Writers
+ * claim an event's slot by its sequence number, so they never wait on each other, and publish the event by writing its sequence
+ * number last.  A dump skips events that were overwritten while it was reading them.
+ *
+ * @author lhunath, 2014-08-18
+ */
+class TraceRecorder {
+
+    private static final int STRIDE   = 8;
+    private static final int SEQUENCE = 0;
+    private static final int NANOS    = 1;
+    private static final int THREAD   = 2;
+    private static final int POINT    = 3;
+    private static final int ARGS     = 4;
+
+    private static final TracePoint[] points = TracePoint.values();
+
+    private final AtomicLong      cursor = new AtomicLong();
+    private final AtomicLongArray events;
+    private final int             mask;
+
+    /**
+     * @param capacity The amount of events to keep.  Rounded up to a power of two.
+     */
+    TraceRecorder(final int capacity) {
+        int slots = Integer.highestOneBit( Math.max( 1, capacity - 1 ) ) << 1;
+        events = new AtomicLongArray( slots * STRIDE );
+        mask = slots - 1;
+
+        for (int slot = 0; slot < slots; ++slot)
+            events.set( slot * STRIDE + SEQUENCE, -1 );
+    }
+
+    void record(final TracePoint point, final long a, final long b, final long c, final long d) {
+        long sequence = cursor.getAndIncrement();
+        int offset = (int) (sequence & mask) * STRIDE;
+
+        // Mark the slot as being written, fill it, then publish it.
+        events.set( offset + SEQUENCE, -1 );
+        events.lazySet( offset + NANOS, System.nanoTime() );
+        events.lazySet( offset + THREAD, Thread.currentThread().getId() );
+        events.lazySet( offset + POINT, point.ordinal() );
+        events.lazySet( offset + ARGS, a );
+        events.lazySet( offset + ARGS + 1, b );
+        events.lazySet( offset + ARGS + 2, c );
+        events.lazySet( offset + ARGS + 3, d );
+        events.set( offset + SEQUENCE, sequence );
+    }
+
+    void dump(final Appendable out)
+            throws IOException {
+        long end = cursor.get();
+        for (long sequence = Math.max( 0, end - mask - 1 ); sequence < end; ++sequence) {
+            int offset = (int) (sequence & mask) * STRIDE;
+            if (events.get( offset + SEQUENCE ) != sequence)
+                continue;
+
+            long nanos = events.get( offset + NANOS );
+            long thread = events.get( offset + THREAD );
+            TracePoint point = points[(int) events.get( offset + POINT )];
+            long[] args = { events.get( offset + ARGS ), events.get( offset + ARGS + 1 ), //
+                            events.get( offset + ARGS + 2 ), events.get( offset + ARGS + 3 ) };
+            if (events.get( offset + SEQUENCE ) != sequence)
+                // Overwritten while we were reading it.
+                continue;
+
+            out.append( strf( "%d %d [%d] %s%n", sequence, nanos, thread, point.describe( args ) ) );
+        }
+    }
+}
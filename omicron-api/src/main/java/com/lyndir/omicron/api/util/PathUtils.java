@@ -4,6 +4,11 @@ import com.google.common.collect.ImmutableSet;
 import com.lyndir.lhunath.opal.system.logging.Logger;
 import com.lyndir.lhunath.opal.system.util.NNFunctionNN;
 import com.lyndir.lhunath.opal.system.util.PredicateNN;
+import com.lyndir.omicron.api.metrics.Counter;
+import com.lyndir.omicron.api.metrics.Histogram;
+import com.lyndir.omicron.api.metrics.Metrics;
+import com.lyndir.omicron.api.trace.Trace;
+import com.lyndir.omicron.api.trace.TracePoint;
 import java.util.*;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -14,6 +19,10 @@ public abstract class PathUtils {
     @SuppressWarnings("UnusedDeclaration")
     private static final Logger logger = Logger.get( PathUtils.class );
 
+    private static final Counter   searches      = Metrics.counter( "omicron_path_searches_total", "Path searches run." );
+    private static final Histogram nodesExpanded = Metrics.histogram( "omicron_path_search_nodes_expanded",
+                                                                      "Nodes tested by each path search." );
+
     /**
      * A breath-first search from root.
      *
@@ -30,9 +39,13 @@ public abstract class PathUtils {
                                              final NNFunctionNN<Step<E>, Double> costFunction, final double maxCost,
                                              final NNFunctionNN<E, Stream<? extends E>> neighboursFunction) {
 
+        searches.increment();
+
         // Test the root.
         if (foundFunction.apply( root )) {
-            logger.trc( "found root: %s", root );
+            Trace.record( TracePoint.PATH_FOUND_ROOT );
+            if (Trace.LOGGING)
+                logger.trc( "found root: %s", root );
             return Optional.of( new Path<>( root, 0 ) );
         }
 
@@ -57,23 +70,31 @@ public abstract class PathUtils {
                 double neighbourCost = testPath.getCost() + costFunction.apply( new Step<>( testPath.getTarget(), neighbour ) );
                 if (neighbourCost > maxCost) {
                     // Stepping to neighbour from here would exceed maximum cost.
-                    logger.trc( "neighbour exceeds maximum cost (%.2f > %.2f): %s", neighbourCost, maxCost, neighbour );
+                    Trace.record( TracePoint.PATH_COST_EXCEEDED, Trace.bits( neighbourCost ), Trace.bits( maxCost ) );
+                    if (Trace.LOGGING)
+                        logger.trc( "neighbour exceeds maximum cost (%.2f > %.2f): %s", neighbourCost, maxCost, neighbour );
                     continue;
                 }
 
                 // Did we find the target?
                 Path<E> neighbourPath = new Path<>( testPath, neighbour, neighbourCost );
                 if (foundFunction.apply( neighbour )) {
-                    logger.trc( "found neighbour at cost %.2f: %s", neighbourCost, neighbour );
+                    Trace.record( TracePoint.PATH_FOUND_NEIGHBOUR, Trace.bits( neighbourCost ), testedNodes.size() );
+                    if (Trace.LOGGING)
+                        logger.trc( "found neighbour at cost %.2f: %s", neighbourCost, neighbour );
+                    nodesExpanded.record( testedNodes.size() );
                     return Optional.of( neighbourPath );
                 }
-                logger.trc( "intermediate neighbour at cost %.2f: %s", neighbourCost, neighbour );
+                Trace.record( TracePoint.PATH_INTERMEDIATE_NEIGHBOUR, Trace.bits( neighbourCost ) );
+                if (Trace.LOGGING)
+                    logger.trc( "intermediate neighbour at cost %.2f: %s", neighbourCost, neighbour );
 
                 // Neighbour is not the target, add it for testing its neighbours later.
                 testPaths.add( neighbourPath );
             }
         }
 
+        nodesExpanded.record( testedNodes.size() );
         return Optional.empty();
     }
 
@@ -113,12 +134,16 @@ public abstract class PathUtils {
                 double neighbourDistance = testPath.getCost() + 1;
                 if (neighbourDistance > radius) {
                     // Stepping to neighbour from here would exceed maximum cost.
-                    logger.trc( "neighbour exceeds radius (%.2f > %.2f): %s", neighbourDistance, radius, neighbour );
+                    Trace.record( TracePoint.NEIGHBOURS_RADIUS_EXCEEDED, (long) neighbourDistance, radius );
+                    if (Trace.LOGGING)
+                        logger.trc( "neighbour exceeds radius (%.0f > %d): %s", neighbourDistance, radius, neighbour );
                     continue;
                 }
 
                 // Add it for testing its neighbours later.
-                logger.trc( "neighbour at distance %.2f: %s", neighbourDistance, neighbour );
+                Trace.record( TracePoint.NEIGHBOURS_FOUND_NEIGHBOUR, (long) neighbourDistance );
+                if (Trace.LOGGING)
+                    logger.trc( "neighbour at distance %.0f: %s", neighbourDistance, neighbour );
                 testPaths.add( new Path<>( testPath, neighbour, neighbourDistance ) );
             }
         }
@@ -144,6 +169,20 @@ public abstract class PathUtils {
             this.cost = cost;
         }
 
+        /**
+         * @return A path that starts and ends at the root, at no cost.
+         */
+        public static <E> Path<E> root(final E root) {
+            return new Path<>( root, 0 );
+        }
+
+        /**
+         * @return A path that follows this path and then steps to the target.
+         */
+        public Path<E> step(final E target, final double stepCost) {
+            return new Path<>( this, target, cost + stepCost );
+        }
+
         public Optional<Path<E>> getParent() {
             return parent;
         }
@@ -0,0 +1,94 @@
+package com.lyndir.omicron.api.view;
+
+import com.google.common.base.Preconditions;
+import com.lyndir.lhunath.opal.math.Vec2;
+import com.lyndir.omicron.api.*;
+import java.util.*;
+
+
+/**
+ * The way to a single target tile from every tile of its level, as found by a single search outward from the target.
+ * <p>
+ * Each tile holds the neighbour that is one step closer to the target and the amount of steps left, in primitive arrays indexed by the
+ * tile's packed position (see {@link ReachableArea#pack(ILevel, Vec2)}).  Any number of units heading for the same target can follow
+ * the field to it, each in the time it takes to walk its path, instead of searching for the target themselves.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class FlowField {
+
+    /**
+     * The next step of tiles from which the target can't be reached.
+     */
+    public static final int UNREACHABLE = -1;
+
+    private final ILevel level;
+    private final int    target;
+    private final int[]  next;
+    private final int[]  steps;
+
+    /**
+     * @param level  The level the target is in.
+     * @param target The tile the field leads to.
+     * @param next   The packed position of the neighbour one step closer to the target for each tile, the target's own position for the
+     *               target and {@link #UNREACHABLE} for tiles from which the target can't be reached.
+     * @param steps  The amount of steps from each tile to the target.  Only meaningful for tiles from which the target can be reached.
+     */
+    public FlowField(final ILevel level, final ITile target, final int[] next, final int[] steps) {
+        int tiles = level.getSize().getWidth() * level.getSize().getHeight();
+        Preconditions.checkArgument( next.length == tiles && steps.length == tiles, "Flow field arrays don't cover the level: %s", level );
+        Preconditions.checkArgument( target.getLevel().equals( level ), "Target is not in the level: %s", target );
+
+        this.level = level;
+        this.target = ReachableArea.pack( level, target.getPosition() );
+        this.next = next;
+        this.steps = steps;
+    }
+
+    public ILevel getLevel() {
+        return level;
+    }
+
+    public ITile getTarget() {
+        return tile( target );
+    }
+
+    /**
+     * @return true if the target can be reached from the given tile.
+     */
+    public boolean reaches(final ITile tile) {
+        int position = indexOf( tile );
+        return position != UNREACHABLE && next[position] != UNREACHABLE;
+    }
+
+    /**
+     * @return The amount of steps from the tile to the target, or absent if the target can't be reached from the tile.
+     */
+    public OptionalInt getSteps(final ITile tile) {
+        return reaches( tile )? OptionalInt.of( steps[indexOf( tile )] ): OptionalInt.empty();
+    }
+
+    /**
+     * @return The neighbour of the tile that is one step closer to the target, or absent if the tile is the target or the target can't be
+     * reached from the tile.
+     */
+    public Optional<ITile> getNext(final ITile tile) {
+        int position = indexOf( tile );
+        if (position == UNREACHABLE || position == target || next[position] == UNREACHABLE)
+            return Optional.empty();
+
+        return Optional.of( tile( next[position] ) );
+    }
+
+    private int indexOf(final ITile tile) {
+        if (!tile.getLevel().equals( level ) || !level.getSize().isInBounds( tile.getPosition() ))
+            return UNREACHABLE;
+
+        return ReachableArea.pack( level, tile.getPosition() );
+    }
+
+    private ITile tile(final int position) {
+        int width = level.getSize().getWidth();
+        return level.getTile( Vec2.create( position % width, position / width ) ).get();
+    }
+}
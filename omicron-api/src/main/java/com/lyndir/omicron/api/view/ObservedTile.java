@@ -0,0 +1,73 @@
+package com.lyndir.omicron.api.view;
+
+import com.google.common.collect.ImmutableMap;
+import com.lyndir.omicron.api.*;
+import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+
+/**
+ * A tile as it was observed: its contents and resources are resolved when it is observed, so reading them doesn't check again
+ * whether the tile can be observed.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class ObservedTile {
+
+    private final ITile                               tile;
+    @Nullable
+    private final IGameObject                         contents;
+    private final ImmutableMap<ResourceType, Integer> quantitiesByResourceType;
+
+    public ObservedTile(final ITile tile, @Nullable final IGameObject contents,
+                        final ImmutableMap<ResourceType, Integer> quantitiesByResourceType) {
+
+        this.tile = tile;
+        this.contents = contents;
+        this.quantitiesByResourceType = quantitiesByResourceType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash( tile, contents, quantitiesByResourceType );
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof ObservedTile))
+            return false;
+
+        ObservedTile o = (ObservedTile) obj;
+        return Objects.equals( tile, o.tile ) && Objects.equals( contents, o.contents )
+               && Objects.equals( quantitiesByResourceType, o.quantitiesByResourceType );
+    }
+
+    public ITile getTile() {
+
+        return tile;
+    }
+
+    public Optional<IGameObject> getContents() {
+
+        return Optional.ofNullable( contents );
+    }
+
+    /**
+     * @return The quantity of the resource available in the tile, or absent if the tile has none of it.
+     */
+    public Optional<Integer> getResourceQuantity(final ResourceType resourceType) {
+
+        return Optional.ofNullable( quantitiesByResourceType.get( resourceType ) );
+    }
+
+    /**
+     * @return The quantities of the resources available in the tile.  Resources that the tile has none of are absent.
+     */
+    public ImmutableMap<ResourceType, Integer> getQuantitiesByResourceType() {
+
+        return quantitiesByResourceType;
+    }
+}
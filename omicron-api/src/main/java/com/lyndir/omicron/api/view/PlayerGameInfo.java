@@ -2,6 +2,8 @@ package com.lyndir.omicron.api.view;
 
 import com.lyndir.omicron.api.IPlayer;
 import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.Nullable;
 
 
 /**
@@ -14,17 +16,25 @@ public class PlayerGameInfo {
     private final IPlayer player;
     private final boolean discovered;
     private final int     score;
+    @Nullable
+    private final Integer firstContactTurn;
 
     public PlayerGameInfo(final IPlayer player, final boolean discovered, final int score) {
 
+        this( player, discovered, score, null );
+    }
+
+    public PlayerGameInfo(final IPlayer player, final boolean discovered, final int score, @Nullable final Integer firstContactTurn) {
+
         this.player = player;
         this.discovered = discovered;
         this.score = score;
+        this.firstContactTurn = firstContactTurn;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(player, discovered, score);
+        return Objects.hash( player, discovered, score, firstContactTurn );
     }
 
     @Override
@@ -35,7 +45,8 @@ public class PlayerGameInfo {
             return false;
 
         PlayerGameInfo o = (PlayerGameInfo) obj;
-        return discovered == o.discovered && score == o.score && Objects.equals( player, o.player );
+        return discovered == o.discovered && score == o.score && Objects.equals( player, o.player )
+               && Objects.equals( firstContactTurn, o.firstContactTurn );
     }
 
     public IPlayer getPlayer() {
@@ -53,11 +64,25 @@ public class PlayerGameInfo {
         return score;
     }
 
+    /**
+     * @return The number of the turn in which the current player first saw one of this player's units, or absent if the player is the
+     * current player or hasn't been discovered.
+     */
+    public Optional<Integer> getFirstContactTurn() {
+
+        return Optional.ofNullable( firstContactTurn );
+    }
+
     public static PlayerGameInfo discovered(final IPlayer player, final Integer score) {
 
         return new PlayerGameInfo( player, true, score );
     }
 
+    public static PlayerGameInfo discovered(final IPlayer player, final Integer score, final int firstContactTurn) {
+
+        return new PlayerGameInfo( player, true, score, firstContactTurn );
+    }
+
     public static PlayerGameInfo undiscovered(final IPlayer player) {
 
         return new PlayerGameInfo( player, false, 0 );
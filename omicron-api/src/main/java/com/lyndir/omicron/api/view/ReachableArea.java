@@ -0,0 +1,163 @@
+package com.lyndir.omicron.api.view;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.lyndir.lhunath.opal.math.Vec2;
+import com.lyndir.omicron.api.*;
+import java.util.*;
+
+
+/**
+ * The tiles of a level that a unit can reach with the speed it has left, as found by a single search from the unit's location.
+ * <p>
+ * The tiles are held in parallel primitive arrays, in the order they were reached: entry {@code 0} is the tile the search started
+ * from.  Each entry holds the tile's position, the cost of reaching it and the entry it was reached from, so the path to any reachable
+ * tile can be reconstructed without searching again.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class ReachableArea {
+
+    private static final int NO_PARENT = -1;
+
+    private final ILevel   level;
+    private final int      size;
+    private final int[]    positions;
+    private final double[] costs;
+    private final int[]    parents;
+    // Open-addressed index of entries by position, holding entry + 1 so zero marks an empty slot.
+    private final int[]    entriesByPosition;
+    private final int      slotShift;
+
+    /**
+     * @param level     The level the tiles are in.
+     * @param size      The amount of reachable tiles: the leading part of the arrays that is in use.
+     * @param positions The packed position of each tile, {@code y * width + x}.  See {@link #pack(ILevel, Vec2)}.
+     * @param costs     The cost of reaching each tile.
+     * @param parents   The entry each tile was reached from, or {@code -1} for the tile the search started from.
+     */
+    public ReachableArea(final ILevel level, final int size, final int[] positions, final double[] costs, final int[] parents) {
+        Preconditions.checkArgument( size <= positions.length && size <= costs.length && size <= parents.length,
+                                     "Reachable area arrays are smaller than its size: %s", size );
+
+        this.level = level;
+        this.size = size;
+        this.positions = positions;
+        this.costs = costs;
+        this.parents = parents;
+
+        entriesByPosition = new int[Integer.highestOneBit( Math.max( 1, size ) ) << 2];
+        slotShift = Integer.numberOfLeadingZeros( entriesByPosition.length ) + 1;
+        for (int entry = 0; entry < size; ++entry) {
+            int slot = slot( positions[entry] );
+            while (entriesByPosition[slot] != 0)
+                slot = (slot + 1) & (entriesByPosition.length - 1);
+            entriesByPosition[slot] = entry + 1;
+        }
+    }
+
+    /**
+     * @return An area with no reachable tiles, not even the unit's own.
+     */
+    public static ReachableArea empty(final ILevel level) {
+        return new ReachableArea( level, 0, new int[0], new double[0], new int[0] );
+    }
+
+    /**
+     * @return The packed form of a position in the level.
+     */
+    public static int pack(final ILevel level, final Vec2 position) {
+        return position.getY() * level.getSize().getWidth() + position.getX();
+    }
+
+    public ILevel getLevel() {
+        return level;
+    }
+
+    /**
+     * @return The amount of reachable tiles.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Vec2 getPosition(final int entry) {
+        int position = positions[checkEntry( entry )], width = level.getSize().getWidth();
+        return Vec2.create( position % width, position / width );
+    }
+
+    public ITile getTile(final int entry) {
+        return level.getTile( getPosition( entry ) ).get();
+    }
+
+    public double getCost(final int entry) {
+        return costs[checkEntry( entry )];
+    }
+
+    /**
+     * @return The entry the tile of the given entry was reached from, or {@code -1} for the tile the search started from.
+     */
+    public int getParent(final int entry) {
+        return parents[checkEntry( entry )];
+    }
+
+    /**
+     * @return The entry of the tile, or {@code -1} if the tile can't be reached.
+     */
+    public int indexOf(final ITile tile) {
+        if (!tile.getLevel().equals( level ) || !level.getSize().isInBounds( tile.getPosition() ))
+            return -1;
+
+        return indexOf( pack( level, tile.getPosition() ) );
+    }
+
+    public boolean contains(final ITile tile) {
+        return indexOf( tile ) >= 0;
+    }
+
+    /**
+     * @return The cost of reaching the tile, or absent if the tile can't be reached.
+     */
+    public OptionalDouble getCost(final ITile tile) {
+        int entry = indexOf( tile );
+        return entry < 0? OptionalDouble.empty(): OptionalDouble.of( costs[entry] );
+    }
+
+    /**
+     * @return The tiles that lead to the given tile, starting with the tile the search started from and ending with the given tile, or
+     * an empty list if the tile can't be reached.
+     */
+    public ImmutableList<ITile> getSteps(final ITile tile) {
+        Deque<ITile> steps = new ArrayDeque<>();
+        for (int entry = indexOf( tile ); entry != NO_PARENT; entry = parents[entry])
+            steps.addFirst( getTile( entry ) );
+
+        return ImmutableList.copyOf( steps );
+    }
+
+    private int indexOf(final int position) {
+        if (size == 0)
+            return -1;
+
+        for (int slot = slot( position ); entriesByPosition[slot] != 0; slot = (slot + 1) & (entriesByPosition.length - 1)) {
+            int entry = entriesByPosition[slot] - 1;
+            if (positions[entry] == position)
+                return entry;
+        }
+
+        return -1;
+    }
+
+    private int slot(final int position) {
+        // Fibonacci hashing: spread the positions of neighbouring rows over the table.
+        return position * 0x9E3779B9 >>> slotShift;
+    }
+
+    private int checkEntry(final int entry) {
+        return Preconditions.checkElementIndex( entry, size );
+    }
+}
@@ -0,0 +1,49 @@
+package com.lyndir.omicron.api.metrics;
+
+import static org.testng.AssertJUnit.*;
+
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+
+public class HistogramTest {
+
+    @Test
+    public void testBuckets()
+            throws Exception {
+
+        Histogram histogram = new Histogram( "test_buckets", "Test.", null, null );
+        for (final long value : new long[]{ 0, 1, 2, 3, 5, 1000, -5 })
+            histogram.record( value );
+
+        // Negative values count as zero, buckets are bounded by powers of two and only non-empty buckets are listed.
+        assertEquals( 7, histogram.getCount() );
+        assertEquals( 1011, histogram.getSum() );
+        assertEquals( 1000, histogram.getMax() );
+        assertEquals( ImmutableMap.of( 0L, 2L, 1L, 3L, 3L, 5L, 7L, 6L, 1023L, 7L ), histogram.getCumulativeBuckets() );
+
+        // The largest values land in the last bucket.
+        histogram.record( Long.MAX_VALUE );
+        assertEquals( Long.valueOf( 8 ), histogram.getCumulativeBuckets().get( Long.MAX_VALUE ) );
+    }
+
+    @Test
+    public void testQuantiles()
+            throws Exception {
+
+        Histogram histogram = new Histogram( "test_quantiles", "Test.", null, null );
+        assertEquals( 0, histogram.getQuantile( 0.5 ) );
+
+        for (final long value : new long[]{ 0, 1, 2, 3, 5, 1000 })
+            histogram.record( value );
+
+        // A quantile is the upper bound of the bucket its rank falls in, but never more than the largest value.
+        assertEquals( 0, histogram.getQuantile( 0 ) );
+        assertEquals( 0, histogram.getQuantile( 0.1 ) );
+        assertEquals( 1, histogram.getQuantile( 0.3 ) );
+        assertEquals( 3, histogram.getQuantile( 0.5 ) );
+        assertEquals( 7, histogram.getQuantile( 0.8 ) );
+        assertEquals( 1000, histogram.getQuantile( 0.99 ) );
+        assertEquals( 1000, histogram.getQuantile( 1 ) );
+    }
+}
@@ -131,6 +131,7 @@ public abstract class InputView extends View {
         else
             addInputText( String.valueOf( key.getCharacter() ) );
 
+        invalidate();
         return true;
     }
 
@@ -161,6 +162,7 @@ public abstract class InputView extends View {
 
     public void setPromptText(final String promptText) {
         this.promptText = promptText;
+        invalidate();
     }
 
     public Terminal.Color getPromptTextColor() {
@@ -169,6 +171,7 @@ public abstract class InputView extends View {
 
     public void setPromptTextColor(final Terminal.Color promptTextColor) {
         this.promptTextColor = promptTextColor;
+        invalidate();
     }
 
     public Inset getTextPadding() {
@@ -177,6 +180,7 @@ public abstract class InputView extends View {
 
     public void setTextPadding(final Inset textPadding) {
         this.textPadding = textPadding;
+        invalidate();
     }
 
     @Override
@@ -187,6 +191,7 @@ public abstract class InputView extends View {
     @Override
     public void setBackgroundColor(final Terminal.Color backgroundColor) {
         this.backgroundColor = backgroundColor;
+        invalidate();
     }
 
     public Terminal.Color getTextColor() {
@@ -195,6 +200,7 @@ public abstract class InputView extends View {
 
     public void setTextColor(final Terminal.Color textColor) {
         this.textColor = textColor;
+        invalidate();
     }
 
     public TextView getControlTextView() {
@@ -19,12 +19,12 @@ package com.lyndir.lanterna.view;
 import static com.lyndir.lhunath.opal.system.util.StringUtils.strf;
 
 import com.google.common.base.Splitter;
-import com.google.common.collect.FluentIterable;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableList;
 import com.googlecode.lanterna.screen.Screen;
 import com.googlecode.lanterna.terminal.Terminal;
 import com.lyndir.lhunath.opal.system.util.ObjectUtils;
-import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nullable;
 
 
 /**
@@ -41,12 +41,14 @@ public class TextView extends View {
     private Crop   textCrop = Crop.SHOW_LAST;
     private int            textOffset;
     private Terminal.Color textColor;
+    @Nullable
+    private List<String>   textLines;
 
     @Override
     protected void drawForeground(final Screen screen) {
         super.drawForeground( screen );
 
-        FluentIterable<String> lines = FluentIterable.from( getTextLines() );
+        List<String> lines = getTextLines();
 
         Box contentBox = getContentBoxOnScreen();
         int from = getTextOffset();
@@ -59,9 +61,9 @@ public class TextView extends View {
                 break;
         }
 
-        Iterator<String> linesIt = lines.skip( from ).iterator();
-        for (int row = contentBox.getTop(); linesIt.hasNext() && row <= contentBox.getBottom(); ++row)
-            screen.putString( contentBox.getLeft(), row, linesIt.next(), getTextColor(), getBackgroundColor() );
+        // Only fetch the lines that fit on the screen, the view may be showing a long history of lines.
+        for (int row = contentBox.getTop(), line = from; line < lines.size() && row <= contentBox.getBottom(); ++row, ++line)
+            screen.putString( contentBox.getLeft(), row, lines.get( line ), getTextColor(), getBackgroundColor() );
 
         if (getTextOffset() > 0) {
             String offsetText = String.format( "%+d", getTextOffset() );
@@ -70,8 +72,25 @@ public class TextView extends View {
         }
     }
 
-    private Iterable<String> getTextLines() {
-        return Splitter.on( strf( "%n" ) ).split( getText() );
+    private List<String> getTextLines() {
+        if (textLines != null)
+            return textLines;
+
+        return ImmutableList.copyOf( Splitter.on( strf( "%n" ) ).split( getText() ) );
+    }
+
+    /**
+     * Show the lines of a list instead of the text.  The view keeps reading the lines from the list, so the list can keep changing, and
+     * only reads the lines that it shows.
+     *
+     * @param textLines The lines to show, or {@code null} to show the text again.
+     */
+    public void setTextLines(@Nullable final List<String> textLines) {
+        this.textLines = textLines;
+
+        // Update offset in case text lines shrank beyond the current offset.
+        textOffset = Math.min( textOffset, getTextLines().size() );
+        invalidate();
     }
 
     public Terminal.Color getTextColor() {
@@ -80,6 +99,7 @@ public class TextView extends View {
 
     public void setTextColor(final Terminal.Color textColor) {
         this.textColor = textColor;
+        invalidate();
     }
 
     public Crop getTextCrop() {
@@ -88,6 +108,7 @@ public class TextView extends View {
 
     public void setTextCrop(final Crop textCrop) {
         this.textCrop = textCrop;
+        invalidate();
     }
 
     public String getText() {
@@ -98,12 +119,14 @@ public class TextView extends View {
         this.text = text;
 
         // Update offset in case text lines shrank beyond the current offset.
-        textOffset = Math.min( textOffset, Iterables.size( getTextLines() ) );
+        textOffset = Math.min( textOffset, getTextLines().size() );
+        invalidate();
     }
 
     public void updateTextOffset(final int offsetDelta) {
         textOffset = Math.min( Math.max( 0, textOffset + offsetDelta ),
-                               Iterables.size( getTextLines() ) - 1 - getContentBoxOnScreen().getSize().getHeight() );
+                               getTextLines().size() - 1 - getContentBoxOnScreen().getSize().getHeight() );
+        invalidate();
     }
 
     public int getTextOffset() {
@@ -68,6 +68,7 @@ public class TitledView extends View {
 
     public void setTitle(@Nonnull final String title) {
         this.title = title;
+        invalidate();
     }
 
     public Inset getTextPadding() {
@@ -76,6 +77,7 @@ public class TitledView extends View {
 
     public void setTextPadding(final Inset textPadding) {
         this.textPadding = textPadding;
+        invalidate();
     }
 
     @Override
@@ -86,6 +88,7 @@ public class TitledView extends View {
     @Override
     public void setBackgroundColor(final Terminal.Color backgroundColor) {
         this.backgroundColor = backgroundColor;
+        invalidate();
     }
 
     public Terminal.Color getTextColor() {
@@ -94,5 +97,6 @@ public class TitledView extends View {
 
     public void setTextColor(final Terminal.Color textColor) {
         this.textColor = textColor;
+        invalidate();
     }
 }
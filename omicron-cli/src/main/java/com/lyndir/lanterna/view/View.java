@@ -50,12 +50,33 @@ public class View {
     private Terminal.Color infoTextColor;
     private Terminal.Color infoBackgroundColor;
     private Theme          theme;
+    private Window         window;
 
+    // Set from any thread by the invalidation methods, cleared by the window's render thread before it measures or draws.
+    private volatile boolean needsLayout         = true;
+    private volatile boolean needsDraw           = true;
+    private volatile boolean descendantNeedsDraw = true;
+
+    /**
+     * Measure the view and its children, unless neither its maximum box nor anything in its subtree changed since it was last measured.
+     */
     public final void measure(final Screen screen, final Box maximumMeasuredBoxInParent) {
         boolean maximumMeasuredBoxChanged = !maximumMeasuredBoxInParent.equals( oldMaximumMeasuredBoxInParent );
+        if (!maximumMeasuredBoxChanged && !needsLayout)
+            return;
+
+        needsLayout = false;
         oldMaximumMeasuredBoxInParent = maximumMeasuredBoxInParent;
 
-        measuredBoxInParent = measureInParent( screen, maximumMeasuredBoxInParent, maximumMeasuredBoxChanged );
+        Box newMeasuredBoxInParent = measureInParent( screen, maximumMeasuredBoxInParent, maximumMeasuredBoxChanged );
+        if (!newMeasuredBoxInParent.equals( measuredBoxInParent )) {
+            measuredBoxInParent = newMeasuredBoxInParent;
+            // Redraw the parent too, so the cells that the view no longer covers don't keep what it drew there before.
+            if (getParent().isPresent())
+                getParent().get().invalidate();
+            else
+                invalidate();
+        }
         measureChildren( screen );
     }
 
@@ -77,9 +98,64 @@ public class View {
 
         getChildren().add( child );
         child.setParent( this );
+        invalidateLayout();
+    }
+
+    /**
+     * Mark the view as needing to be redrawn in the next frame.  Call this whenever something changes that affects how it draws.
+     */
+    public void invalidate() {
+        needsDraw = true;
+        invalidateAncestors();
     }
 
+    /**
+     * Mark the view as needing to be measured and redrawn in the next frame.  Call this whenever something changes that affects its
+     * size or the layout of its children.
+     */
+    public void invalidateLayout() {
+        needsLayout = needsDraw = true;
+        for (View ancestor = this; ancestor.getParent().isPresent(); ) {
+            ancestor = ancestor.getParent().get();
+            ancestor.needsLayout = true;
+        }
+        invalidateAncestors();
+    }
+
+    private void invalidateAncestors() {
+        View root = this;
+        for (; root.getParent().isPresent(); root = root.getParent().get())
+            root.getParent().get().descendantNeedsDraw = true;
+
+        if (root.window != null)
+            root.window.onInvalidated();
+    }
+
+    /**
+     * @return true if the view or any of its descendants needs to be measured or drawn.
+     */
+    public boolean isInvalidated() {
+        return needsLayout || needsDraw || descendantNeedsDraw;
+    }
+
+    /**
+     * Draw the view if it was invalidated, or only those of its descendants that were.
+     */
     public final void draw(final Screen screen) {
+        if (needsDraw)
+            redraw( screen );
+
+        else if (descendantNeedsDraw) {
+            descendantNeedsDraw = false;
+            for (final View child : getChildren())
+                child.draw( screen );
+        }
+    }
+
+    private void redraw(final Screen screen) {
+        // Clear first: an invalidation that arrives while we're drawing will be picked up by the next frame.
+        needsDraw = descendantNeedsDraw = false;
+
         drawBackground( screen );
         drawForeground( screen );
         //drawLayoutDebug( screen );
@@ -113,9 +189,12 @@ public class View {
     protected void drawForeground(final Screen screen) {
     }
 
+    /**
+     * Draw all the children.  Our background has just been drawn over them, so they're redrawn whether they were invalidated or not.
+     */
     protected void drawChildren(final Screen screen) {
         for (final View child : getChildren())
-            child.draw( screen );
+            child.redraw( screen );
     }
 
     @Nonnull
@@ -160,6 +239,13 @@ public class View {
         this.parent = parent;
     }
 
+    /**
+     * Attach the root view to the window that renders it, so it can wake the window when it is invalidated.
+     */
+    void setWindow(final Window window) {
+        this.window = window;
+    }
+
     protected List<View> getChildren() {
         return children;
     }
@@ -190,6 +276,7 @@ public class View {
 
     public void setPadding(final Inset padding) {
         this.padding = padding;
+        invalidateLayout();
     }
 
     public Inset getMargin() {
@@ -198,6 +285,7 @@ public class View {
 
     public void setMargin(final Inset margin) {
         this.margin = margin;
+        invalidateLayout();
     }
 
     public Terminal.Color getBackgroundColor() {
@@ -206,6 +294,7 @@ public class View {
 
     public void setBackgroundColor(final Terminal.Color backgroundColor) {
         this.backgroundColor = backgroundColor;
+        invalidate();
     }
 
     public Terminal.Color getBackgroundPatternColor() {
@@ -214,6 +303,7 @@ public class View {
 
     public void setBackgroundPatternColor(final Terminal.Color backgroundPatternColor) {
         this.backgroundPatternColor = backgroundPatternColor;
+        invalidate();
     }
 
     public String getBackgroundPattern() {
@@ -222,6 +312,7 @@ public class View {
 
     public void setBackgroundPattern(final String backgroundPattern) {
         this.backgroundPattern = backgroundPattern;
+        invalidate();
     }
 
     public Terminal.Color getInfoTextColor() {
@@ -230,6 +321,7 @@ public class View {
 
     public void setInfoTextColor(final Terminal.Color infoTextColor) {
         this.infoTextColor = infoTextColor;
+        invalidate();
     }
 
     public Terminal.Color getInfoBackgroundColor() {
@@ -238,6 +330,7 @@ public class View {
 
     public void setInfoBackgroundColor(final Terminal.Color infoBackgroundColor) {
         this.infoBackgroundColor = infoBackgroundColor;
+        invalidate();
     }
 
     public Theme getTheme() {
@@ -252,5 +345,6 @@ public class View {
 
     public void setTheme(final Theme theme) {
         this.theme = theme;
+        invalidate();
     }
 }
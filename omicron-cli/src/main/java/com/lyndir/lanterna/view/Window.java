@@ -22,16 +22,30 @@ import com.googlecode.lanterna.screen.Screen;
 
 
 /**
+ * Renders a view hierarchy on the terminal.
+ * <p>
+ * Frames are only rendered when a view was invalidated, and only the invalidated parts of the hierarchy are measured and drawn.
+ * Frames are rendered at most {@link #MAX_FRAMES_PER_SECOND} times per second.  Between frames, the window sleeps until it is
+ * invalidated or it's time to check for input again.
+ *
  * @author lhunath, 2013-07-25
  */
 public class Window {
 
+    private static final int  MAX_FRAMES_PER_SECOND = 30;
+    private static final long FRAME_MILLIS          = 1000 / MAX_FRAMES_PER_SECOND;
+    // Lanterna can't block on input, so we poll for it this often while idle.
+    private static final long INPUT_POLL_MILLIS     = 20;
+
     private final View    rootView;
     private       boolean running;
     private       boolean ready;
+    private       boolean invalidated;
 
     public Window(final View rootView) {
         this.rootView = rootView;
+
+        rootView.setWindow( this );
     }
 
     public final void start() {
@@ -49,19 +63,23 @@ public class Window {
         try {
             onStartup( screen );
             setRunning( true );
+            long lastFrame = 0;
             while (isRunning()) {
-                // Measure
-                getRootView().measure( screen, new Box( 0, screen.getTerminalSize().getColumns(), screen.getTerminalSize().getRows(), 0 ) );
-                if (!isReady())
-                    fireReady();
-
-                // Draw
-                getRootView().draw( screen );
-                screen.refresh();
-
                 // Input
                 for (Key key; (key = screen.readInput()) != null; )
                     getRootView().handleKey( key );
+                if (screen.resizePending())
+                    getRootView().invalidateLayout();
+
+                // Render, unless we already did so within the last frame.
+                long now = System.currentTimeMillis();
+                if (getRootView().isInvalidated() && now - lastFrame >= FRAME_MILLIS) {
+                    render( screen );
+                    lastFrame = now;
+                }
+
+                // Sleep until the next frame is due or input needs to be checked.
+                awaitInvalidation( getRootView().isInvalidated()? Math.max( 1, lastFrame + FRAME_MILLIS - now ): INPUT_POLL_MILLIS );
             }
         }
         finally {
@@ -70,6 +88,39 @@ public class Window {
         }
     }
 
+    private void render(final Screen screen) {
+        // Measure
+        getRootView().measure( screen, new Box( 0, screen.getTerminalSize().getColumns(), screen.getTerminalSize().getRows(), 0 ) );
+        if (!isReady())
+            fireReady();
+
+        // Draw
+        getRootView().draw( screen );
+        screen.refresh();
+    }
+
+    private synchronized void awaitInvalidation(final long timeoutMillis) {
+        try {
+            if (!invalidated)
+                wait( timeoutMillis );
+        }
+        catch (final InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+            setRunning( false );
+        }
+        finally {
+            invalidated = false;
+        }
+    }
+
+    /**
+     * A view in the hierarchy was invalidated, wake up the render loop.
+     */
+    synchronized void onInvalidated() {
+        invalidated = true;
+        notifyAll();
+    }
+
     private void fireReady() {
         fireReadyView( getRootView() );
         onReady();
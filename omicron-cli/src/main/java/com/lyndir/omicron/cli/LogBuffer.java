@@ -0,0 +1,79 @@
+package com.lyndir.omicron.cli;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * The most recent lines of the log, in a ring of fixed capacity.
+ * <p>
+ * Lines are added from any logging thread without locking: each line claims the next sequence number and is stored in the slot of the
+ * ring it maps to, replacing the line that is capacity lines older.  Lines are read by their index from the oldest line that is still
+ * held, so a view can fetch only the lines it shows.  A line that is still being written, or that is replaced while it is being read,
+ * reads as empty.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class LogBuffer extends AbstractList<String> implements RandomAccess {
+
+    private final AtomicReferenceArray<Line> lines;
+    private final AtomicLong                 written = new AtomicLong();
+
+    public LogBuffer(final int capacity) {
+        Preconditions.checkArgument( capacity > 0, "Capacity must be positive: %s", capacity );
+
+        lines = new AtomicReferenceArray<>( capacity );
+    }
+
+    /**
+     * Add a line to the end of the log, dropping the oldest line if the log is full.
+     *
+     * @return true
+     */
+    @Override
+    public boolean add(final String line) {
+        long sequence = written.getAndIncrement();
+        lines.set( slot( sequence ), new Line( sequence, line ) );
+
+        return true;
+    }
+
+    /**
+     * @param index The index of the line, counting from the oldest line that is still held.
+     */
+    @Override
+    public String get(final int index) {
+        long total = written.get();
+        Preconditions.checkElementIndex( index, (int) Math.min( total, lines.length() ) );
+        long sequence = Math.max( 0, total - lines.length() ) + index;
+
+        Line line = lines.get( slot( sequence ) );
+        return line == null || line.sequence != sequence? "": line.text;
+    }
+
+    /**
+     * @return The amount of lines held, which is at most the capacity.
+     */
+    @Override
+    public int size() {
+        return (int) Math.min( written.get(), lines.length() );
+    }
+
+    private int slot(final long sequence) {
+        return (int) (sequence % lines.length());
+    }
+
+    private static class Line {
+
+        private final long   sequence;
+        private final String text;
+
+        Line(final long sequence, final String text) {
+            this.sequence = sequence;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2010, Maarten Billemont
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.lyndir.omicron.cli;
+
+import static com.lyndir.lhunath.opal.system.util.StringUtils.strf;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.google.common.base.Splitter;
+import com.lyndir.omicron.api.*;
+import com.lyndir.omicron.cli.command.RootCommand;
+import java.io.*;
+import java.util.*;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Runs CLI commands from a script without a terminal.
+ * <p>
+ * Every line of the script is evaluated as a command, just like it would be when typed into the interactive CLI.  Blank lines and lines
+ * starting with {@code #} are skipped.  For each command, a single line of JSON is written to the output, holding the command, the
+ * time it took to evaluate, the messages it logged and the game events that were observed while it ran:
+ * <pre>
+ * {"line":3,"command":"end turn","nanos":1234567,"failed":false,"messages":[...],"events":[...]}
+ * </pre>
+ * A command fails if it logs an error or throws an exception.  The script stops at the {@code quit} command.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class OmicronBatch {
+
+    private static final Splitter commandSplitter = Splitter.on( Pattern.compile( "\\s+" ) ).omitEmptyStrings().trimResults();
+
+    private final OmicronCLI   omicron;
+    private final PrintWriter  output;
+    private final List<String> messages = new ArrayList<>();
+    private final List<String> events   = new ArrayList<>();
+    private       boolean      failed;
+
+    public OmicronBatch(final OmicronCLI omicron, final Writer output) {
+        this.omicron = omicron;
+        this.output = new PrintWriter( output, true );
+    }
+
+    /**
+     * Evaluate all the commands of the script.
+     *
+     * @return The amount of commands that failed.
+     */
+    public int run(final Reader script)
+            throws IOException {
+        BatchAppender appender = new BatchAppender();
+        omicron.addGameListener( new BatchGameListener() );
+        omicron.setRunning( true );
+
+        int failures = 0;
+        try (BufferedReader scriptReader = new BufferedReader( script )) {
+            int lineNumber = 0;
+            for (String line; omicron.isRunning() && (line = scriptReader.readLine()) != null; ) {
+                ++lineNumber;
+                String command = line.trim();
+                if (command.isEmpty() || command.startsWith( "#" ))
+                    continue;
+
+                if (!evaluate( lineNumber, command ))
+                    ++failures;
+            }
+        }
+        finally {
+            appender.stop();
+            omicron.setRunning( false );
+        }
+
+        return failures;
+    }
+
+    private boolean evaluate(final int lineNumber, final String command) {
+        messages.clear();
+        events.clear();
+        failed = false;
+
+        long start = System.nanoTime();
+        try {
+            omicron.call( () -> {
+                new RootCommand( omicron ).evaluate( commandSplitter.split( command ).iterator() );
+                return null;
+            } );
+        }
+        catch (final RuntimeException e) {
+            failed = true;
+            messages.add( message( Level.ERROR, null, String.valueOf( e ) ) );
+        }
+        long nanos = System.nanoTime() - start;
+
+        output.println( strf( "{\"line\":%d,\"command\":%s,\"nanos\":%d,\"failed\":%s,\"messages\":[%s],\"events\":[%s]}", //
+                              lineNumber, quote( command ), nanos, failed, //
+                              join( messages ), join( events ) ) );
+
+        return !failed;
+    }
+
+    private static String message(final Level level, @Nullable final Object marker, final String text) {
+        return strf( "{\"level\":%s,\"marker\":%s,\"text\":%s}", quote( level.levelStr ), //
+                     marker == null? "null": quote( marker.toString() ), quote( text ) );
+    }
+
+    private void event(final String name, final String format, final Object... args) {
+        events.add( strf( "{\"event\":%s,%s}", quote( name ), strf( format, args ) ) );
+    }
+
+    private static String join(final Collection<String> jsonValues) {
+        StringBuilder joined = new StringBuilder();
+        for (final String jsonValue : jsonValues)
+            joined.append( joined.length() == 0? "": "," ).append( jsonValue );
+
+        return joined.toString();
+    }
+
+    /**
+     * @return The text as a JSON string literal.
+     */
+    static String quote(@Nullable final String text) {
+        if (text == null)
+            return "null";
+
+        StringBuilder quoted = new StringBuilder( text.length() + 2 ).append( '"' );
+        for (int c = 0; c < text.length(); ++c) {
+            char character = text.charAt( c );
+            switch (character) {
+                case '"':
+                    quoted.append( "\\\"" );
+                    break;
+                case '\\':
+                    quoted.append( "\\\\" );
+                    break;
+                case '\n':
+                    quoted.append( "\\n" );
+                    break;
+                case '\r':
+                    quoted.append( "\\r" );
+                    break;
+                case '\t':
+                    quoted.append( "\\t" );
+                    break;
+                default:
+                    if (character < 0x20)
+                        quoted.append( strf( "\\u%04x", (int) character ) );
+                    else
+                        quoted.append( character );
+            }
+        }
+
+        return quoted.append( '"' ).toString();
+    }
+
+    private static String tile(@Nullable final ITile tile) {
+        return tile == null? "null": strf( "[%d,%d]", tile.getPosition().getX(), tile.getPosition().getY() );
+    }
+
+    /**
+     * Collects the messages logged while a command is evaluated.
+     */
+    private class BatchAppender extends AppenderBase<ILoggingEvent> {
+
+        BatchAppender() {
+            LoggerContext logbackFactory = (LoggerContext) LoggerFactory.getILoggerFactory();
+            logbackFactory.getLogger( org.slf4j.Logger.ROOT_LOGGER_NAME ).addAppender( this );
+            setContext( logbackFactory );
+            start();
+        }
+
+        @Override
+        protected void append(final ILoggingEvent eventObject) {
+            if (eventObject.getLevel().isGreaterOrEqual( Level.ERROR ))
+                failed = true;
+
+            messages.add( message( eventObject.getLevel(), eventObject.getMarker(), eventObject.getFormattedMessage() ) );
+        }
+    }
+
+
+    /**
+     * Collects the game events observed by the local player while a command is evaluated.
+     */
+    private class BatchGameListener extends GameListener {
+
+        @Override
+        public void onNewTurn(final Turn currentTurn) {
+            event( "newTurn", "\"turn\":%d", currentTurn.getNumber() );
+        }
+
+        @Override
+        public void onPlayerScore(final IPlayer player, final ChangeInt score) {
+            event( "playerScore", "\"player\":%d,\"from\":%d,\"to\":%d", player.getPlayerID(), score.getFrom(), score.getTo() );
+        }
+
+        @Override
+        public void onUnitCaptured(final IGameObject gameObject, final Change<IPlayer> owner) {
+            event( "unitCaptured", "\"object\":%d,\"from\":%s,\"to\":%s", gameObject.getObjectID(), //
+                   owner.getFrom() == null? "null": owner.getFrom().getPlayerID(), //
+                   owner.getTo() == null? "null": owner.getTo().getPlayerID() );
+        }
+
+        @Override
+        public void onUnitMoved(final IGameObject gameObject, final Change<ITile> location) {
+            event( "unitMoved", "\"object\":%d,\"from\":%s,\"to\":%s", gameObject.getObjectID(), //
+                   tile( location.getFrom() ), tile( location.getTo() ) );
+        }
+
+        @Override
+        public void onUnitDied(final IGameObject gameObject) {
+            event( "unitDied", "\"object\":%d", gameObject.getObjectID() );
+        }
+
+        @Override
+        public void onWeaponFired(final IWeaponModule weaponModule, final ITile target, final ChangeInt repeated,
+                                  final ChangeInt ammunition) {
+            event( "weaponFired", "\"object\":%d,\"target\":%s,\"ammunition\":%d", weaponModule.getGameObject().getObjectID(), //
+                   tile( target ), ammunition.getTo() );
+        }
+
+        @Override
+        public void onGameStarted(final IGame game) {
+            event( "gameStarted", "\"turn\":%d", game.getCurrentTurn().getNumber() );
+        }
+
+        @Override
+        public void onGameEnded(final IGame game, final PublicVictoryConditionType victoryCondition, @Nullable final IPlayer victor) {
+            event( "gameEnded", "\"victoryCondition\":%s,\"victor\":%s", quote( victoryCondition.name() ), //
+                   victor == null? "null": victor.getPlayerID() );
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.lyndir.omicron.cli;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
 import com.lyndir.lanterna.view.OmicronWindow;
+import com.lyndir.lhunath.opal.system.util.Job;
 import com.lyndir.omicron.api.*;
+import java.io.*;
 import java.util.*;
 import javax.annotation.Nonnull;
 
@@ -14,19 +17,35 @@ import javax.annotation.Nonnull;
  */
 public class OmicronCLI {
 
-    private static final OmicronCLI omicron = new OmicronCLI();
+    private static final OmicronCLI omicron       = new OmicronCLI();
+    private static final int        MAX_LOG_LINES = 4096;
 
     private final Builders                 builders      = new Builders();
     private final PlayerKey                localKey      = new PlayerKey();
-    private final List<String>             log           = new LinkedList<>();
+    private final LogBuffer                log           = new LogBuffer( MAX_LOG_LINES );
     private final Collection<GameListener> gameListeners = new HashSet<>();
     private final OmicronWindow            window        = new OmicronWindow();
     private IGameController gameController;
     private IPlayer         localPlayer;
     private boolean         running;
 
+    /**
+     * Start the interactive CLI, or with {@code --batch [script]}, evaluate the commands of the script (or standard input) without a
+     * terminal and write their results as JSON lines to standard output.  In batch mode, the exit status is the amount of failed
+     * commands.
+     */
     @SuppressWarnings("ProhibitedExceptionDeclared")
-    public static void main(final String... arguments) {
+    public static void main(final String... arguments)
+            throws IOException {
+        if (arguments.length > 0 && "--batch".equals( arguments[0] )) {
+            Reader script = arguments.length > 1 && !"-".equals( arguments[1] )? //
+                    new InputStreamReader( new FileInputStream( arguments[1] ), Charsets.UTF_8 ): //
+                    new InputStreamReader( System.in, Charsets.UTF_8 );
+            Writer output = new OutputStreamWriter( System.out, Charsets.UTF_8 );
+
+            System.exit( Math.min( new OmicronBatch( omicron, output ).run( script ), 125 ) );
+        }
+
         new OmicronCLIAppender().start();
         omicron.start();
     }
@@ -61,6 +80,29 @@ public class OmicronCLI {
 
         for (final GameListener gameListener : gameListeners)
             gameController.addGameListener( gameListener );
+
+        window.getRootView().invalidate();
+    }
+
+    /**
+     * Run the job in the game as the local player, after and never at the same time as any other work on the game, and wait for it.
+     * Until there is a game with a local player, the job just runs on the calling thread.
+     */
+    public <R> R call(final Job<R> job) {
+        if (!(gameController instanceof GameController) || localPlayer == null)
+            return job.execute();
+
+        return ((GameController) gameController).call( job );
+    }
+
+    /**
+     * @return The latest snapshot of the game, which can be read without going through the game.
+     */
+    public Optional<GameSnapshot> getSnapshot() {
+        if (!(gameController instanceof GameController))
+            return Optional.empty();
+
+        return Optional.of( ((GameController) gameController).getGame().getSnapshot() );
     }
 
     public Optional<IPlayer> getLocalPlayer() {
@@ -72,6 +114,8 @@ public class OmicronCLI {
 
         Preconditions.checkState( this.localPlayer == null, "Cannot assign a new local player, one has already been assigned." );
         this.localPlayer = localPlayer;
+
+        window.getRootView().invalidate();
     }
 
     public PlayerKey getLocalKey() {
@@ -79,7 +123,10 @@ public class OmicronCLI {
         return localKey;
     }
 
-    public Collection<String> getLog() {
+    /**
+     * @return The most recent lines of the log, oldest first.
+     */
+    public LogBuffer getLog() {
         return log;
     }
 
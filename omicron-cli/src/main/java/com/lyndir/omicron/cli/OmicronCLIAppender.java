@@ -16,9 +16,12 @@
 
 package com.lyndir.omicron.cli;
 
+import static com.lyndir.lhunath.opal.system.util.StringUtils.strf;
+
 import ch.qos.logback.classic.*;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.AppenderBase;
+import com.google.common.base.Splitter;
 import org.slf4j.LoggerFactory;
 
 
@@ -43,6 +46,8 @@ public class OmicronCLIAppender extends AppenderBase<ILoggingEvent> {
             logMessage.append( eventObject.getMarker() );
         logMessage.append( eventObject.getFormattedMessage() );
 
-        OmicronCLI.get().getLog().add( logMessage.toString() );
+        for (final String line : Splitter.on( strf( "%n" ) ).split( logMessage ))
+            OmicronCLI.get().getLog().add( line );
+        OmicronCLI.get().getWindow().getView().getCommand().getLogView().invalidate();
     }
 }
@@ -0,0 +1,171 @@
+package com.lyndir.omicron.cli.command;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.*;
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import com.lyndir.omicron.cli.OmicronCLI;
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.util.*;
+
+
+/**
+ * The dispatch tables of all the commands, built once when the CLI starts.
+ * <p>
+ * Each command's table maps the names and abbreviations of its sub commands and child command groups to prebuilt method handles,
+ * so that dispatching a token needs no reflection.  Sub commands take precedence over command groups that share a token.
+ *
+ * @author lhunath, 2014-08-18
+ */
+final class CommandRegistry {
+
+    static final Logger logger = Logger.get( CommandRegistry.class );
+
+    /**
+     * All the command groups of the CLI.  Add new command groups here.
+     */
+    private static final ImmutableList<Class<? extends Command>> commandGroups = ImmutableList.of( //
+            RootCommand.class, //
+            AddCommand.class, AddGameCommand.class, //
+            BuildCommand.class, //
+            CreateCommand.class, //
+            EndCommand.class, //
+            FireCommand.class, //
+            ListCommand.class, //
+            MoveCommand.class, //
+            PrintCommand.class, //
+            RemoveCommand.class, RemoveGameCommand.class, //
+            SetCommand.class, SetGameCommand.class, //
+            ViewCommand.class );
+
+    private static final MethodType subCommandType   = MethodType.methodType( void.class, Command.class, Iterator.class );
+    private static final MethodType commandGroupType = MethodType.methodType( Command.class, OmicronCLI.class );
+
+    private static final ImmutableMap<Class<? extends Command>, Table> tables = buildTables();
+
+    private CommandRegistry() {
+    }
+
+    static Table get(final Class<? extends Command> command) {
+        return Preconditions.checkNotNull( tables.get( command ), "Command group is not registered: %s", command );
+    }
+
+    private static ImmutableMap<Class<? extends Command>, Table> buildTables() {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        ImmutableMap.Builder<Class<? extends Command>, Table> tablesBuilder = ImmutableMap.builder();
+
+        try {
+            for (final Class<? extends Command> command : commandGroups) {
+                CommandGroup commandAnnotation = command.getAnnotation( CommandGroup.class );
+                Table table = new Table( commandAnnotation.name() + (commandAnnotation.name().isEmpty()? "": ": ") );
+
+                // Sub commands: the command's annotated methods, taking the remaining tokens or nothing.
+                for (final Method method : command.getMethods()) {
+                    SubCommand annotation = method.getAnnotation( SubCommand.class );
+                    if (annotation == null)
+                        continue;
+
+                    MethodHandle handle = lookup.unreflect( method );
+                    if (method.getParameterTypes().length == 0)
+                        handle = MethodHandles.dropArguments( handle, 1, Iterator.class );
+                    Entry entry = new Entry( handle.asType( subCommandType ), null );
+
+                    table.add( method.getName(), annotation.abbr(), entry );
+                    if (!"help".equals( method.getName() ))
+                        // Hide special commands.
+                        table.descriptions.put( method.getName(), annotation.desc() );
+                }
+
+                // Command groups: the commands that name this command as their parent.
+                for (final Class<? extends Command> commandGroup : commandGroups) {
+                    CommandGroup annotation = commandGroup.getAnnotation( CommandGroup.class );
+                    if (annotation.parent() != command || commandGroup == command)
+                        continue;
+
+                    MethodHandle constructor = lookup.findConstructor( commandGroup, commandGroupType.changeReturnType( void.class ) );
+                    Entry entry = new Entry( null, constructor.asType( commandGroupType ) );
+
+                    table.add( annotation.name(), annotation.abbr(), entry );
+                    if (!annotation.name().isEmpty() && !"help".equals( annotation.name() ))
+                        // Hide special commands.
+                        table.descriptions.put( String.format( "%s/%s", annotation.name(), annotation.abbr() ), annotation.desc() );
+                }
+
+                tablesBuilder.put( command, table );
+            }
+        }
+        catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw logger.bug( e );
+        }
+
+        return tablesBuilder.build();
+    }
+
+    static class Table {
+
+        private final CommandTrie<Entry>  entries      = new CommandTrie<>();
+        private final Map<String, String> descriptions = Maps.newTreeMap();
+        private final String              prefix;
+
+        Table(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        private void add(final String name, final String abbr, final Entry entry) {
+            if (!entries.putIfAbsent( name, entry ))
+                logger.wrn( "Command token already in use: %s", name );
+            if (!abbr.isEmpty() && !entries.putIfAbsent( abbr, entry ))
+                logger.wrn( "Command token already in use: %s", abbr );
+        }
+
+        /**
+         * @return true if the token named a sub command or command group of the command, which was then evaluated with the tokens.
+         */
+        boolean dispatch(final Command command, final String token, final Iterator<String> tokens) {
+            Entry entry = entries.get( token );
+            if (entry == null)
+                return false;
+
+            try {
+                if (entry.subCommand != null)
+                    entry.subCommand.invokeExact( command, tokens );
+                else
+                    ((Command) entry.commandGroup.invokeExact( command.getOmicron() )).evaluate( tokens );
+            }
+            catch (final RuntimeException | Error e) {
+                throw e;
+            }
+            catch (final Throwable t) {
+                throw logger.bug( t );
+            }
+
+            return true;
+        }
+
+        /**
+         * @return The descriptions of the command's sub commands and command groups, by their name.
+         */
+        Map<String, String> getDescriptions() {
+            return Collections.unmodifiableMap( descriptions );
+        }
+
+        /**
+         * @return The text that precedes the command's messages.
+         */
+        String getPrefix() {
+            return prefix;
+        }
+    }
+
+
+    private static class Entry {
+
+        private final MethodHandle subCommand;
+        private final MethodHandle commandGroup;
+
+        Entry(final MethodHandle subCommand, final MethodHandle commandGroup) {
+            this.subCommand = subCommand;
+            this.commandGroup = commandGroup;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.lyndir.omicron.cli.command;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+
+/**
+ * Maps command tokens to values, one character per level, so that looking up a token costs no more than its length.
+ *
+ * @author lhunath, 2014-08-18
+ */
+class CommandTrie<V> {
+
+    private final Map<Character, CommandTrie<V>> children = new HashMap<>();
+    @Nullable
+    private V value;
+
+    /**
+     * Map the key to the value, unless the key is already mapped.
+     *
+     * @return true if the key was mapped to the value.
+     */
+    boolean putIfAbsent(final String key, final V newValue) {
+        CommandTrie<V> node = this;
+        for (int c = 0; c < key.length(); ++c)
+            node = node.children.computeIfAbsent( key.charAt( c ), character -> new CommandTrie<>() );
+
+        if (node.value != null)
+            return false;
+
+        node.value = newValue;
+        return true;
+    }
+
+    /**
+     * @return The value mapped to exactly the given key, or {@code null} if there is none.
+     */
+    @Nullable
+    V get(final String key) {
+        CommandTrie<V> node = this;
+        for (int c = 0; node != null && c < key.length(); ++c)
+            node = node.children.get( key.charAt( c ) );
+
+        return node == null? null: node.value;
+    }
+}
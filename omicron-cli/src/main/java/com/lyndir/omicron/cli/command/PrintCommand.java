@@ -1,11 +1,14 @@
 package com.lyndir.omicron.cli.command;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
 import com.google.common.collect.*;
 import com.lyndir.lhunath.opal.math.Size;
 import com.lyndir.omicron.api.*;
+import com.lyndir.omicron.api.trace.Trace;
 import com.lyndir.omicron.api.util.Maybe;
 import com.lyndir.omicron.cli.OmicronCLI;
+import java.io.IOException;
 import java.util.*;
 
 
@@ -74,4 +77,24 @@ public class PrintCommand extends Command {
             inf( "%s|%s|", y % 2 == 0? "": "  ", Joiner.on( ' ' ).join( row.values() ) );
         }
     }
+
+    @SubCommand(abbr = "t", desc = "The recorded trace events, oldest first.")
+    public void trace(final Iterator<String> tokens) {
+
+        if (!Trace.RECORDING) {
+            err( "Tracing is off.  Start the CLI with -Domicron.trace=record to record trace events." );
+            return;
+        }
+
+        StringBuilder trace = new StringBuilder();
+        try {
+            Trace.dump( trace );
+        }
+        catch (final IOException e) {
+            throw logger.bug( e );
+        }
+
+        for (final String line : Splitter.on( '\n' ).trimResults().omitEmptyStrings().split( trace ))
+            inf( "%s", line );
+    }
 }
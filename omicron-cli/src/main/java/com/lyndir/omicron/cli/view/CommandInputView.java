@@ -34,6 +34,9 @@ public class CommandInputView extends InputView {
     protected void onEnterText(final String text) {
         logger.inf( getPromptText() + text );
 
-        new RootCommand( OmicronCLI.get() ).evaluate( commandSplitter.split( text ).iterator() );
+        OmicronCLI.get().call( () -> {
+            new RootCommand( OmicronCLI.get() ).evaluate( commandSplitter.split( text ).iterator() );
+            return null;
+        } );
     }
 }
@@ -16,9 +16,6 @@
 
 package com.lyndir.omicron.cli.view;
 
-import static com.lyndir.lhunath.opal.system.util.StringUtils.strf;
-
-import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.lyndir.lanterna.view.*;
 import com.lyndir.omicron.cli.OmicronCLI;
@@ -30,16 +27,13 @@ import javax.annotation.Nonnull;
  */
 public class CommandView extends TitledView {
 
+    private final TextView logView;
+
     public CommandView() {
         super( "Command Log" );
 
         LinearView content = new LinearView( LinearView.Orientation.VERTICAL );
-        TextView logView = new TextView() {
-            @Override
-            public String getText() {
-                return Joiner.on( strf("%n") ).join( OmicronCLI.get().getLog() );
-            }
-        };
+        logView = new TextView();
         CommandInputView commandInputView = new CommandInputView();
         commandInputView.setControlTextView( logView );
 
@@ -48,6 +42,14 @@ public class CommandView extends TitledView {
         addChild( content );
     }
 
+    @Override
+    protected void onReady() {
+        super.onReady();
+
+        // The views are built while the CLI itself is being created, its log can only be reached once it's running.
+        logView.setTextLines( OmicronCLI.get().getLog() );
+    }
+
     @Nonnull
     @Override
     public Optional<?> layoutValue(final LayoutParameter layoutParameter) {
@@ -56,4 +58,8 @@ public class CommandView extends TitledView {
 
         return super.layoutValue( layoutParameter );
     }
+
+    public TextView getLogView() {
+        return logView;
+    }
 }
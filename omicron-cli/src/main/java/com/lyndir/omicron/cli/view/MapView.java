@@ -27,11 +27,9 @@ import com.googlecode.lanterna.terminal.Terminal;
 import com.lyndir.lanterna.view.*;
 import com.lyndir.lhunath.opal.math.*;
 import com.lyndir.omicron.api.*;
-import com.lyndir.omicron.api.util.Maybe;
 import com.lyndir.omicron.cli.OmicronCLI;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -69,6 +67,32 @@ public class MapView extends View {
             public void onNewTurn(final Turn currentTurn) {
                 if (!hasUnits)
                     setHomeOffset();
+                invalidate();
+            }
+
+            @Override
+            public void onTileContents(final ITile tile, final Change<IGameObject> contents) {
+                invalidate();
+            }
+
+            @Override
+            public void onTileResources(final ITile tile, final ResourceType resourceType, final ChangeInt resourceQuantity) {
+                invalidate();
+            }
+
+            @Override
+            public void onUnitCaptured(final IGameObject gameObject, final Change<IPlayer> owner) {
+                invalidate();
+            }
+
+            @Override
+            public void onUnitMoved(final IGameObject gameObject, final Change<ITile> location) {
+                invalidate();
+            }
+
+            @Override
+            public void onUnitDied(final IGameObject gameObject) {
+                invalidate();
             }
         } );
     }
@@ -77,56 +101,47 @@ public class MapView extends View {
     protected void drawForeground(final Screen screen) {
         super.drawForeground( screen );
 
-        Optional<IGameController> gameController = OmicronCLI.get().getGameController();
-        if (!gameController.isPresent())
+        Optional<GameSnapshot> snapshotOptional = OmicronCLI.get().getSnapshot();
+        if (!snapshotOptional.isPresent())
             return;
+        GameSnapshot snapshot = snapshotOptional.get();
 
         Optional<IPlayer> localPlayerOptional = OmicronCLI.get().getLocalPlayer();
         if (!localPlayerOptional.isPresent())
             return;
         IPlayer localPlayer = localPlayerOptional.get();
 
-        // Create an empty grid.
-        Size levelSize = gameController.get().getGame().getLevel( getLevelType() ).getSize();
-        Table<Integer, Integer, ITile> grid = HashBasedTable.create( levelSize.getHeight(), levelSize.getWidth() );
-
-        // Iterate observable tiles and populate the grid.
-        localPlayer.observableTiles().forEach( tile -> {
-            Vec2 coordinate = positionToMapCoordinate( tile.getPosition() );
-            grid.put( coordinate.getY(), coordinate.getX(), tile );
-        } );
-
-        // Draw grid in view.
+        // Draw the empty grid in view.
+        Size levelSize = snapshot.getLevelSize();
         Box contentBox = getContentBoxOnScreen();
-        for (int screenX = contentBox.getLeft(); screenX <= contentBox.getRight(); ++screenX)
-            for (int screenY = contentBox.getTop(); screenY <= contentBox.getBottom(); ++screenY) {
-                int tileY = screenY - contentBox.getTop() + getOffset().getY();
-                int tileX = screenX - contentBox.getLeft() + getOffset().getX();
-                if (!levelSize.isInBounds( Vec2.create( tileX, tileY ) ))
-                    continue;
-
-                ITile tile = grid.get( tileY, tileX );
-                Maybe<? extends IGameObject> contents;
-                Terminal.Color bgColor = getBackgroundColor();
-                if (tile == null)
-                    contents = Maybe.empty();
-                else {
-                    contents = tile.getContents();
-                    bgColor = levelTypeColors.get( tile.getLevel().getType() );
-
-                    for (final ResourceType resourceType : ResourceType.values()) {
-                        Maybe<Integer> resourceQuantity = tile.getResourceQuantity( resourceType );
-                        if (resourceQuantity.presence() == Maybe.Presence.PRESENT)
+        for (int screenY = contentBox.getTop(); screenY <= contentBox.getBottom(); ++screenY)
+            for (int screenX = contentBox.getLeft(); screenX <= contentBox.getRight(); ++screenX)
+                if (levelSize.isInBounds( screenToMapCoordinate( contentBox, screenX, screenY ) ))
+                    drawTile( screen, screenX, screenY, " ", getBackgroundColor() );
+
+        // Draw the observed tiles in view.  The map is skewed, so the positions in view span a few more columns than the view.
+        // The tiles are read from the game's latest snapshot, so drawing never waits for the game.
+        int rows = contentBox.getSize().getHeight(), columns = contentBox.getSize().getWidth();
+        Vec2 origin = Vec2.create( getOffset().getX() - (getOffset().getY() + rows) / 2, getOffset().getY() );
+        snapshot.observedPositions( localPlayer.getPlayerID(), getLevelType(), origin, new Size( columns + rows / 2 + 1, rows ) ) //
+                .forEach( position -> {
+                    Vec2 coordinate = positionToMapCoordinate( position );
+                    int screenX = coordinate.getX() - getOffset().getX() + contentBox.getLeft();
+                    int screenY = coordinate.getY() - getOffset().getY() + contentBox.getTop();
+                    if (screenX < contentBox.getLeft() || screenX > contentBox.getRight() || !levelSize.isInBounds( coordinate ))
+                        return;
+
+                    Terminal.Color bgColor = levelTypeColors.get( getLevelType() );
+                    for (final ResourceType resourceType : ResourceType.values())
+                        if (snapshot.getResourceQuantity( getLevelType(), position, resourceType ) > 0)
                             bgColor = resourceTypeColors.get( resourceType );
-                    }
-                }
 
-                screen.putString( screenX + (screenY % 2 == 0? 0: 1), screenY,
-                                  contents.presence() == Maybe.Presence.PRESENT? contents.get().getType().getTypeName().substring( 0, 1 )
-                                          : " ", getMapColor(), bgColor, ScreenCharacterStyle.Bold );
-                // Draw off-screen warning labels.
-            }
+                    drawTile( screen, screenX, screenY, snapshot.getContents( getLevelType(), position ) //
+                                                                .map( contents -> contents.getTypeName().substring( 0, 1 ) )
+                                                                .orElse( " " ), bgColor );
+                } );
 
+        // Draw off-screen warning labels.
         Inset offScreen = new Inset( Math.max( 0, getOffset().getY() ),
                                      Math.max( 0, levelSize.getWidth() - contentBox.getSize().getWidth() - getOffset().getX() + 1 ),
                                      Math.max( 0, levelSize.getHeight() - contentBox.getSize().getHeight() - getOffset().getY() - 1 ),
@@ -152,6 +167,14 @@ public class MapView extends View {
                               String.format( "%+d", offScreen.getLeft() ), getInfoTextColor(), getInfoBackgroundColor() );
     }
 
+    private void drawTile(final Screen screen, final int screenX, final int screenY, final String text, final Terminal.Color bgColor) {
+        screen.putString( screenX + (screenY % 2 == 0? 0: 1), screenY, text, getMapColor(), bgColor, ScreenCharacterStyle.Bold );
+    }
+
+    private Vec2 screenToMapCoordinate(final Box contentBox, final int screenX, final int screenY) {
+        return Vec2.create( screenX - contentBox.getLeft() + getOffset().getX(), screenY - contentBox.getTop() + getOffset().getY() );
+    }
+
     @Override
     protected boolean onKey(final Key key) {
         if (key.getKind() == Key.Kind.ArrowUp && key.isCtrlPressed()) {
@@ -179,26 +202,30 @@ public class MapView extends View {
     }
 
     private void setHomeOffset() {
-        Optional<IPlayer> localPlayerOptional = OmicronCLI.get().getLocalPlayer();
-        Stream<? extends IGameObject> gameObjects = Stream.empty();
-        if (localPlayerOptional.isPresent())
-            gameObjects = localPlayerOptional.get().getController().playerObjectsObservable();
-
-        setOffset( gameObjects.filter( gameObject -> gameObject.getLocation().get().getLevel().getType() == getLevelType() )
-                              .map( gameObject -> {
-                                  // Transform game objects into their offset from the center of the map.
-                                  hasUnits = true;
-                                  Box contentBox = getContentBoxOnScreen();
-                                  return positionToMapCoordinate( gameObject.getLocation().get().getPosition() ) //
-                                          .translate( -contentBox.getSize().getWidth() / 2, -contentBox.getSize().getHeight() / 2 );
-                              } )
-                              .findFirst()
-                              .orElseGet( () -> {
-                                  // If there is no game object in this level, go to the map's center.
-                                  hasUnits = false;
-                                  Box contentBox = getContentBoxOnScreen();
-                                  return Vec2.create( contentBox.getSize().getWidth() / 2, contentBox.getSize().getHeight() / 2 );
-                              } ) );
+        Optional<GameSnapshot> snapshot = OmicronCLI.get().getSnapshot();
+        Optional<IPlayer> localPlayer = OmicronCLI.get().getLocalPlayer();
+        Optional<Vec2> home = Optional.empty();
+        if (snapshot.isPresent() && localPlayer.isPresent())
+            home = snapshot.get()
+                           .getUnits()
+                           .filter( unit -> unit.getOwnerID().equals( Optional.of( localPlayer.get().getPlayerID() ) ) )
+                           .filter( unit -> unit.getLevelType() == getLevelType() )
+                           .map( GameSnapshot.UnitSnapshot::getPosition )
+                           .findFirst();
+
+        setOffset( home.map( position -> {
+                           // Transform the home position into its offset from the center of the map.
+                           hasUnits = true;
+                           Box contentBox = getContentBoxOnScreen();
+                           return positionToMapCoordinate( position ) //
+                                   .translate( -contentBox.getSize().getWidth() / 2, -contentBox.getSize().getHeight() / 2 );
+                       } )
+                       .orElseGet( () -> {
+                           // If there is no game object in this level, go to the map's center.
+                           hasUnits = false;
+                           Box contentBox = getContentBoxOnScreen();
+                           return Vec2.create( contentBox.getSize().getWidth() / 2, contentBox.getSize().getHeight() / 2 );
+                       } ) );
     }
 
     private static Vec2 positionToMapCoordinate(final Vec2 position) {
@@ -215,6 +242,7 @@ public class MapView extends View {
     @Override
     public void setBackgroundPattern(@Nullable final String backgroundPattern) {
         this.backgroundPattern = backgroundPattern;
+        invalidate();
     }
 
     public Terminal.Color getMapColor() {
@@ -223,6 +251,7 @@ public class MapView extends View {
 
     public void setMapColor(@Nullable final Terminal.Color mapColor) {
         this.mapColor = mapColor;
+        invalidate();
     }
 
     public LevelType getLevelType() {
@@ -231,6 +260,7 @@ public class MapView extends View {
 
     public void setLevelType(final LevelType levelType) {
         this.levelType = levelType;
+        invalidate();
     }
 
     @Nonnull
@@ -240,6 +270,7 @@ public class MapView extends View {
 
     public void setOffset(@Nonnull final Vec2 offset) {
         this.offset = offset;
+        invalidate();
     }
 
     public Vec2 getCenterTile() {
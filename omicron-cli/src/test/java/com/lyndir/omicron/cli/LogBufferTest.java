@@ -0,0 +1,57 @@
+package com.lyndir.omicron.cli;
+
+import static org.testng.AssertJUnit.*;
+
+import com.google.common.collect.ImmutableList;
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.annotations.Test;
+
+
+public class LogBufferTest {
+
+    @Test
+    public void testWrapAround()
+            throws Exception {
+
+        LogBuffer log = new LogBuffer( 3 );
+        assertTrue( log.isEmpty() );
+
+        log.add( "a" );
+        log.add( "b" );
+        assertEquals( ImmutableList.of( "a", "b" ), ImmutableList.copyOf( log ) );
+
+        // Once full, each new line replaces the oldest one and indexes keep counting from the oldest line held.
+        log.add( "c" );
+        log.add( "d" );
+        log.add( "e" );
+        assertEquals( 3, log.size() );
+        assertEquals( ImmutableList.of( "c", "d", "e" ), ImmutableList.copyOf( log ) );
+
+        try {
+            log.get( 3 );
+            fail( "Expected no line past the newest one." );
+        }
+        catch (final IndexOutOfBoundsException ignored) {
+        }
+    }
+
+    @Test
+    public void testLineBeingWritten()
+            throws Exception {
+
+        LogBuffer log = new LogBuffer( 2 );
+        log.add( "a" );
+        log.add( "b" );
+
+        // Claim the next line without storing it, like a writer that is interrupted between the two.  Its slot still holds "a".
+        Field written = LogBuffer.class.getDeclaredField( "written" );
+        written.setAccessible( true );
+        ((AtomicLong) written.get( log )).incrementAndGet();
+        assertEquals( ImmutableList.of( "b", "" ), ImmutableList.copyOf( log ) );
+
+        // Lines written after it show up as usual.
+        log.add( "c" );
+        assertEquals( ImmutableList.of( "", "c" ), ImmutableList.copyOf( log ) );
+    }
+}
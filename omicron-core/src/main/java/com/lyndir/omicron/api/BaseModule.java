@@ -7,6 +7,8 @@ import com.lyndir.lhunath.opal.system.error.AlreadyCheckedException;
 import com.lyndir.lhunath.opal.system.error.InternalInconsistencyException;
 import com.lyndir.lhunath.opal.system.util.ObjectUtils;
 import com.lyndir.omicron.api.error.NotAuthenticatedException;
+import com.lyndir.omicron.api.metrics.Counter;
+import com.lyndir.omicron.api.metrics.Metrics;
 import com.lyndir.omicron.api.util.Maybe;
 import com.lyndir.omicron.api.util.Maybool;
 import java.util.Set;
@@ -19,20 +21,14 @@ import org.jetbrains.annotations.NotNull;
 // TODO: It uniquely describes a game object and can exist only once and lots of external code assumes there is one and only one...
 public class BaseModule extends Module implements IBaseModule, IBaseModuleController {
 
-    private final int                     maxHealth;
-    private final int                     armor;
-    private final int                     viewRange;
-    private final ImmutableSet<LevelType> supportedLayers;
-    private       int                     damage;
+    private static final Counter visibilityChecks = Metrics.counter( "omicron_visibility_checks_total",
+                                                                     "Checks of whether a game object can see a tile or object." );
 
-    protected BaseModule(final ImmutableResourceCost resourceCost, final int maxHealth, final int armor, final int viewRange,
-                         final Set<LevelType> supportedLayers) {
-        super( resourceCost );
+    private final Definition definition;
+    private       int        damage;
 
-        this.maxHealth = maxHealth;
-        this.armor = armor;
-        this.viewRange = viewRange;
-        this.supportedLayers = ImmutableSet.copyOf( supportedLayers );
+    protected BaseModule(final Definition definition) {
+        this.definition = definition;
     }
 
     static Builder0 createWithStandardResourceCost() {
@@ -49,6 +45,7 @@ public class BaseModule extends Module implements IBaseModule, IBaseModuleContro
     @Override
     public Maybool canObserve(@Nonnull final GameObservable observable)
             throws NotAuthenticatedException {
+        visibilityChecks.increment();
         if (observable.equals( getGameObject() ))
             return Maybool.yes();
 
@@ -81,7 +78,8 @@ public class BaseModule extends Module implements IBaseModule, IBaseModuleContro
                     }
                 }
 
-                return Maybool.from(ourLocation.get().getPosition().distanceTo( observableLocation.getPosition() ) <= viewRange);
+                return Maybool.from(
+                        ourLocation.get().getPosition().distanceTo( observableLocation.getPosition() ) <= definition.getViewRange() );
         }
 
         throw new AlreadyCheckedException( "Switch statement should handle all cases." );
@@ -98,9 +96,14 @@ public class BaseModule extends Module implements IBaseModule, IBaseModuleContro
         return location.get().getLevel().getTilesByPosition().values().stream().filter( tile -> canObserve( tile ).isTrue() );
     }
 
+    @Override
+    public Definition getDefinition() {
+        return definition;
+    }
+
     @Override
     public int getMaxHealth() {
-        return maxHealth;
+        return definition.getMaxHealth();
     }
 
     @Override
@@ -110,17 +113,17 @@ public class BaseModule extends Module implements IBaseModule, IBaseModuleContro
 
     @Override
     public int getArmor() {
-        return armor;
+        return definition.getArmor();
     }
 
     @Override
     public int getViewRange() {
-        return viewRange;
+        return definition.getViewRange();
     }
 
     @Override
     public ImmutableSet<LevelType> getSupportedLayers() {
-        return supportedLayers;
+        return definition.getSupportedLayers();
     }
 
     @Override
@@ -131,10 +134,27 @@ public class BaseModule extends Module implements IBaseModule, IBaseModuleContro
     protected void onNewTurn() {
     }
 
-    void addDamage(final int incomingDamage) {
+    /**
+     * Take the damage of one or more hits at once.  The armor absorbs part of each hit and game listeners are notified of the total.
+     */
+    void addDamage(final int... incomingDamages) {
+        int armoredDamage = 0;
+        for (final int incomingDamage : incomingDamages)
+            armoredDamage += Math.max( 0, incomingDamage - definition.getArmor() );
+
+        takeDamage( armoredDamage );
+    }
+
+    /**
+     * Take damage that the armor has already absorbed its part of.
+     */
+    void takeDamage(final int armoredDamage) {
         ChangeInt.From damageChange = ChangeInt.from( damage );
 
-        damage += Math.max( 0, incomingDamage - armor );
+        damage += armoredDamage;
+        Tile location = getGameObject().getLocation().orNull();
+        if (location != null)
+            Security.currentGame().getSnapshots().changed( location );
 
         if (getRemainingHealth() <= 0)
             getGameObject().getController().die();
@@ -153,6 +173,51 @@ public class BaseModule extends Module implements IBaseModule, IBaseModuleContro
         return this;
     }
 
+    public static class Definition extends Module.Definition<BaseModule> {
+
+        private final int                     maxHealth;
+        private final int                     armor;
+        private final int                     viewRange;
+        private final ImmutableSet<LevelType> supportedLayers;
+
+        Definition(final ImmutableResourceCost resourceCost, final int maxHealth, final int armor, final int viewRange,
+                   final Set<LevelType> supportedLayers) {
+            super( resourceCost );
+
+            this.maxHealth = maxHealth;
+            this.armor = armor;
+            this.viewRange = viewRange;
+            this.supportedLayers = ImmutableSet.copyOf( supportedLayers );
+        }
+
+        @Override
+        public PublicModuleType<IBaseModule> getType() {
+            return PublicModuleType.BASE;
+        }
+
+        public int getMaxHealth() {
+            return maxHealth;
+        }
+
+        public int getArmor() {
+            return armor;
+        }
+
+        public int getViewRange() {
+            return viewRange;
+        }
+
+        public ImmutableSet<LevelType> getSupportedLayers() {
+            return supportedLayers;
+        }
+
+        @Override
+        BaseModule create() {
+            return new BaseModule( this );
+        }
+    }
+
+
     @SuppressWarnings({ "ParameterHidesMemberVariable", "InnerClassFieldHidesOuterClassField" })
     static class Builder0 {
 
@@ -203,7 +268,7 @@ public class BaseModule extends Module implements IBaseModule, IBaseModuleContro
                     }
 
                     BaseModule supportedLayers(final ImmutableSet<LevelType> supportedLayers) {
-                        return new BaseModule( resourceCost, maxHealth, armor, viewRange, supportedLayers );
+                        return new Definition( resourceCost, maxHealth, armor, viewRange, supportedLayers ).create();
                     }
                 }
             }
@@ -0,0 +1,122 @@
+package com.lyndir.omicron.api;
+
+import com.google.common.collect.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+
+/**
+ * Resolves the shots fired by weapons, either as soon as they're fired or all at once when the turn ends.
+ * <p>
+ * When combat is simultaneous, the shots of a turn don't depend on who fires first: a unit that is destroyed by the shots of a turn still
+ * fires its own shots of that turn and all units are damaged as they were when the turn ended.  The damage of each shot only depends on
+ * the random seed it was given when it was fired, so the shots are computed in parallel and the results are committed to the targets in
+ * a fixed order.
+ *
+ * @author lhunath, 2014-08-18
+ */
+class Combat {
+
+    private static final Random RANDOM    = new Random();
+    private static final int    NO_TARGET = -1;
+
+    private final Game.CombatResolution resolution;
+    private final List<Order>           orders = Lists.newArrayList();
+
+    Combat(final Game.CombatResolution resolution) {
+        this.resolution = resolution;
+    }
+
+    /**
+     * Fire shots at the object on a tile.
+     *
+     * @param shots The amount of shots the weapon fires at the tile.
+     */
+    void fire(final WeaponModule weapon, final Tile target, final int shots) {
+        if (resolution == Game.CombatResolution.SIMULTANEOUS) {
+            orders.add( new Order( weapon.getDefinition(), target, shots, RANDOM.nextLong() ) );
+            return;
+        }
+
+        Optional<GameObject> targetGameObject = target.findContents();
+        if (targetGameObject.isPresent()) {
+            int[] damages = new int[shots];
+            for (int shot = 0; shot < damages.length; ++shot)
+                damages[shot] = weapon.getDefinition().getFirePower() + RANDOM.nextInt( weapon.getDefinition().getVariance() );
+
+            targetGameObject.get().onModule( ModuleType.BASE, 0, module -> {
+                module.addDamage( damages );
+                return Void.TYPE;
+            } );
+        }
+    }
+
+    /**
+     * Apply the damage of all shots fired since the last resolution.  Does nothing when combat is immediate.
+     */
+    void resolve() {
+        ImmutableList<Order> pending = ImmutableList.copyOf( orders );
+        orders.clear();
+        if (pending.isEmpty())
+            return;
+
+        // Find the targets as they are now, in the order they were first fired at.
+        Map<BaseModule, Integer> targetIndexes = Maps.newLinkedHashMap();
+        int[] targetOfOrder = new int[pending.size()];
+        for (int o = 0; o < pending.size(); ++o) {
+            Optional<BaseModule> target = pending.get( o ).target.findContents() //
+                                                                 .flatMap( gameObject -> gameObject.getModule( ModuleType.BASE, 0 ) );
+            if (!target.isPresent()) {
+                targetOfOrder[o] = NO_TARGET;
+                continue;
+            }
+
+            Integer targetIndex = targetIndexes.get( target.get() );
+            if (targetIndex == null)
+                targetIndexes.put( target.get(), targetIndex = targetIndexes.size() );
+            targetOfOrder[o] = targetIndex;
+        }
+        ImmutableList<BaseModule> targets = ImmutableList.copyOf( targetIndexes.keySet() );
+        int[] armor = targets.stream().mapToInt( BaseModule::getArmor ).toArray();
+
+        // Accumulate the damage per target.  Sums don't depend on the order they're added in, so the orders can be computed in parallel.
+        AtomicIntegerArray damage = new AtomicIntegerArray( targets.size() );
+        IntStream.range( 0, pending.size() ).parallel().forEach( o -> {
+            int targetIndex = targetOfOrder[o];
+            if (targetIndex != NO_TARGET)
+                damage.addAndGet( targetIndex, pending.get( o ).damage( armor[targetIndex] ) );
+        } );
+
+        // Commit the damage, destroying targets and notifying listeners in the order the targets were first fired at.
+        for (int t = 0; t < targets.size(); ++t)
+            targets.get( t ).takeDamage( damage.get( t ) );
+    }
+
+    private static class Order {
+
+        private final WeaponModule.Definition weapon;
+        private final Tile                    target;
+        private final int                     shots;
+        private final long                    seed;
+
+        Order(final WeaponModule.Definition weapon, final Tile target, final int shots, final long seed) {
+            this.weapon = weapon;
+            this.target = target;
+            this.shots = shots;
+            this.seed = seed;
+        }
+
+        /**
+         * @return The damage the order's shots do to a target after its armor has absorbed its part of each shot.
+         */
+        int damage(final int armor) {
+            SplittableRandom random = new SplittableRandom( seed );
+            int damage = 0;
+            for (int shot = 0; shot < shots; ++shot)
+                damage += Math.max( 0, weapon.getFirePower() + random.nextInt( weapon.getVariance() ) - armor );
+
+            return damage;
+        }
+    }
+}
@@ -36,8 +36,7 @@ import javax.annotation.Nullable;
 
 public class ConstructorModule extends Module implements IConstructorModule, IConstructorModuleController {
 
-    private final int           buildSpeed;
-    private final ModuleType<?> buildsModule;
+    private final Definition definition;
 
     private boolean resourceConstrained;
     private int     remainingSpeed;
@@ -45,11 +44,8 @@ public class ConstructorModule extends Module implements IConstructorModule, ICo
     @Nullable
     private GameObject target;
 
-    protected ConstructorModule(final ImmutableResourceCost resourceCost, final int buildSpeed, final ModuleType<?> buildsModule) {
-        super( resourceCost );
-
-        this.buildSpeed = buildSpeed;
-        this.buildsModule = buildsModule;
+    protected ConstructorModule(final Definition definition) {
+        this.definition = definition;
     }
 
     static Builder0 createWithStandardResourceCost() {
@@ -63,7 +59,7 @@ public class ConstructorModule extends Module implements IConstructorModule, ICo
     @Override
     protected void onReset() {
         resourceConstrained = false;
-        remainingSpeed = buildSpeed;
+        remainingSpeed = definition.getBuildSpeed();
     }
 
     @Override
@@ -146,14 +142,19 @@ public class ConstructorModule extends Module implements IConstructorModule, ICo
                 .onConstructorWorked( this, remainingSpeedChange.to( remainingSpeed ) );
     }
 
+    @Override
+    public Definition getDefinition() {
+        return definition;
+    }
+
     @Override
     public ModuleType<?> getBuildsModule() {
-        return buildsModule;
+        return definition.getBuildsModule();
     }
 
     @Override
     public int getBuildSpeed() {
-        return buildSpeed;
+        return definition.getBuildSpeed();
     }
 
     @Override
@@ -229,20 +230,19 @@ public class ConstructorModule extends Module implements IConstructorModule, ICo
     public static class ConstructionSite extends GameObject implements IConstructionSite {
 
         private final UnitType constructionUnitType;
-        private final Map<PublicModuleType<?>, Integer> remainingWork = Collections.synchronizedMap(
-                Maps.<PublicModuleType<?>, Integer>newHashMap() );
-        private final List<? extends Module> constructionModules;
+        private final Map<PublicModuleType<?>, Integer> remainingWork = Maps.newHashMap();
+        private final List<? extends Module.Definition<?>> constructionModuleDefinitions;
 
         private ConstructionSite(@Nonnull final UnitType constructionUnitType, @Nonnull final Game game, @Nonnull final Player owner,
                                  final Tile location) {
             super( UnitTypes.CONSTRUCTION, game, owner, location );
 
             this.constructionUnitType = constructionUnitType;
-            constructionModules = constructionUnitType.createModules();
+            constructionModuleDefinitions = constructionUnitType.getModuleDefinitions();
 
-            for (final Module module : constructionModules)
-                remainingWork.put( module.getType(),
-                                   ifNotNullElse( remainingWork.get( module.getType() ), 0 ) + constructionUnitType.getConstructionWork() );
+            for (final Module.Definition<?> moduleDefinition : constructionModuleDefinitions)
+                remainingWork.put( moduleDefinition.getType(), ifNotNullElse( remainingWork.get( moduleDefinition.getType() ), 0 )
+                                                               + constructionUnitType.getConstructionWork() );
         }
 
         @Override
@@ -253,18 +253,19 @@ public class ConstructorModule extends Module implements IConstructorModule, ICo
         @Override
         public ImmutableResourceCost getRemainingResourceCost() {
             MutableResourceCost remainingResourceCost = ResourceCost.mutable();
-            for (final Module constructionModule : constructionModules)
-                remainingResourceCost.add(
-                        constructionModule.getResourceCost().multiply( getRemainingWork( constructionModule.getType() ) ) );
+            for (final Module.Definition<?> constructionModuleDefinition : constructionModuleDefinitions)
+                remainingResourceCost.add( constructionModuleDefinition.getResourceCost().multiply(
+                        getRemainingWork( constructionModuleDefinition.getType() ) ) );
 
             return ResourceCost.immutable( remainingResourceCost );
         }
 
         @Override
         public Optional<ImmutableResourceCost> getResourceCostToPerformWork(final PublicModuleType<?> moduleType) {
-            for (final Module constructionModule : constructionModules)
-                if (constructionModule.getType().equals( moduleType ) && getRemainingWork( constructionModule.getType() ) > 0)
-                    return Optional.of( constructionModule.getResourceCost() );
+            for (final Module.Definition<?> constructionModuleDefinition : constructionModuleDefinitions)
+                if (constructionModuleDefinition.getType().equals( moduleType )
+                    && getRemainingWork( constructionModuleDefinition.getType() ) > 0)
+                    return Optional.of( constructionModuleDefinition.getResourceCost() );
 
             return Optional.empty();
         }
@@ -339,17 +340,47 @@ public class ConstructorModule extends Module implements IConstructorModule, ICo
                     }
 
                     // Check if we managed to complete all the work.
-                    synchronized (remainingWork) {
-                        if (FluentIterable.from( remainingWork.values() ).filter( remainingWork1 -> remainingWork1 > 0 ).isEmpty())
-                            // No more work remaining; create the constructed unit.
-                            replaceWith( new GameObject( constructionUnitType, getGame(), getOwner().get(), getLocation().get() ) );
-                    }
+                    if (FluentIterable.from( remainingWork.values() ).filter( remainingWork1 -> remainingWork1 > 0 ).isEmpty())
+                        // No more work remaining; create the constructed unit.
+                        replaceWith( new GameObject( constructionUnitType, getGame(), getOwner().get(), getLocation().get() ) );
                 }
             };
         }
     }
 
 
+    public static class Definition extends Module.Definition<ConstructorModule> {
+
+        private final int           buildSpeed;
+        private final ModuleType<?> buildsModule;
+
+        Definition(final ImmutableResourceCost resourceCost, final int buildSpeed, final ModuleType<?> buildsModule) {
+            super( resourceCost );
+
+            this.buildSpeed = buildSpeed;
+            this.buildsModule = buildsModule;
+        }
+
+        @Override
+        public PublicModuleType<IConstructorModule> getType() {
+            return PublicModuleType.CONSTRUCTOR;
+        }
+
+        public int getBuildSpeed() {
+            return buildSpeed;
+        }
+
+        public ModuleType<?> getBuildsModule() {
+            return buildsModule;
+        }
+
+        @Override
+        ConstructorModule create() {
+            return new ConstructorModule( this );
+        }
+    }
+
+
     @SuppressWarnings({ "ParameterHidesMemberVariable", "InnerClassFieldHidesOuterClassField" })
     static class Builder0 {
 
@@ -372,7 +403,7 @@ public class ConstructorModule extends Module implements IConstructorModule, ICo
             }
 
             ConstructorModule buildsModule(final ModuleType<?> buildsModule) {
-                return new ConstructorModule( resourceCost, buildSpeed, buildsModule );
+                return new Definition( resourceCost, buildSpeed, buildsModule ).create();
             }
         }
     }
@@ -5,14 +5,11 @@ import com.google.common.base.Preconditions;
 
 public class ContainerModule extends Module implements IContainerModule, IContainerModuleController {
 
-    private final ResourceType resourceType;
-    private final int          capacity;
-    private       int          stock;
-
-    protected ContainerModule(final ImmutableResourceCost resourceCost, final ResourceType resourceType, final int capacity) {
-        super( resourceCost );
-        this.resourceType = resourceType;
-        this.capacity = capacity;
+    private final Definition definition;
+    private       int        stock;
+
+    protected ContainerModule(final Definition definition) {
+        this.definition = definition;
     }
 
     static Builder0 createWithStandardResourceCost() {
@@ -23,18 +20,23 @@ public class ContainerModule extends Module implements IContainerModule, IContai
         return new Builder0( ModuleType.CONTAINER.getStandardCost().add( resourceCost ) );
     }
 
+    @Override
+    public Definition getDefinition() {
+        return definition;
+    }
+
     @Override
     public ResourceType getResourceType() {
         assertObservable();
 
-        return resourceType;
+        return definition.getResourceType();
     }
 
     @Override
     public int getCapacity() {
         assertObservable();
 
-        return capacity;
+        return definition.getCapacity();
     }
 
     @Override
@@ -56,7 +58,7 @@ public class ContainerModule extends Module implements IContainerModule, IContai
         Preconditions.checkArgument( amount >= 0, "Amount of stock to add must be positive." );
         ChangeInt.From stockChange = ChangeInt.from( stock );
 
-        int newStock = Math.min( stock + amount, capacity );
+        int newStock = Math.min( stock + amount, definition.getCapacity() );
         int stocked = newStock - stock;
         stock = newStock;
 
@@ -106,6 +108,38 @@ public class ContainerModule extends Module implements IContainerModule, IContai
         return this;
     }
 
+    public static class Definition extends Module.Definition<ContainerModule> {
+
+        private final ResourceType resourceType;
+        private final int          capacity;
+
+        Definition(final ImmutableResourceCost resourceCost, final ResourceType resourceType, final int capacity) {
+            super( resourceCost );
+
+            this.resourceType = resourceType;
+            this.capacity = capacity;
+        }
+
+        @Override
+        public PublicModuleType<IContainerModule> getType() {
+            return PublicModuleType.CONTAINER;
+        }
+
+        public ResourceType getResourceType() {
+            return resourceType;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        @Override
+        ContainerModule create() {
+            return new ContainerModule( this );
+        }
+    }
+
+
     @SuppressWarnings({ "ParameterHidesMemberVariable", "InnerClassFieldHidesOuterClassField" })
     static class Builder0 {
 
@@ -128,7 +162,7 @@ public class ContainerModule extends Module implements IContainerModule, IContai
             }
 
             ContainerModule capacity(final int capacity) {
-                return new ContainerModule( resourceCost, resourceType, capacity );
+                return new Definition( resourceCost, resourceType, capacity ).create();
             }
         }
     }
@@ -0,0 +1,99 @@
+package com.lyndir.omicron.api;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Optional;
+
+
+/**
+ * Tracks which players have discovered each other and the turn in which they first made contact.
+ * <p>
+ * A player discovers another player as soon as one of its units sees one of the other player's units.  Discoveries are never undone.
+ * The matrix is updated whenever a unit is placed, moves or changes owner, so looking up a discovery never scans the map.
+ *
+ * @author lhunath, 2014-08-18
+ */
+class Discovery {
+
+    private static final int UNDISCOVERED = -1;
+
+    private final Game                          game;
+    private final ImmutableList<Player>         players;
+    private final ImmutableMap<Player, Integer> playerIndexes;
+    private final int[][]                       firstContact;
+    private       int                           undiscovered;
+
+    Discovery(final Game game, final ImmutableList<Player> players) {
+        this.game = game;
+        this.players = players;
+
+        ImmutableMap.Builder<Player, Integer> playerIndexesBuilder = ImmutableMap.builder();
+        for (int p = 0; p < players.size(); ++p)
+            playerIndexesBuilder.put( players.get( p ), p );
+        playerIndexes = playerIndexesBuilder.build();
+
+        firstContact = new int[players.size()][players.size()];
+        for (final int[] observed : firstContact)
+            Arrays.fill( observed, UNDISCOVERED );
+        undiscovered = players.size() * (players.size() - 1);
+    }
+
+    /**
+     * @return The turn in which the observer first saw one of the observed player's units, or absent if it hasn't yet.
+     */
+    Optional<Integer> firstContact(final Player observer, final Player observed) {
+        Integer observerIndex = playerIndexes.get( observer ), observedIndex = playerIndexes.get( observed );
+        if (observerIndex == null || observedIndex == null || firstContact[observerIndex][observedIndex] == UNDISCOVERED)
+            return Optional.empty();
+
+        return Optional.of( firstContact[observerIndex][observedIndex] );
+    }
+
+    /**
+     * Record the discoveries made by the game object's new location or owner: the object may see other players' units and other
+     * players' units may see it.
+     */
+    void update(final GameObject gameObject) {
+        if (undiscovered == 0 || !gameObject.getOwner().isPresent())
+            return;
+
+        Security.godRun( () -> {
+            int ownerIndex = playerIndexes.get( gameObject.getOwner().get() );
+            Tile location = gameObject.getLocation().get();
+            int viewRange = viewRange( gameObject );
+
+            for (int otherIndex = 0; otherIndex < players.size(); ++otherIndex) {
+                boolean seesOther = otherIndex != ownerIndex && firstContact[ownerIndex][otherIndex] == UNDISCOVERED;
+                boolean seenByOther = otherIndex != ownerIndex && firstContact[otherIndex][ownerIndex] == UNDISCOVERED;
+
+                for (final GameObject otherObject : players.get( otherIndex ).getObjects()) {
+                    if (!seesOther && !seenByOther)
+                        break;
+
+                    double distance = location.getPosition().distanceTo( otherObject.getLocation().get().getPosition() );
+                    if (seesOther && distance <= viewRange) {
+                        discover( ownerIndex, otherIndex );
+                        seesOther = false;
+                    }
+                    if (seenByOther && distance <= viewRange( otherObject )) {
+                        discover( otherIndex, ownerIndex );
+                        seenByOther = false;
+                    }
+                }
+            }
+        } );
+    }
+
+    private void discover(final int observerIndex, final int observedIndex) {
+        firstContact[observerIndex][observedIndex] = game.getCurrentTurn().getNumber();
+        --undiscovered;
+    }
+
+    /**
+     * @return The distance within which the object can see, or a negative number if it can't see at all.
+     */
+    private static int viewRange(final GameObject gameObject) {
+        return gameObject.onModuleElse( PublicModuleType.BASE, 0, -1, IBaseModule::getViewRange );
+    }
+}
@@ -2,6 +2,8 @@ package com.lyndir.omicron.api;
 
 import com.lyndir.lhunath.opal.system.logging.Logger;
 import com.lyndir.lhunath.opal.system.util.*;
+import com.lyndir.omicron.api.trace.Trace;
+import com.lyndir.omicron.api.trace.TracePoint;
 import com.lyndir.omicron.api.util.Maybe;
 import com.lyndir.omicron.api.util.PathUtils;
 import java.util.Optional;
@@ -14,14 +16,10 @@ public class ExtractorModule extends Module implements IExtractorModule, IExtrac
     @SuppressWarnings("UnusedDeclaration")
     private static final Logger logger = Logger.get( ExtractorModule.class );
 
-    private final ResourceType resourceType;
-    private final int          speed;
+    private final Definition definition;
 
-    protected ExtractorModule(final ImmutableResourceCost resourceCost, final ResourceType resourceType, final int speed) {
-        super( resourceCost );
-
-        this.resourceType = resourceType;
-        this.speed = speed;
+    protected ExtractorModule(final Definition definition) {
+        this.definition = definition;
     }
 
     static Builder0 createWithStandardResourceCost() {
@@ -32,18 +30,23 @@ public class ExtractorModule extends Module implements IExtractorModule, IExtrac
         return new Builder0( ModuleType.EXTRACTOR.getStandardCost().add( resourceCost ) );
     }
 
+    @Override
+    public Definition getDefinition() {
+        return definition;
+    }
+
     @Override
     public ResourceType getResourceType() {
         assertObservable();
 
-        return resourceType;
+        return definition.getResourceType();
     }
 
     @Override
     public int getSpeed() {
         assertObservable();
 
-        return speed;
+        return definition.getSpeed();
     }
 
     @Override
@@ -53,13 +56,14 @@ public class ExtractorModule extends Module implements IExtractorModule, IExtrac
     @Override
     protected void onNewTurn() {
         // Mine some resources.
+        ResourceType resourceType = definition.getResourceType();
         Tile location = getGameObject().getLocation().get();
         Maybe<Integer> availableResources = location.getResourceQuantity( resourceType );
         if (!availableResources.isPresent())
             // No resources left to mine.
             return;
 
-        int newAvailableResources = Math.max( 0, availableResources.get() - speed );
+        int newAvailableResources = Math.max( 0, availableResources.get() - definition.getSpeed() );
         int minedResources = availableResources.get() - newAvailableResources;
         if (!availableResources.isPresent())
             // No speed left for mining.
@@ -100,7 +104,9 @@ public class ExtractorModule extends Module implements IExtractorModule, IExtrac
 
         // Update the amount of resources left in the tile after this turn's extraction.
         location.setResourceQuantity( resourceType, newAvailableResources );
-        logger.trc( "unstocked resources: %d %s, left in tile: %d", minedResources, resourceType, newAvailableResources );
+        Trace.record( TracePoint.RESOURCES_UNSTOCKED, minedResources, resourceType.ordinal(), newAvailableResources );
+        if (Trace.LOGGING)
+            logger.trc( "unstocked resources: %d %s, left in tile: %d", minedResources, resourceType, newAvailableResources );
     }
 
     @Override
@@ -113,6 +119,38 @@ public class ExtractorModule extends Module implements IExtractorModule, IExtrac
         return this;
     }
 
+    public static class Definition extends Module.Definition<ExtractorModule> {
+
+        private final ResourceType resourceType;
+        private final int          speed;
+
+        Definition(final ImmutableResourceCost resourceCost, final ResourceType resourceType, final int speed) {
+            super( resourceCost );
+
+            this.resourceType = resourceType;
+            this.speed = speed;
+        }
+
+        @Override
+        public PublicModuleType<IExtractorModule> getType() {
+            return PublicModuleType.EXTRACTOR;
+        }
+
+        public ResourceType getResourceType() {
+            return resourceType;
+        }
+
+        public int getSpeed() {
+            return speed;
+        }
+
+        @Override
+        ExtractorModule create() {
+            return new ExtractorModule( this );
+        }
+    }
+
+
     @SuppressWarnings({ "ParameterHidesMemberVariable", "InnerClassFieldHidesOuterClassField" })
     static class Builder0 {
 
@@ -135,7 +173,7 @@ public class ExtractorModule extends Module implements IExtractorModule, IExtrac
             }
 
             ExtractorModule speed(final int speed) {
-                return new ExtractorModule( resourceCost, resourceType, speed );
+                return new Definition( resourceCost, resourceType, speed ).create();
             }
         }
     }
@@ -0,0 +1,80 @@
+package com.lyndir.omicron.api;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.lyndir.omicron.api.metrics.Counter;
+import com.lyndir.omicron.api.metrics.Metrics;
+import com.lyndir.omicron.api.view.FlowField;
+import com.lyndir.omicron.api.view.ReachableArea;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+
+
+/**
+ * Builds and caches the flow fields toward the tiles that units are heading for.
+ * <p>
+ * A field covers the level's terrain only, the objects on its tiles are stepped around by the units that follow it.  Fields are
+ * therefore the same for all players and remain valid while objects move, so units heading for the same target share one search.
+ * The terrain of a level never changes, so fields are only dropped to make room for the most recently used ones.
+ *
+ * @author lhunath, 2014-08-18
+ */
+class FlowFields {
+
+    private static final int MAX_FIELDS = 64;
+
+    private static final Counter builds = Metrics.counter( "omicron_flow_field_builds_total", "Flow fields built from scratch." );
+
+    private final Cache<Tile, FlowField> fields = CacheBuilder.newBuilder().maximumSize( MAX_FIELDS ).build();
+
+    /**
+     * @return The flow field toward the target over the terrain of its level.
+     */
+    FlowField get(final Tile target) {
+        try {
+            return fields.get( target, () -> build( target ) );
+        }
+        catch (final ExecutionException e) {
+            throw new IllegalStateException( "Couldn't build flow field toward: " + target, e.getCause() );
+        }
+    }
+
+    /**
+     * Find the way to the target from every tile of its level with a breadth-first search outward from the target.  Every step within a
+     * level costs the same, so tiles are reached in the order of their distance and each tile's next step is final as soon as it's
+     * reached.  The contents of the tiles are ignored.
+     */
+    private static FlowField build(final Tile target) {
+        builds.increment();
+
+        Level level = target.getLevel();
+        int tiles = level.getSize().getWidth() * level.getSize().getHeight();
+        int[] next = new int[tiles], steps = new int[tiles], queue = new int[tiles];
+        Arrays.fill( next, FlowField.UNREACHABLE );
+        BitSet reached = new BitSet( tiles );
+        List<ITile> queueTiles = new ArrayList<>();
+
+        int head = 0, tail = 0;
+        queue[tail++] = ReachableArea.pack( level, target.getPosition() );
+        next[queue[0]] = queue[0];
+        queueTiles.add( target );
+        reached.set( queue[0] );
+
+        while (head < tail) {
+            int position = queue[head];
+            for (final ITile neighbour : queueTiles.get( head++ ).neighbours()) {
+                int neighbourPosition = ReachableArea.pack( level, neighbour.getPosition() );
+                if (reached.get( neighbourPosition ))
+                    continue;
+                reached.set( neighbourPosition );
+
+                next[neighbourPosition] = position;
+                steps[neighbourPosition] = steps[position] + 1;
+                queue[tail++] = neighbourPosition;
+                queueTiles.add( neighbour );
+            }
+        }
+
+        return new FlowField( level, target, next, steps );
+    }
+}
@@ -6,10 +6,13 @@ import com.lyndir.lhunath.opal.system.error.AlreadyCheckedException;
 import com.lyndir.lhunath.opal.system.logging.Logger;
 import com.lyndir.lhunath.opal.system.util.*;
 import com.lyndir.omicron.api.error.NotAuthenticatedException;
+import com.lyndir.omicron.api.metrics.Metrics;
+import com.lyndir.omicron.api.metrics.Timer;
+import com.lyndir.omicron.api.trace.Trace;
+import com.lyndir.omicron.api.trace.TracePoint;
 import com.lyndir.omicron.api.util.PathUtils;
 import java.util.*;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -28,15 +31,24 @@ public class Game extends MetaObject implements IGame {
 
     private static final Random RANDOM = new Random();
 
-    private final Deque<Turn> turns = new ConcurrentLinkedDeque<>();
+    private static final Timer worldGeneration = Metrics.timer( "omicron_world_generation_seconds",
+                                                                "Time taken to generate the levels, resources and units of a new game." );
+
+    private volatile ImmutableList<Turn> turns = ImmutableList.of( new Turn() );
 
     @ObjectMeta(ignoreFor = ObjectMeta.For.all)
     private final GameController gameController;
+    private final Mailbox        mailbox    = new Mailbox();
+    private final Discovery      discovery;
+    private final FlowFields     flowFields = new FlowFields();
+    private final SpatialIndex   spatialIndex;
+    private final Combat         combat;
+    private final Snapshots      snapshots;
 
     private final Size                  levelSize;
     private final ImmutableList<Level>  levels;
     private final ImmutableList<Player> players;
-    private final Set<Player> readyPlayers = Collections.synchronizedSet( new HashSet<>() );
+    private final Set<Player> readyPlayers = new HashSet<>();
     private boolean running;
 
     public static Builder builder() {
@@ -44,14 +56,19 @@ public class Game extends MetaObject implements IGame {
     }
 
     private Game(final Size levelSize, final Iterable<Player> players, final Stream<VictoryConditionType> victoryConditions,
-                 final Map<GameListener, Player> gameListeners, final GameResourceConfig resourceConfig, final GameUnitConfig unitConfig)
+                 final Map<GameListener, Player> gameListeners, final GameResourceConfig resourceConfig, final GameUnitConfig unitConfig,
+                 final CombatResolution combatResolution)
             throws NotAuthenticatedException {
-        turns.add( new Turn() );
+        long generationStart = worldGeneration.start();
         this.levelSize = levelSize;
         levels = ImmutableList.of( new Level( levelSize, LevelType.GROUND ), new Level( levelSize, LevelType.SKY ),
                                    new Level( levelSize, LevelType.SPACE ) );
+        spatialIndex = new SpatialIndex( levels );
+        combat = new Combat( combatResolution );
         this.players = ImmutableList.copyOf( players );
+        snapshots = new Snapshots( this );
         gameController = new GameController( this );
+        discovery = new Discovery( this, this.players );
 
         for (Iterator<VictoryConditionType> iterator = victoryConditions.iterator(); iterator.hasNext(); )
             iterator.next().install( this );
@@ -91,8 +108,11 @@ public class Game extends MetaObject implements IGame {
                         int tileResources = Math.min( remaining, RANDOM.nextInt( resourceConfig.quantityPerTile( resourceType ) ) );
                         Tile.cast( tile ).addResourceQuantity( resourceType, tileResources );
                         remaining -= tileResources;
-                        logger.trc( "Deposited %d %s at %s (%d left to deposit)", tileResources, resourceType, tile.getPosition(),
-                                    remaining );
+                        Trace.record( TracePoint.RESOURCES_DEPOSITED, tileResources, resourceType.ordinal(), //
+                                      tile.getPosition().getX(), tile.getPosition().getY() );
+                        if (Trace.LOGGING)
+                            logger.trc( "Deposited %d %s at %s (%d left to deposit)", tileResources, resourceType, tile.getPosition(),
+                                        remaining );
                     }
 
                     // Remember how much undistributed resource is left.
@@ -104,6 +124,9 @@ public class Game extends MetaObject implements IGame {
         // Give each player some units.
         for (final Player player : players)
             unitConfig.addUnits( this, player );
+
+        snapshots.publish();
+        worldGeneration.stop( generationStart );
     }
 
     @Override
@@ -121,16 +144,53 @@ public class Game extends MetaObject implements IGame {
         return gameController;
     }
 
+    Mailbox getMailbox() {
+        return mailbox;
+    }
+
+    Discovery getDiscovery() {
+        return discovery;
+    }
+
+    FlowFields getFlowFields() {
+        return flowFields;
+    }
+
+    SpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    Combat getCombat() {
+        return combat;
+    }
+
+    Snapshots getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * @return The most recently published snapshot of this game.  A new snapshot is published when a turn ends and after each command
+     * that changed the game.  Snapshots can be read from any thread.
+     *
+     * @see GameController#submit(Job)
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshots.get();
+    }
+
+    /**
+     * @return The turns so far.  The list is replaced rather than changed when a new turn begins, so it can be read from any thread.
+     */
     @Override
-    public Deque<Turn> getTurns() {
+    public ImmutableList<Turn> getTurns() {
         return turns;
     }
 
     Turn newTurn() {
         readyPlayers.clear();
 
-        Turn newTurn = new Turn( turns.getLast() );
-        turns.add( newTurn );
+        Turn newTurn = new Turn( getCurrentTurn() );
+        turns = ImmutableList.<Turn>builder().addAll( turns ).add( newTurn ).build();
         return newTurn;
     }
 
@@ -145,9 +205,7 @@ public class Game extends MetaObject implements IGame {
     }
 
     boolean setReady(final Player player) {
-        synchronized (readyPlayers) {
-            return readyPlayers.add( player ) && readyPlayers.containsAll( getPlayers() );
-        }
+        return readyPlayers.add( player ) && readyPlayers.containsAll( getPlayers() );
     }
 
     void setRunning(final boolean running) {
@@ -175,11 +233,12 @@ public class Game extends MetaObject implements IGame {
         private final List<Player>                     players           = Lists.newLinkedList();
         private final List<PublicVictoryConditionType> victoryConditions = Lists.newArrayList( PublicVictoryConditionType.values() );
 
-        private Size                 levelSize      = new Size( 200, 200 );
-        private int                  nextPlayerID   = 1;
-        private int                  totalPlayers   = 4;
-        private GameResourceConfig   resourceConfig = GameResourceConfigs.PLENTY;
-        private PublicGameUnitConfig unitConfig     = PublicGameUnitConfig.BASIC;
+        private Size                 levelSize        = new Size( 200, 200 );
+        private int                  nextPlayerID     = 1;
+        private int                  totalPlayers     = 4;
+        private GameResourceConfig   resourceConfig   = GameResourceConfigs.PLENTY;
+        private PublicGameUnitConfig unitConfig       = PublicGameUnitConfig.BASIC;
+        private CombatResolution     combatResolution = CombatResolution.IMMEDIATE;
 
         private Builder() {
         }
@@ -193,7 +252,7 @@ public class Game extends MetaObject implements IGame {
                                              Color.Template.randomColor(), Color.Template.randomColor() ) );
 
                 return new Game( levelSize, players, VictoryConditionType.cast( victoryConditions ), gameListeners, resourceConfig,
-                                 GameUnitConfig.cast( unitConfig ) );
+                                 GameUnitConfig.cast( unitConfig ), combatResolution );
             } );
         }
 
@@ -256,7 +315,6 @@ public class Game extends MetaObject implements IGame {
             return this;
         }
 
-        @Override
         public Builder addGameListener(final GameListener gameListener) {
             gameListeners.put( gameListener, Security.currentPlayer() );
 
@@ -291,6 +349,31 @@ public class Game extends MetaObject implements IGame {
         public int nextPlayerID() {
             return nextPlayerID++;
         }
+
+        public CombatResolution getCombatResolution() {
+            return combatResolution;
+        }
+
+        public Builder setCombatResolution(final CombatResolution combatResolution) {
+            this.combatResolution = combatResolution;
+
+            return this;
+        }
+    }
+
+
+    /**
+     * When the damage of the shots fired by weapons is applied.
+     */
+    public enum CombatResolution {
+        /**
+         * Shots do their damage as soon as they're fired.
+         */
+        IMMEDIATE,
+        /**
+         * Shots are held until the turn ends and then all do their damage at once, so the outcome doesn't depend on who fired first.
+         */
+        SIMULTANEOUS
     }
 
 
@@ -5,10 +5,18 @@ import com.google.common.collect.*;
 import com.lyndir.lhunath.opal.system.error.InternalInconsistencyException;
 import com.lyndir.lhunath.opal.system.logging.Logger;
 import com.lyndir.lhunath.opal.system.util.*;
-import com.lyndir.omicron.api.error.NotAuthenticatedException;
+import com.lyndir.omicron.api.error.*;
+import com.lyndir.omicron.api.metrics.Counter;
+import com.lyndir.omicron.api.metrics.Metrics;
+import com.lyndir.omicron.api.metrics.Timer;
+import com.lyndir.omicron.api.trace.Trace;
+import com.lyndir.omicron.api.trace.TracePoint;
 import com.lyndir.omicron.api.view.PlayerGameInfo;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -19,8 +27,31 @@ public class GameController implements IGameController {
     @SuppressWarnings("UnusedDeclaration")
     private static final Logger logger = Logger.get( GameController.class );
 
-    private final Game game;
-    private final Map<GameListener, Player> gameListeners = Collections.synchronizedMap( Maps.<GameListener, Player>newLinkedHashMap() );
+    private static final String TURN_PHASE_HELP = "Time taken by each phase of a turn rollover, per player for reset and players.";
+    private static final Timer  turnCombat      = Metrics.timer( "omicron_turn_phase_seconds", TURN_PHASE_HELP, "phase", "combat" );
+    private static final Timer  turnAdvance     = Metrics.timer( "omicron_turn_phase_seconds", TURN_PHASE_HELP, "phase", "advance" );
+    private static final Timer  turnReset       = Metrics.timer( "omicron_turn_phase_seconds", TURN_PHASE_HELP, "phase", "reset" );
+    private static final Timer  turnPlayers     = Metrics.timer( "omicron_turn_phase_seconds", TURN_PHASE_HELP, "phase", "players" );
+    private static final Timer  turnListeners   = Metrics.timer( "omicron_turn_phase_seconds", TURN_PHASE_HELP, "phase", "listeners" );
+
+    private static final ImmutableMap<Method, Counter> eventsFired;
+
+    static {
+        ImmutableMap.Builder<Method, Counter> eventsFiredBuilder = ImmutableMap.builder();
+        for (final Method method : GameListener.class.getDeclaredMethods())
+            eventsFiredBuilder.put( method, Metrics.counter( "omicron_events_fired_total", "Game events fired, by GameListener method.", //
+                                                             "method", method.getName() ) );
+        eventsFired = eventsFiredBuilder.build();
+    }
+
+    private final Game                                       game;
+    // Listeners are registered from any thread, so each change publishes a new map instead of changing the one being fired to.
+    private final AtomicReference<Map<GameListener, Player>> gameListeners = new AtomicReference<>( ImmutableMap.of() );
+    // The proxy that fires to all listeners holds no state of its own, so it's created once instead of for every event.
+    private final GameListener                               fireAll       = newFireAllProxy();
+    // Notifications held back while a batch runs.
+    @Nullable
+    private List<Runnable> deferredEvents;
 
     GameController(final Game game) {
         this.game = game;
@@ -45,17 +76,89 @@ public class GameController implements IGameController {
     }
 
     void addInternalGameListener(final GameListener gameListener) {
-        gameListeners.put( gameListener, null );
+        updateGameListeners( listeners -> listeners.put( gameListener, null ) );
     }
 
     void addGameListeners(final Map<GameListener, Player> newGameListeners) {
-        gameListeners.putAll( newGameListeners );
+        updateGameListeners( listeners -> listeners.putAll( newGameListeners ) );
     }
 
     @Override
     public void addGameListener(final GameListener gameListener)
             throws NotAuthenticatedException {
-        gameListeners.put( gameListener, Security.currentPlayer() );
+        Player owner = Security.currentPlayer();
+        updateGameListeners( listeners -> listeners.put( gameListener, owner ) );
+    }
+
+    /**
+     * Stop notifying a game listener of events.
+     *
+     * @return true if the listener was registered by the current player and has been removed.
+     */
+    public boolean removeGameListener(final GameListener gameListener)
+            throws NotAuthenticatedException {
+        Player owner = Security.currentPlayer();
+        Map<GameListener, Player> previousListeners = updateGameListeners( listeners -> listeners.remove( gameListener, owner ) );
+        return previousListeners.containsKey( gameListener ) && Objects.equals( previousListeners.get( gameListener ), owner );
+    }
+
+    /**
+     * Publish a copy of the game listeners with the change applied.
+     *
+     * @return The game listeners that were replaced.
+     */
+    private Map<GameListener, Player> updateGameListeners(final Consumer<Map<GameListener, Player>> change) {
+        return gameListeners.getAndUpdate( listeners -> {
+            Map<GameListener, Player> updatedListeners = Maps.newLinkedHashMap( listeners );
+            change.accept( updatedListeners );
+            return Collections.unmodifiableMap( updatedListeners );
+        } );
+    }
+
+    /**
+     * Send a command to the game.  The command runs after all commands sent to the game before it, as the player that sent it, and never
+     * at the same time as any other work on the game.
+     *
+     * @return The outcome of the command, once it has run.
+     */
+    public <R> CompletableFuture<R> submit(final Job<R> command)
+            throws NotAuthenticatedException {
+        return game.getMailbox().submit( asSender( command ) );
+    }
+
+    /**
+     * Send a command to the game and wait for it to run.
+     * <p>
+     * Commands of one game can't wait for another game, since that would hold up a lane that the other game may need.  They should
+     * {@link #submit(Job)} their command instead.
+     *
+     * @return The outcome of the command.
+     *
+     * @throws IllegalStateException If called from a command of another game.
+     *
+     * @see #submit(Job)
+     */
+    public <R> R call(final Job<R> command)
+            throws NotAuthenticatedException {
+        return game.getMailbox().call( asSender( command ) );
+    }
+
+    /**
+     * @return A job that runs the command in this game as the current player, or as god if it's being run as god.  The game is only
+     * active on the lane while the command runs, so lanes don't keep the last game they ran reachable.
+     */
+    private <R> Job<R> asSender(final Job<R> command)
+            throws NotAuthenticatedException {
+        @Nullable
+        Player sender = Security.isGod()? null: Security.currentPlayer();
+        return () -> Security.gameRun( game, () -> {
+            try {
+                return sender == null? Security.godRun( command ): Security.playerRun( sender, command );
+            }
+            finally {
+                game.getSnapshots().publish();
+            }
+        } );
     }
 
     /**
@@ -68,9 +171,13 @@ public class GameController implements IGameController {
     @Override
     public PlayerGameInfo getPlayerGameInfo(final IPlayer player)
             throws NotAuthenticatedException {
-        if (player.observableTiles().iterator().hasNext())
+        if (Security.isGod() || player.isCurrentPlayer())
             return PlayerGameInfo.discovered( player, player.getScore() );
 
+        Optional<Integer> firstContact = game.getDiscovery().firstContact( Security.currentPlayer(), Player.cast( player ) );
+        if (firstContact.isPresent())
+            return PlayerGameInfo.discovered( player, player.getScore(), firstContact.get() );
+
         return PlayerGameInfo.undiscovered( player );
     }
 
@@ -95,6 +202,19 @@ public class GameController implements IGameController {
         return setReady( Player.cast( Security.currentPlayer() ) );
     }
 
+    /**
+     * Plan the movement of a group of units together.  Units plan around the targets of the units planned before them and through the
+     * tiles those units leave, so units that stand in each other's way are moved in an order that lets them all pass.
+     *
+     * @param targets The tile each unit should move to.
+     *
+     * @return The movements of the units that can reach their target, in the order they will be executed.
+     */
+    public GroupMovement groupMovement(final Map<? extends IGameObject, ? extends ITile> targets)
+            throws NotAuthenticatedException, NotOwnedException, NotObservableException {
+        return GroupMovement.plan( this, targets );
+    }
+
     /**
      * Indicate that the given player is ready with his turn.
      *
@@ -134,19 +254,34 @@ public class GameController implements IGameController {
 
     private void fireNewTurn() {
         onNewTurn();
+        game.getSnapshots().publish();
 
-        fire().onNewTurn( game.getTurns().getLast() );
+        long listenersStart = turnListeners.start();
+        fire().onNewTurn( game.getCurrentTurn() );
+        turnListeners.stop( listenersStart );
     }
 
     protected void onNewTurn() {
+        // Resolve the shots of the turn that ended before anyone can act in the new turn.
+        long combatStart = turnCombat.start();
+        game.getCombat().resolve();
+        turnCombat.stop( combatStart );
+
+        long advanceStart = turnAdvance.start();
         game.newTurn();
         if (!game.isRunning())
             start();
+        turnAdvance.stop( advanceStart );
 
         for (final Player player : game.getPlayers())
             Security.playerRun( player, () -> {
+                long resetStart = turnReset.start();
                 player.getController().fireReset();
+                turnReset.stop( resetStart );
+
+                long playerStart = turnPlayers.start();
                 player.getController().fireNewTurn();
+                turnPlayers.stop( playerStart );
             } );
     }
 
@@ -154,22 +289,23 @@ public class GameController implements IGameController {
      * Get a game listener proxy to call an event on that should be fired for all game listeners.
      */
     GameListener fire() {
+        return fireAll;
+    }
+
+    private GameListener newFireAllProxy() {
         return TypeUtils.newProxyInstance( GameListener.class, (proxy, method, args) -> {
-            synchronized (gameListeners) {
-                if (method.getDeclaringClass() == Object.class)
-                    return Void.TYPE;
+            if (method.getDeclaringClass() == Object.class)
+                return Void.TYPE;
 
+            Map<GameListener, Player> listeners = gameListeners.get();
+            countFired( method );
+            Trace.record( TracePoint.GAME_EVENT_FIRED, Trace.gameEvent( method ), listeners.size() );
+            if (Trace.LOGGING)
                 logger.dbg( "%s: %s", method.getName(), ObjectUtils.describe( args ) );
-                for (final Map.Entry<GameListener, Player> gameListenerEntry : gameListeners.entrySet()) {
-                    Player gameListenerOwner = gameListenerEntry.getValue();
-                    if (gameListenerOwner == null)
-                        Security.godRun( newGameListenerJob( gameListenerEntry.getKey(), method, args ) );
-                    else
-                        Security.playerRun( gameListenerOwner, newGameListenerJob( gameListenerEntry.getKey(), method, args ) );
-                }
+            for (final Map.Entry<GameListener, Player> gameListenerEntry : listeners.entrySet())
+                dispatch( gameListenerEntry.getValue(), newGameListenerJob( gameListenerEntry.getKey(), method, args ) );
 
-                return Void.TYPE;
-            }
+            return Void.TYPE;
         } );
     }
 
@@ -181,21 +317,21 @@ public class GameController implements IGameController {
      */
     GameListener fireIfPlayer(@Nonnull final PredicateNN<IPlayer> playerCondition) {
         return TypeUtils.newProxyInstance( GameListener.class, (proxy, method, args) -> {
-            synchronized (gameListeners) {
-                if (method.getDeclaringClass() == Object.class)
-                    return Void.TYPE;
+            if (method.getDeclaringClass() == Object.class)
+                return Void.TYPE;
 
+            Map<GameListener, Player> listeners = gameListeners.get();
+            countFired( method );
+            Trace.record( TracePoint.GAME_EVENT_FIRED, Trace.gameEvent( method ), listeners.size() );
+            if (Trace.LOGGING)
                 logger.dbg( "%s: %s", method.getName(), ObjectUtils.describe( args ) );
-                for (final Map.Entry<GameListener, Player> gameListenerEntry : gameListeners.entrySet()) {
-                    Player gameListenerOwner = gameListenerEntry.getValue();
-                    if (gameListenerOwner == null)
-                        Security.godRun( newGameListenerJob( gameListenerEntry.getKey(), method, args ) );
-                    else if (playerCondition.apply( gameListenerOwner ))
-                        Security.playerRun( gameListenerOwner, newGameListenerJob( gameListenerEntry.getKey(), method, args ) );
-                }
-
-                return Void.TYPE;
+            for (final Map.Entry<GameListener, Player> gameListenerEntry : listeners.entrySet()) {
+                Player gameListenerOwner = gameListenerEntry.getValue();
+                if (gameListenerOwner == null || playerCondition.apply( gameListenerOwner ))
+                    dispatch( gameListenerOwner, newGameListenerJob( gameListenerEntry.getKey(), method, args ) );
             }
+
+            return Void.TYPE;
         } );
     }
 
@@ -219,6 +355,59 @@ public class GameController implements IGameController {
         return fireIfPlayer( player -> Security.godRun( () -> player.canObserve( gameObject ).isTrue() ) );
     }
 
+    /**
+     * Run the actions and hold back the events they fire until they're all done, then notify the game listeners of all the events at
+     * once.  Listeners therefore only see the state after all the actions.
+     * <p>
+     * Events are held back for the whole game, so the actions should be the only work on the game while they run.
+     */
+    void batch(final Runnable actions) {
+        if (deferredEvents != null) {
+            // Already batching, the outer batch will notify the listeners.
+            actions.run();
+            return;
+        }
+
+        deferredEvents = new LinkedList<>();
+        try {
+            actions.run();
+        }
+        finally {
+            game.getSnapshots().publish();
+
+            List<Runnable> events = deferredEvents;
+            deferredEvents = null;
+
+            for (final Runnable event : events)
+                event.run();
+        }
+    }
+
+    /**
+     * Notify a game listener as its owner, or hold back the notification if a batch is in progress.
+     *
+     * @param gameListenerOwner The player that registered the listener, or {@code null} for internal listeners.
+     */
+    private void dispatch(@Nullable final Player gameListenerOwner, final Runnable gameListenerJob) {
+        if (deferredEvents != null)
+            deferredEvents.add( () -> runAs( gameListenerOwner, gameListenerJob ) );
+        else
+            runAs( gameListenerOwner, gameListenerJob );
+    }
+
+    private static void runAs(@Nullable final Player gameListenerOwner, final Runnable gameListenerJob) {
+        if (gameListenerOwner == null)
+            Security.godRun( gameListenerJob );
+        else
+            Security.playerRun( gameListenerOwner, gameListenerJob );
+    }
+
+    private static void countFired(final Method method) {
+        Counter counter = eventsFired.get( method );
+        if (counter != null)
+            counter.increment();
+    }
+
     private static Runnable newGameListenerJob(final GameListener gameListener, final Method method, final Object[] args) {
         return () -> {
             try {
@@ -58,6 +58,7 @@ public class GameObject extends MetaObject implements IGameObject {
         location.setContents( this );
         if (owner != null)
             owner.addObjects( this );
+        game.getDiscovery().update( this );
     }
 
     @Override
@@ -86,6 +87,8 @@ public class GameObject extends MetaObject implements IGameObject {
         Change.From<IPlayer> ownerChange = Change.<IPlayer>from( this.owner );
 
         this.owner = owner;
+        game.getDiscovery().update( this );
+        game.getSnapshots().changed( location );
 
         getGame().getController().fireIfObservable( this ) //
                 .onUnitCaptured( this, ownerChange.to( this.owner ) );
@@ -115,6 +118,7 @@ public class GameObject extends MetaObject implements IGameObject {
     void setLocation(@Nonnull final Tile location) {
         Change.From<ITile> locationChange = Change.<ITile>from( this.location );
         this.location = location;
+        game.getDiscovery().update( this );
 
         getGame().getController().fireIfObservable( location ) //
                 .onUnitMoved( this, locationChange.to( this.location ) );
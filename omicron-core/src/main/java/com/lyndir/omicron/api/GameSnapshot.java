@@ -0,0 +1,209 @@
+package com.lyndir.omicron.api;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.lyndir.lhunath.opal.math.Size;
+import com.lyndir.lhunath.opal.math.Vec2;
+import java.util.*;
+import java.util.stream.*;
+import javax.annotation.Nullable;
+
+
+/**
+ * An immutable view of the units and resources of a game as they were at the end of a turn or a command.
+ * <p>
+ * Snapshots can be read from any thread without locking while the game moves on.  A snapshot holds the contents of each level in square
+ * chunks of tiles; a new snapshot only rebuilds the chunks in which something changed and shares all other chunks with the snapshot
+ * before it.
+ * <p>
+ * A snapshot shows everything in the game, regardless of what any player can observe.  Use {@link #observedPositions(long, LevelType,
+ * Vec2, Size)} to find out what a player's own objects can see.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class GameSnapshot {
+
+    static final int CHUNK_SHIFT    = 3;
+    static final int CHUNK_SIZE     = 1 << CHUNK_SHIFT;
+    static final int RESOURCE_TYPES = ResourceType.values().length;
+
+    private final long                                          version;
+    private final Turn                                          turn;
+    private final Size                                          levelSize;
+    private final ImmutableMap<LevelType, ImmutableList<Chunk>> chunks;
+
+    GameSnapshot(final long version, final Turn turn, final Size levelSize, final ImmutableMap<LevelType, ImmutableList<Chunk>> chunks) {
+        this.version = version;
+        this.turn = turn;
+        this.levelSize = levelSize;
+        this.chunks = chunks;
+    }
+
+    /**
+     * @return The number of this snapshot.  Every snapshot of a game has a higher version than the snapshots published before it.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The game's turn at the time of this snapshot.
+     */
+    public Turn getTurn() {
+        return turn;
+    }
+
+    public Size getLevelSize() {
+        return levelSize;
+    }
+
+    /**
+     * @return The object on the tile at the given position of the level, or absent if the tile was empty or there is no such tile.
+     */
+    public Optional<UnitSnapshot> getContents(final LevelType levelType, final Vec2 position) {
+        if (!levelSize.isInBounds( position ))
+            return Optional.empty();
+
+        return Optional.ofNullable( chunk( levelType, chunkIndex( levelSize, position ) ).contents[tileIndex( position )] );
+    }
+
+    /**
+     * @return The quantity of the resource in the tile at the given position of the level, or zero if there was none or there is no such
+     * tile.
+     */
+    public int getResourceQuantity(final LevelType levelType, final Vec2 position, final ResourceType resourceType) {
+        if (!levelSize.isInBounds( position ))
+            return 0;
+
+        return chunk( levelType, chunkIndex( levelSize, position ) ).resources[tileIndex( position ) * RESOURCE_TYPES
+                                                                                + resourceType.ordinal()];
+    }
+
+    /**
+     * The positions are found the same way {@link PlayerController#observedTiles(LevelType, Vec2, Size)} finds the tiles that a player
+     * observes: a position is observed if it is within the view range of one of the player's objects in the level.
+     *
+     * @return The positions in the area of the level that the player's objects could see.
+     */
+    public Stream<Vec2> observedPositions(final long playerID, final LevelType levelType, final Vec2 origin, final Size size) {
+        List<UnitSnapshot> eyes = chunks.get( levelType ).stream().flatMap( chunk -> Arrays.stream( chunk.contents ) ) //
+                .filter( unit -> unit != null && unit.ownerID != null && unit.ownerID == playerID && unit.viewRange != null ) //
+                .collect( Collectors.toList() );
+        int fromX = Math.max( 0, origin.getX() ), toX = Math.min( levelSize.getWidth(), origin.getX() + size.getWidth() );
+        int fromY = Math.max( 0, origin.getY() ), toY = Math.min( levelSize.getHeight(), origin.getY() + size.getHeight() );
+
+        return IntStream.range( fromY, toY )
+                        .boxed()
+                        .flatMap( y -> IntStream.range( fromX, toX ).mapToObj( x -> Vec2.create( x, y ) ) )
+                        .filter( position -> eyes.stream().anyMatch( eye -> eye.position.distanceTo( position ) <= eye.viewRange ) );
+    }
+
+    /**
+     * @return All objects in the game's levels.
+     */
+    public Stream<UnitSnapshot> getUnits() {
+        return chunks.values().stream().flatMap( Collection::stream ).flatMap( chunk -> Arrays.stream( chunk.contents ) ) //
+                .filter( Objects::nonNull );
+    }
+
+    Chunk chunk(final LevelType levelType, final int chunkIndex) {
+        return chunks.get( levelType ).get( chunkIndex );
+    }
+
+    static int chunkColumns(final Size levelSize) {
+        return (levelSize.getWidth() + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+    }
+
+    static int chunkRows(final Size levelSize) {
+        return (levelSize.getHeight() + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+    }
+
+    static int chunkIndex(final Size levelSize, final Vec2 position) {
+        return (position.getY() >> CHUNK_SHIFT) * chunkColumns( levelSize ) + (position.getX() >> CHUNK_SHIFT);
+    }
+
+    static int tileIndex(final Vec2 position) {
+        return (position.getY() & (CHUNK_SIZE - 1)) * CHUNK_SIZE + (position.getX() & (CHUNK_SIZE - 1));
+    }
+
+    /**
+     * The contents of the tiles in a square of a level, indexed by {@link #tileIndex(Vec2)}.  Empty tiles hold {@code null}.  The
+     * resource quantities of each tile follow each other, ordered by {@link ResourceType}.
+     */
+    static class Chunk {
+
+        private final UnitSnapshot[] contents;
+        private final int[]          resources;
+
+        Chunk(final UnitSnapshot[] contents, final int[] resources) {
+            this.contents = contents;
+            this.resources = resources;
+        }
+    }
+
+
+    /**
+     * An object in the game as it was at the time of the snapshot.
+     */
+    public static class UnitSnapshot {
+
+        private final long      objectID;
+        private final String    typeName;
+        @Nullable
+        private final Long      ownerID;
+        private final LevelType levelType;
+        private final Vec2      position;
+        @Nullable
+        private final Integer   remainingHealth;
+        @Nullable
+        private final Integer   viewRange;
+
+        UnitSnapshot(final long objectID, final String typeName, @Nullable final Long ownerID, final LevelType levelType,
+                     final Vec2 position, @Nullable final Integer remainingHealth, @Nullable final Integer viewRange) {
+            this.objectID = objectID;
+            this.typeName = typeName;
+            this.ownerID = ownerID;
+            this.levelType = levelType;
+            this.position = position;
+            this.remainingHealth = remainingHealth;
+            this.viewRange = viewRange;
+        }
+
+        public long getObjectID() {
+            return objectID;
+        }
+
+        public String getTypeName() {
+            return typeName;
+        }
+
+        /**
+         * @return The ID of the player that owned the object, or absent if it wasn't owned by a player.
+         */
+        public Optional<Long> getOwnerID() {
+            return Optional.ofNullable( ownerID );
+        }
+
+        public LevelType getLevelType() {
+            return levelType;
+        }
+
+        public Vec2 getPosition() {
+            return position;
+        }
+
+        /**
+         * @return The health the object had left, or absent if it has no base module.
+         */
+        public Optional<Integer> getRemainingHealth() {
+            return Optional.ofNullable( remainingHealth );
+        }
+
+        /**
+         * @return How far the object could see, or absent if it has no base module.
+         */
+        public Optional<Integer> getViewRange() {
+            return Optional.ofNullable( viewRange );
+        }
+    }
+}
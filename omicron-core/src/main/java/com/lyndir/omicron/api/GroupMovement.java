@@ -0,0 +1,147 @@
+package com.lyndir.omicron.api;
+
+import static com.lyndir.omicron.api.error.ExceptionUtils.*;
+
+import com.google.common.collect.*;
+import com.lyndir.lhunath.opal.system.error.InternalInconsistencyException;
+import com.lyndir.lhunath.opal.system.util.MetaObject;
+import com.lyndir.lhunath.opal.system.util.PredicateNN;
+import com.lyndir.omicron.api.util.PathUtils;
+import java.util.*;
+
+
+/**
+ * The movement of a group of units, planned together.
+ * <p>
+ * Units are planned one after the other, in the order they will be executed.  The path of each unit avoids the targets reserved by the
+ * units planned before it and may pass through the tiles those units leave, since they will have moved by the time it does.  A unit
+ * whose target is held by another unit of the group waits for that unit to be planned first.  Other units that can't find a path are
+ * retried once more of the group has been planned, until no more progress is made.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class GroupMovement extends MetaObject implements IGameController.IGroupMovement {
+
+    private final GameController                                    gameController;
+    private final ImmutableMap<GameObject, MobilityModule.Movement> movements;
+    private final ImmutableMap<GameObject, Tile>                    origins;
+    private final ImmutableSet<IGameObject>                         impossible;
+
+    private GroupMovement(final GameController gameController, final ImmutableMap<GameObject, MobilityModule.Movement> movements,
+                          final ImmutableMap<GameObject, Tile> origins, final ImmutableSet<IGameObject> impossible) {
+        this.gameController = gameController;
+        this.movements = movements;
+        this.origins = origins;
+        this.impossible = impossible;
+    }
+
+    static GroupMovement plan(final GameController gameController, final Map<? extends IGameObject, ? extends ITile> targets) {
+        Map<GameObject, ITile> orders = Maps.newLinkedHashMap();
+        for (final Map.Entry<? extends IGameObject, ? extends ITile> target : targets.entrySet())
+            orders.put( GameObject.cast( target.getKey() ), target.getValue() );
+
+        // Tiles that will be held by planned units and tiles that will have been left by them.
+        Set<ITile> reserved = Sets.newHashSet(), vacated = Sets.newHashSet();
+        PredicateNN<ITile> accessible = tile -> !reserved.contains( tile ) && (vacated.contains( tile ) || tile.isAccessible().isTrue());
+
+        Map<GameObject, MobilityModule.Movement> movements = Maps.newLinkedHashMap();
+        Map<GameObject, Tile> origins = Maps.newHashMap();
+        ListMultimap<GameObject, GameObject> waiting = ArrayListMultimap.create();
+        Deque<GameObject> queue = new ArrayDeque<>( orders.keySet() );
+        List<GameObject> retry = Lists.newLinkedList();
+        while (!queue.isEmpty()) {
+            boolean progress = false;
+            while (!queue.isEmpty()) {
+                GameObject unit = queue.poll();
+                ITile target = orders.get( unit );
+                Tile origin = unit.getLocation().get();
+
+                Optional<MobilityModule> module = unit.getModule( ModuleType.MOBILITY, 0 );
+                if (!module.isPresent())
+                    continue;
+
+                MobilityModule.Movement movement = module.get().movement( target, accessible );
+                if (movement.isPossible()) {
+                    ITile leveled = movement.getLeveling().getTarget();
+                    if (leveled.equals( origin ) || accessible.apply( leveled )) {
+                        vacated.add( origin );
+                        reserved.add( movement.getPath().getTarget() );
+                        movements.put( unit, movement );
+                        origins.put( unit, origin );
+                        progress = true;
+
+                        // Units that were waiting for this unit to leave their target can try again right away.
+                        for (final GameObject waitingUnit : Lists.reverse( waiting.removeAll( unit ) ))
+                            queue.addFirst( waitingUnit );
+                        continue;
+                    }
+                }
+
+                IGameObject blocker = target.getContents().orNull();
+                if (blocker != null && orders.containsKey( blocker ) && !movements.containsKey( blocker ))
+                    waiting.put( GameObject.cast( blocker ), unit );
+                else
+                    retry.add( unit );
+            }
+
+            if (progress) {
+                queue.addAll( retry );
+                retry.clear();
+            }
+        }
+
+        return new GroupMovement( gameController, ImmutableMap.copyOf( movements ), ImmutableMap.copyOf( origins ),
+                                  ImmutableSet.copyOf( Sets.difference( orders.keySet(), movements.keySet() ) ) );
+    }
+
+    @Override
+    public ImmutableMap<IGameObject, MobilityModule.Movement> getMovements() {
+        return ImmutableMap.copyOf( movements );
+    }
+
+    @Override
+    public ImmutableSet<IGameObject> getImpossible() {
+        return impossible;
+    }
+
+    @Override
+    public boolean isPossible() {
+        return !movements.isEmpty();
+    }
+
+    @Override
+    public void execute()
+            throws IModule.ImpossibleException, IModule.InvalidatedException {
+        assertState( isPossible(), IModule.ImpossibleException.class );
+
+        // Check that all the movements can still be executed before moving any unit.
+        Set<ITile> vacated = Sets.newHashSet();
+        for (final Map.Entry<GameObject, MobilityModule.Movement> movementEntry : movements.entrySet()) {
+            GameObject unit = movementEntry.getKey();
+            MobilityModule.Movement movement = movementEntry.getValue();
+            Tile origin = origins.get( unit );
+            assertState( origin.equals( unit.getLocation().orNull() ), IModule.InvalidatedException.class );
+            assertState( movement.getCost() <= unit.getModule( ModuleType.MOBILITY, 0 ).get().getRemainingSpeed(),
+                         IModule.InvalidatedException.class );
+
+            for (Optional<PathUtils.Path<ITile>> path = Optional.of( movement.getPath() ); path.isPresent();
+                 path = path.get().getParent()) {
+                ITile tile = path.get().getTarget();
+                assertState( tile.equals( origin ) || vacated.contains( tile ) || tile.isAccessible().isTrue(), //
+                             IMobilityModuleController.PathInvalidatedException.class, path.get() );
+            }
+
+            vacated.add( origin );
+        }
+
+        gameController.batch( () -> {
+            for (final MobilityModule.Movement movement : movements.values())
+                try {
+                    movement.execute();
+                }
+                catch (final IModule.ImpossibleException | IModule.InvalidatedException e) {
+                    throw new InternalInconsistencyException( "Movement failed after validating the group: " + movement, e );
+                }
+        } );
+    }
+}
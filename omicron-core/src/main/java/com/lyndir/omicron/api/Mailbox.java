@@ -0,0 +1,121 @@
+package com.lyndir.omicron.api;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.lyndir.lhunath.opal.system.util.Job;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+
+/**
+ * The single writer of a game: runs the messages sent to the game one at a time, in the order they were sent.
+ * <p>
+ * A mailbox doesn't own a thread.  While it has messages, it occupies one lane of a pool that is shared by all games and hands the lane
+ * back after each message, so any number of games run in parallel on a bounded amount of threads while each game only ever sees one of
+ * them at a time.  The game's state therefore needs no locking of its own.
+ *
+ * @author lhunath, 2014-08-18
+ */
+class Mailbox {
+
+    private static final Executor sharedLanes = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), //
+            new ThreadFactoryBuilder().setNameFormat( "Omicron-Game-%d" ).setDaemon( true ).build() );
+
+    private static final ThreadLocal<Boolean> onLane = ThreadLocal.withInitial( () -> false );
+
+    private final Queue<Runnable> messages = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger   pending  = new AtomicInteger();
+    private final Executor        lanes;
+
+    @Nullable
+    private volatile Thread writer;
+
+    Mailbox() {
+        this( sharedLanes );
+    }
+
+    Mailbox(final Executor lanes) {
+        this.lanes = lanes;
+    }
+
+    /**
+     * @return true if the current thread is handling a message of this mailbox.
+     */
+    boolean isWriter() {
+        return Thread.currentThread() == writer;
+    }
+
+    /**
+     * Send a message to the mailbox without waiting for it to be handled.
+     *
+     * @return The outcome of the message, once it has been handled.
+     */
+    <R> CompletableFuture<R> submit(final Job<R> message) {
+        CompletableFuture<R> reply = new CompletableFuture<>();
+        post( () -> {
+            try {
+                reply.complete( message.execute() );
+            }
+            catch (final Throwable t) {
+                reply.completeExceptionally( t );
+            }
+        } );
+
+        return reply;
+    }
+
+    /**
+     * Send a message to the mailbox and wait for it to be handled.  A message sent while handling another one is handled right away, a
+     * message sent while handling a message of another mailbox is refused.
+     * <p>
+     * Runtime exceptions and errors of the message are rethrown as-is.
+     *
+     * @return The outcome of the message.
+     */
+    <R> R call(final Job<R> message) {
+        if (isWriter())
+            return message.execute();
+        // Waiting on a lane could deadlock once all lanes are waiting for each other.
+        Preconditions.checkState( !onLane.get(), "Cannot wait for a game from within a message of another game." );
+
+        try {
+            return Uninterruptibles.getUninterruptibly( submit( message ) );
+        }
+        catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+
+            throw new IllegalStateException( e.getCause() );
+        }
+    }
+
+    private void post(final Runnable message) {
+        messages.add( message );
+
+        // Only the message that finds the mailbox idle claims a lane, the lane keeps going until it has handled all pending messages.
+        if (pending.getAndIncrement() == 0)
+            lanes.execute( this::handleNext );
+    }
+
+    private void handleNext() {
+        writer = Thread.currentThread();
+        onLane.set( true );
+        try {
+            messages.remove().run();
+        }
+        finally {
+            onLane.set( false );
+            writer = null;
+
+            // Hand the lane back between messages so one busy game can't starve the others.
+            if (pending.decrementAndGet() > 0)
+                lanes.execute( this::handleNext );
+        }
+    }
+}
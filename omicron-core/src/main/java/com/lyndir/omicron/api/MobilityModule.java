@@ -4,8 +4,13 @@ import static com.lyndir.lhunath.opal.system.util.ObjectUtils.*;
 import static com.lyndir.omicron.api.error.ExceptionUtils.*;
 import static com.lyndir.omicron.api.util.PathUtils.*;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import com.lyndir.lhunath.opal.system.util.*;
 import com.lyndir.omicron.api.error.*;
+import com.lyndir.omicron.api.view.FlowField;
+import com.lyndir.omicron.api.view.ReachableArea;
 import java.util.*;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -14,19 +19,12 @@ import javax.annotation.Nullable;
 
 public class MobilityModule extends Module implements IMobilityModule, IMobilityModuleController {
 
-    private final int movementSpeed;
-    private final Map<LevelType, Double> movementCost = Collections.synchronizedMap( new EnumMap<>( LevelType.class ) );
-    private final Map<LevelType, Double> levelingCost = Collections.synchronizedMap( new EnumMap<>( LevelType.class ) );
+    private final Definition definition;
 
     private double remainingSpeed;
 
-    protected MobilityModule(final ImmutableResourceCost resourceCost, final int movementSpeed, final Map<LevelType, Double> movementCost,
-                             final Map<LevelType, Double> levelingCost) {
-        super( resourceCost );
-
-        this.movementSpeed = movementSpeed;
-        this.movementCost.putAll( movementCost );
-        this.levelingCost.putAll( levelingCost );
+    protected MobilityModule(final Definition definition) {
+        this.definition = definition;
     }
 
     static Builder0 createWithStandardResourceCost() {
@@ -37,6 +35,11 @@ public class MobilityModule extends Module implements IMobilityModule, IMobility
         return new Builder0( ModuleType.MOBILITY.getStandardCost().add( resourceCost ) );
     }
 
+    @Override
+    public Definition getDefinition() {
+        return definition;
+    }
+
     @Override
     public double getRemainingSpeed()
             throws NotAuthenticatedException, NotObservableException {
@@ -49,7 +52,7 @@ public class MobilityModule extends Module implements IMobilityModule, IMobility
     public double getMovementSpeed() {
         assertObservable();
 
-        return movementSpeed;
+        return definition.getMovementSpeed();
     }
 
     /**
@@ -64,59 +67,15 @@ public class MobilityModule extends Module implements IMobilityModule, IMobility
             throws NotAuthenticatedException, NotObservableException {
         assertObservable();
 
-        return ifNotNullElse( movementCost.get( levelType ), Double.MAX_VALUE );
+        return definition.costForMovingInLevel( levelType );
     }
 
     @Override
     public double costForLevelingToLevel(final LevelType levelType)
             throws NotAuthenticatedException, NotObservableException {
         assertObservable();
-        Tile location = getGameObject().getLocation().get();
-
-        // Level up until we reach the target level.
-        double cost = 0;
-        LevelType currentLevel = location.getLevel().getType();
-        if (levelType == currentLevel)
-            return 0;
-        while (true) {
-            Optional<LevelType> newLevel = currentLevel.up();
-            if (!newLevel.isPresent())
-                break;
-
-            Double currentLevelCost = levelingCost.get( EnumUtils.min( currentLevel, newLevel.get() ) );
-            if (currentLevelCost == null)
-                // Cannot level to this level.
-                return Double.MAX_VALUE;
-
-            currentLevel = newLevel.get();
-            cost += currentLevelCost;
-
-            if (currentLevel == levelType)
-                return cost;
-        }
-
-        // Level down until we reach the target level.
-        cost = 0;
-        currentLevel = location.getLevel().getType();
-        while (true) {
-            Optional<LevelType> newLevel = currentLevel.down();
-            if (!newLevel.isPresent())
-                break;
 
-            Double currentLevelCost = levelingCost.get( EnumUtils.min( currentLevel, newLevel.get() ) );
-            if (currentLevelCost == null)
-                // Cannot level to this level.
-                return Double.MAX_VALUE;
-
-            currentLevel = newLevel.get();
-            cost += currentLevelCost;
-
-            if (currentLevel == levelType)
-                return cost;
-        }
-
-        // Unreachable code.
-        throw new IllegalArgumentException( "Unsupported level type: " + levelType );
+        return definition.costForLeveling( getGameObject().getLocation().get().getLevel().getType(), levelType );
     }
 
     /**
@@ -134,7 +93,7 @@ public class MobilityModule extends Module implements IMobilityModule, IMobility
             // Already in the destination level.
             return Leveling.possible( this, currentLocation, 0 );
 
-        double cost = costForLevelingToLevel( levelType );
+        double cost = definition.costForLeveling( currentLocation.getLevel().getType(), levelType );
         if (cost > remainingSpeed)
             // Cannot move: insufficient speed remaining this turn.
             return Leveling.impossible( this, cost );
@@ -151,6 +110,16 @@ public class MobilityModule extends Module implements IMobilityModule, IMobility
     @Override
     public Movement movement(final ITile target)
             throws NotAuthenticatedException, NotOwnedException, NotObservableException {
+        return movement( target, tile -> tile.isAccessible().isTrue() );
+    }
+
+    /**
+     * Move the unit to a tile, through the tiles that pass the given accessibility check.
+     *
+     * @param accessible Checks whether the unit can pass through or stop at a tile.
+     */
+    Movement movement(final ITile target, final PredicateNN<ITile> accessible)
+            throws NotAuthenticatedException, NotOwnedException, NotObservableException {
         assertOwned();
 
         Leveling leveling = leveling( target.getLevel().getType() );
@@ -160,12 +129,12 @@ public class MobilityModule extends Module implements IMobilityModule, IMobility
 
         // Initialize cost calculation.
         ITile currentLocation = leveling.getTarget();
-        final double stepCost = costForMovingInLevel( currentLocation.getLevel().getType() );
+        final double stepCost = definition.costForMovingInLevel( currentLocation.getLevel().getType() );
 
         // Initialize path finding data functions.
         PredicateNN<ITile> foundFunction = tile -> tile.equals( target );
         NNFunctionNN<Step<ITile>, Double> costFunction = tileStep -> {
-            if (!tileStep.getTo().isAccessible().isTrue())
+            if (!accessible.apply( tileStep.getTo() ))
                 return Double.MAX_VALUE;
 
             return stepCost;
@@ -178,9 +147,133 @@ public class MobilityModule extends Module implements IMobilityModule, IMobility
         return Movement.possible( this, leveling.getCost() + (path.isPresent()? path.get().getCost(): 0), leveling, path );
     }
 
+    /**
+     * Follow the flow field toward the target from the unit's location after leveling.  The field only covers the terrain, so the way
+     * steps around held tiles as it meets them: each step goes to the free neighbour that is closest to the target.  A step that gets no
+     * closer is only taken when all closer neighbours are held, and never next to the target.
+     */
+    @Override
+    public Movement movementToward(final ITile target)
+            throws NotAuthenticatedException, NotOwnedException, NotObservableException {
+        assertOwned();
+
+        Leveling leveling = leveling( target.getLevel().getType() );
+        if (!leveling.isPossible())
+            // Cannot move because we can't level to the target's level.
+            return Movement.impossible( this, leveling.getCost() );
+
+        ITile origin = leveling.getTarget();
+        if (origin.equals( target ))
+            return Movement.possible( this, leveling.getCost(), leveling, Optional.of( Path.root( origin ) ) );
+
+        FlowField flowField = getGameObject().getGame().getFlowFields().get( Tile.cast( target ) );
+        if (!flowField.reaches( origin ))
+            // Cannot move because the target can't be reached.
+            return Movement.impossible( this, 0 );
+
+        // Walk the field for as long as we have speed, stopping short of the target if it's held.
+        double stepCost = definition.costForMovingInLevel( origin.getLevel().getType() ), maxCost = remainingSpeed - leveling.getCost();
+        Set<ITile> visited = new HashSet<>();
+        visited.add( origin );
+        Path<ITile> path = Path.root( origin );
+        Optional<ITile> next = nextStep( flowField, origin, visited );
+        while (next.isPresent() && path.getCost() + stepCost <= maxCost) {
+            path = path.step( next.get(), stepCost );
+            visited.add( next.get() );
+            next = nextStep( flowField, next.get(), visited );
+        }
+        if (!path.getParent().isPresent())
+            // Cannot move: insufficient speed remaining this turn or the way toward the target is held.
+            return Movement.impossible( this, next.isPresent()? leveling.getCost() + stepCost: 0 );
+
+        return Movement.possible( this, leveling.getCost() + path.getCost(), leveling, Optional.of( path ) );
+    }
+
+    /**
+     * @return The free neighbour of the tile that is closest to the field's target, or absent if the tile is the target or it has no
+     * free neighbour that was not yet visited and that is closer, or as close but not next to the target.
+     */
+    private static Optional<ITile> nextStep(final FlowField flowField, final ITile tile, final Set<ITile> visited) {
+        int tileSteps = flowField.getSteps( tile ).getAsInt(), maxSteps = tileSteps > 1? tileSteps: tileSteps - 1;
+        Optional<ITile> next = Optional.empty();
+        int nextSteps = Integer.MAX_VALUE;
+        for (final ITile neighbour : tile.neighbours()) {
+            OptionalInt neighbourSteps = flowField.getSteps( neighbour );
+            if (neighbourSteps.isPresent() && neighbourSteps.getAsInt() <= maxSteps && neighbourSteps.getAsInt() < nextSteps && //
+                !visited.contains( neighbour ) && neighbour.isAccessible().isTrue()) {
+                next = Optional.of( neighbour );
+                nextSteps = neighbourSteps.getAsInt();
+            }
+        }
+
+        return next;
+    }
+
+    /**
+     * Find the reachable tiles of the level with a breadth-first flood fill from the unit's location after leveling.  Every step
+     * within a level costs the same, so tiles are reached in the order of their cost and each tile is final as soon as it's reached.
+     */
+    @Override
+    public ReachableArea reachable(final LevelType levelType)
+            throws NotAuthenticatedException, NotOwnedException, NotObservableException {
+        assertOwned();
+
+        ILevel level = getGameObject().getGame().getLevel( levelType );
+        Leveling leveling = leveling( levelType );
+        if (!leveling.isPossible())
+            // Cannot move because we can't level to the target level.
+            return ReachableArea.empty( level );
+
+        double stepCost = definition.costForMovingInLevel( levelType );
+        int capacity = 16, size = 0;
+        int[] positions = new int[capacity], parents = new int[capacity];
+        double[] costs = new double[capacity];
+        List<ITile> tiles = new ArrayList<>();
+        BitSet reached = new BitSet( level.getSize().getWidth() * level.getSize().getHeight() );
+
+        // The search starts from the leveled location.
+        ITile origin = leveling.getTarget();
+        positions[size] = ReachableArea.pack( level, origin.getPosition() );
+        costs[size] = leveling.getCost();
+        parents[size] = -1;
+        tiles.add( origin );
+        reached.set( positions[size++] );
+
+        // The entries double as the search queue.
+        for (int entry = 0; entry < size; ++entry) {
+            double neighbourCost = costs[entry] + stepCost;
+            if (neighbourCost > remainingSpeed)
+                // Neighbours of this and all later entries cost too much.
+                break;
+
+            for (final ITile neighbour : tiles.get( entry ).neighbours()) {
+                int position = ReachableArea.pack( level, neighbour.getPosition() );
+                if (reached.get( position ))
+                    continue;
+                reached.set( position );
+                if (!neighbour.isAccessible().isTrue())
+                    continue;
+
+                if (size == capacity) {
+                    capacity *= 2;
+                    positions = Arrays.copyOf( positions, capacity );
+                    parents = Arrays.copyOf( parents, capacity );
+                    costs = Arrays.copyOf( costs, capacity );
+                }
+                positions[size] = position;
+                costs[size] = neighbourCost;
+                parents[size] = entry;
+                tiles.add( neighbour );
+                ++size;
+            }
+        }
+
+        return new ReachableArea( level, size, positions, costs, parents );
+    }
+
     @Override
     protected void onReset() {
-        remainingSpeed = movementSpeed;
+        remainingSpeed = definition.getMovementSpeed();
     }
 
     @Override
@@ -319,6 +412,16 @@ public class MobilityModule extends Module implements IMobilityModule, IMobility
             return path.isPresent();
         }
 
+        /**
+         * @return The leveling that precedes the movement along the path.
+         *
+         * @throws IllegalStateException if the movement is not possible ({@link #isPossible()} returns {@code false})
+         */
+        Leveling getLeveling() {
+            Preconditions.checkState( leveling != null, "Movement is not possible." );
+            return leveling;
+        }
+
         @Override
         public void execute()
                 throws NotAuthenticatedException, NotOwnedException, ImpossibleException, InvalidatedException {
@@ -361,6 +464,84 @@ public class MobilityModule extends Module implements IMobilityModule, IMobility
     }
 
 
+    public static class Definition extends Module.Definition<MobilityModule> {
+
+        /**
+         * The cost of moves that can't be made.
+         */
+        private static final double IMPOSSIBLE = Double.MAX_VALUE;
+
+        private final int                             movementSpeed;
+        private final ImmutableMap<LevelType, Double> movementCost;
+        private final ImmutableMap<LevelType, Double> levelingCost;
+
+        // The costs compiled for lookup by level ordinal: moving within a level and leveling from one level to another.
+        private final double[]   movementCostTable;
+        private final double[][] levelingCostTable;
+
+        Definition(final ImmutableResourceCost resourceCost, final int movementSpeed, final Map<LevelType, Double> movementCost,
+                   final Map<LevelType, Double> levelingCost) {
+            super( resourceCost );
+
+            this.movementSpeed = movementSpeed;
+            this.movementCost = Maps.immutableEnumMap( movementCost );
+            this.levelingCost = Maps.immutableEnumMap( levelingCost );
+
+            LevelType[] levelTypes = LevelType.values();
+            movementCostTable = new double[levelTypes.length];
+            for (final LevelType levelType : levelTypes)
+                movementCostTable[levelType.ordinal()] = ifNotNullElse( this.movementCost.get( levelType ), IMPOSSIBLE );
+
+            // Leveling between two adjacent levels costs the leveling cost of the lower level, either way.
+            levelingCostTable = new double[levelTypes.length][levelTypes.length];
+            for (int from = 0; from < levelTypes.length; ++from) {
+                double cost = 0;
+                for (int to = from + 1; to < levelTypes.length; ++to) {
+                    Double stepCost = this.levelingCost.get( levelTypes[to - 1] );
+                    cost = cost == IMPOSSIBLE || stepCost == null? IMPOSSIBLE: cost + stepCost;
+                    levelingCostTable[from][to] = levelingCostTable[to][from] = cost;
+                }
+            }
+        }
+
+        @Override
+        public PublicModuleType<IMobilityModule> getType() {
+            return PublicModuleType.MOBILITY;
+        }
+
+        public int getMovementSpeed() {
+            return movementSpeed;
+        }
+
+        public ImmutableMap<LevelType, Double> getMovementCost() {
+            return movementCost;
+        }
+
+        public ImmutableMap<LevelType, Double> getLevelingCost() {
+            return levelingCost;
+        }
+
+        /**
+         * @return The speed cost of moving around in the given level, or {@link Double#MAX_VALUE} if the unit can't move in it.
+         */
+        double costForMovingInLevel(final LevelType levelType) {
+            return movementCostTable[levelType.ordinal()];
+        }
+
+        /**
+         * @return The speed cost of leveling from one level to another, or {@link Double#MAX_VALUE} if the unit can't level there.
+         */
+        double costForLeveling(final LevelType fromLevelType, final LevelType toLevelType) {
+            return levelingCostTable[fromLevelType.ordinal()][toLevelType.ordinal()];
+        }
+
+        @Override
+        MobilityModule create() {
+            return new MobilityModule( this );
+        }
+    }
+
+
     @SuppressWarnings({ "ParameterHidesMemberVariable", "InnerClassFieldHidesOuterClassField" })
     static class Builder0 {
 
@@ -395,7 +576,7 @@ public class MobilityModule extends Module implements IMobilityModule, IMobility
                 }
 
                 MobilityModule levelingCost(final Map<LevelType, Double> levelingCost) {
-                    return new MobilityModule( resourceCost, movementSpeed, movementCost, levelingCost );
+                    return new Definition( resourceCost, movementSpeed, movementCost, levelingCost ).create();
                 }
             }
         }
@@ -28,12 +28,9 @@ public abstract class Module extends MetaObject implements IModule {
     @SuppressWarnings("UnusedDeclaration")
     private static final Logger logger = Logger.get( Module.class );
 
-    private final ImmutableResourceCost resourceCost;
-
     private GameObject gameObject;
 
-    protected Module(final ImmutableResourceCost resourceCost) {
-        this.resourceCost = resourceCost;
+    protected Module() {
         Preconditions.checkState( getType().getModuleType().isInstance( this ), "Invalid module type for module: %s", this );
     }
 
@@ -49,9 +46,14 @@ public abstract class Module extends MetaObject implements IModule {
 
     @Override
     public ImmutableResourceCost getResourceCost() {
-        return resourceCost;
+        return getDefinition().getResourceCost();
     }
 
+    /**
+     * @return The immutable configuration of this module, shared with all other modules created from the same definition.
+     */
+    public abstract Definition<?> getDefinition();
+
     void setGameObject(final GameObject gameObject) {
         this.gameObject = gameObject;
     }
@@ -78,4 +80,36 @@ public abstract class Module extends MetaObject implements IModule {
     static Module cast(final IModule module) {
         return (Module) module;
     }
+
+    /**
+     * The immutable configuration of a module.  It is shared by all the modules created from it (eg. all the modules of a unit type), so
+     * that a module instance only needs to carry its own mutable state.
+     *
+     * @param <M> The type of module this definition creates.
+     */
+    public abstract static class Definition<M extends Module> extends MetaObject {
+
+        private final ImmutableResourceCost resourceCost;
+
+        protected Definition(final ImmutableResourceCost resourceCost) {
+            this.resourceCost = resourceCost;
+        }
+
+        /**
+         * @return The resources required to construct a module of this definition.
+         */
+        public ImmutableResourceCost getResourceCost() {
+            return resourceCost;
+        }
+
+        /**
+         * @return The type of the modules created from this definition.
+         */
+        public abstract PublicModuleType<?> getType();
+
+        /**
+         * @return A new module instance that shares this definition.
+         */
+        abstract M create();
+    }
 }
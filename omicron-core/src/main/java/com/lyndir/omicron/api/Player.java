@@ -37,7 +37,7 @@ public class Player extends MetaObject implements IPlayer {
     @ObjectMeta(ignoreFor = ObjectMeta.For.toString)
     private final Color     secondaryColor;
     @ObjectMeta(ignoreFor = ObjectMeta.For.all)
-    private final Map<Long, GameObject> objects = Collections.synchronizedMap( new HashMap<>() );
+    private final Map<Long, GameObject> objects = new HashMap<>();
 
     @ObjectMeta(ignoreFor = ObjectMeta.For.all)
     private int score;
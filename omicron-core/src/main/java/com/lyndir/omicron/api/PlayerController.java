@@ -3,12 +3,18 @@ package com.lyndir.omicron.api;
 import static com.lyndir.omicron.api.Security.*;
 
 import com.lyndir.omicron.api.error.NotAuthenticatedException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import com.google.common.base.*;
 import com.google.common.collect.*;
+import com.lyndir.lhunath.opal.math.Size;
+import com.lyndir.lhunath.opal.math.Vec2;
 import com.lyndir.lhunath.opal.system.util.*;
 import com.lyndir.omicron.api.util.Maybe;
 import com.lyndir.omicron.api.util.Maybool;
+import com.lyndir.omicron.api.view.ObservedTile;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 
@@ -114,6 +120,48 @@ public class PlayerController extends MetaObject implements IPlayerController {
         return Maybe.unknown();
     }
 
+    /**
+     * Rather than asking each tile whether it is observable, the locations and view ranges of our objects in the level are collected
+     * once and each tile of the window is checked against them.
+     *
+     * @see #playerObjectsObservable()
+     */
+    @Override
+    public Stream<ObservedTile> observedTiles(final LevelType levelType, final Vec2 origin, final Size size)
+            throws NotAuthenticatedException {
+        List<GameObject> observers = playerObjectsObservable().collect( Collectors.toList() );
+        Player viewer = isGod() || getPlayer().isCurrentPlayer()? null: currentPlayer();
+
+        return godRun( () -> {
+            List<Vec2> eyePositions = new ArrayList<>( observers.size() );
+            List<Integer> eyeRanges = new ArrayList<>( observers.size() );
+            for (final GameObject observer : observers) {
+                Maybe<Tile> location = observer.getLocation();
+                int viewRange = observer.onModuleElse( PublicModuleType.BASE, 0, -1, IBaseModule::getViewRange );
+                if (location.presence() == Maybe.Presence.PRESENT && location.get().getLevel().getType() == levelType && viewRange >= 0) {
+                    eyePositions.add( location.get().getPosition() );
+                    eyeRanges.add( viewRange );
+                }
+            }
+
+            ImmutableList.Builder<ObservedTile> observedTiles = ImmutableList.builder();
+            getGameController().getGame().getLevel( levelType ).getTiles( origin, size ).forEach( tile -> {
+                boolean observed = false;
+                for (int e = 0; !observed && e < eyePositions.size(); ++e)
+                    observed = eyePositions.get( e ).distanceTo( tile.getPosition() ) <= eyeRanges.get( e );
+                if (!observed || viewer != null && !viewer.canObserve( tile ).isTrue())
+                    return;
+
+                Tile coreTile = Tile.cast( tile );
+                Maybe<? extends IGameObject> contents = coreTile.getContents();
+                observedTiles.add( new ObservedTile( coreTile, contents.presence() == Maybe.Presence.PRESENT? contents.get(): null,
+                                                     coreTile.getResourceQuantities() ) );
+            } );
+
+            return observedTiles.build().stream();
+        } );
+    }
+
     void removeObject(final IGameObject gameObject) {
         getPlayer().removeObject( gameObject );
     }
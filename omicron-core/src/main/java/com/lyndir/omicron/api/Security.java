@@ -82,6 +82,20 @@ public final class Security {
         }
     }
 
+    /**
+     * Run the job with the game active, and reactivate the game that was active before once it's done.
+     */
+    static <R> R gameRun(final Game jobGame, final Job<R> job) {
+        Game previousGame = activeGameTL.get();
+        try {
+            activeGameTL.set( jobGame );
+            return job.execute();
+        }
+        finally {
+            activeGameTL.set( previousGame );
+        }
+    }
+
     @SuppressWarnings("ObjectEquality")
     static void playerRun(final Player jobPlayer, final Runnable job) {
         try {
@@ -94,6 +108,20 @@ public final class Security {
             Preconditions.checkState( activePlayerJobTL.get().pop() == jobPlayer, "Expected to pop player for job." );
         }
     }
+
+    @SuppressWarnings("ObjectEquality")
+    static <R> R playerRun(final Player jobPlayer, final Job<R> job) {
+        try {
+            godJobTL.get().push( false );
+            activePlayerJobTL.get().push( jobPlayer );
+            return job.execute();
+        }
+        finally {
+            Preconditions.checkState( !godJobTL.get().pop(), "Expected to not be god." );
+            Preconditions.checkState( activePlayerJobTL.get().pop() == jobPlayer, "Expected to pop player for job." );
+        }
+    }
+
     public static void activateGame(final Game game) {
         activeGameTL.set( game );
     }
@@ -110,6 +138,13 @@ public final class Security {
         return activePlayerTL.get() == player;
     }
 
+    /**
+     * @return The player in the game that is identified by the given key.
+     */
+    public static Optional<Player> findPlayer(final Game game, final PlayerKey playerKey) {
+        return game.getPlayers().stream().filter( player -> player.hasKey( playerKey ) ).findFirst();
+    }
+
     public static void activatePlayerRun(final Player currentPlayer, final Runnable job) {
         checkArgument( currentPlayer.isCurrentPlayer(), "Cannot authenticate, player is not the current player: ", currentPlayer );
 
@@ -0,0 +1,124 @@
+package com.lyndir.omicron.api;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.lyndir.lhunath.opal.math.Size;
+import com.lyndir.lhunath.opal.math.Vec2;
+import com.lyndir.omicron.api.metrics.Counter;
+import com.lyndir.omicron.api.metrics.Metrics;
+import java.util.*;
+import javax.annotation.Nullable;
+
+
+/**
+ * Publishes the snapshots of a game.
+ * <p>
+ * The game marks the tiles whose object or resources changed as it changes them.  Publishing a snapshot only rebuilds the chunks that
+ * hold a marked tile and reuses the chunks of the previous snapshot for the rest.  Marks are only made and snapshots are only published
+ * by the game's writer, the published snapshot itself can be read from any thread.
+ *
+ * @author lhunath, 2014-08-18
+ */
+class Snapshots {
+
+    private static final Counter chunksBuilt = Metrics.counter( "omicron_snapshot_chunks_built_total",
+                                                                "Snapshot chunks rebuilt because a tile in them changed." );
+
+    private final Game                            game;
+    private final ImmutableMap<LevelType, BitSet> changedChunks;
+
+    private long    version;
+    private boolean changed = true;
+    @Nullable
+    private volatile GameSnapshot published;
+
+    Snapshots(final Game game) {
+        this.game = game;
+
+        ImmutableMap.Builder<LevelType, BitSet> changedChunksBuilder = ImmutableMap.builder();
+        for (final ILevel level : game.getLevels())
+            changedChunksBuilder.put( level.getType(), new BitSet() );
+        changedChunks = changedChunksBuilder.build();
+    }
+
+    /**
+     * @return The most recently published snapshot.
+     */
+    GameSnapshot get() {
+        GameSnapshot snapshot = published;
+        if (snapshot == null)
+            throw new IllegalStateException( "No snapshot has been published yet." );
+
+        return snapshot;
+    }
+
+    /**
+     * Mark the tile's object or resources as changed since the last snapshot.
+     */
+    void changed(final Tile tile) {
+        changedChunks.get( tile.getLevel().getType() ).set( GameSnapshot.chunkIndex( game.getLevelSize(), tile.getPosition() ) );
+        changed = true;
+    }
+
+    /**
+     * Publish a new snapshot if anything changed since the last one.
+     */
+    void publish() {
+        Security.godRun( this::build );
+    }
+
+    private void build() {
+        GameSnapshot previous = published;
+        Turn turn = game.getCurrentTurn();
+        if (!changed && previous != null && previous.getTurn().equals( turn ))
+            return;
+
+        Size levelSize = game.getLevelSize();
+        int chunks = GameSnapshot.chunkColumns( levelSize ) * GameSnapshot.chunkRows( levelSize );
+        ImmutableMap.Builder<LevelType, ImmutableList<GameSnapshot.Chunk>> levelChunks = ImmutableMap.builder();
+        for (final ILevel level : game.getLevels()) {
+            BitSet levelChanges = changedChunks.get( level.getType() );
+            ImmutableList.Builder<GameSnapshot.Chunk> chunksBuilder = ImmutableList.builder();
+            for (int chunk = 0; chunk < chunks; ++chunk)
+                chunksBuilder.add( previous == null || levelChanges.get( chunk )? buildChunk( level, chunk )
+                                           : previous.chunk( level.getType(), chunk ) );
+            levelChunks.put( level.getType(), chunksBuilder.build() );
+            levelChanges.clear();
+        }
+
+        changed = false;
+        published = new GameSnapshot( ++version, turn, levelSize, levelChunks.build() );
+    }
+
+    private static GameSnapshot.Chunk buildChunk(final ILevel level, final int chunk) {
+        chunksBuilt.increment();
+
+        Size levelSize = level.getSize();
+        int columns = GameSnapshot.chunkColumns( levelSize );
+        int fromX = (chunk % columns) << GameSnapshot.CHUNK_SHIFT, fromY = (chunk / columns) << GameSnapshot.CHUNK_SHIFT;
+        GameSnapshot.UnitSnapshot[] contents = new GameSnapshot.UnitSnapshot[GameSnapshot.CHUNK_SIZE * GameSnapshot.CHUNK_SIZE];
+        int[] resources = new int[contents.length * GameSnapshot.RESOURCE_TYPES];
+        for (int y = fromY; y < Math.min( fromY + GameSnapshot.CHUNK_SIZE, levelSize.getHeight() ); ++y)
+            for (int x = fromX; x < Math.min( fromX + GameSnapshot.CHUNK_SIZE, levelSize.getWidth() ); ++x) {
+                Vec2 position = Vec2.create( x, y );
+                Tile tile = Tile.cast( level.getTile( position ).get() );
+                Optional<GameObject> gameObject = tile.findContents();
+                if (gameObject.isPresent())
+                    contents[GameSnapshot.tileIndex( position )] = snapshot( gameObject.get(), level.getType(), position );
+                for (final Map.Entry<ResourceType, Integer> resourceQuantity : tile.getResourceQuantities().entrySet())
+                    resources[GameSnapshot.tileIndex( position ) * GameSnapshot.RESOURCE_TYPES + resourceQuantity.getKey().ordinal()] =
+                            resourceQuantity.getValue();
+            }
+
+        return new GameSnapshot.Chunk( contents, resources );
+    }
+
+    private static GameSnapshot.UnitSnapshot snapshot(final GameObject gameObject, final LevelType levelType, final Vec2 position) {
+        Optional<BaseModule> base = gameObject.getModule( ModuleType.BASE, 0 );
+
+        return new GameSnapshot.UnitSnapshot( gameObject.getObjectID(), gameObject.getType().getTypeName(),
+                                              gameObject.getOwner().map( Player::getPlayerID ).orElse( null ), levelType, position,
+                                              base.map( BaseModule::getRemainingHealth ).orElse( null ),
+                                              base.map( BaseModule::getViewRange ).orElse( null ) );
+    }
+}
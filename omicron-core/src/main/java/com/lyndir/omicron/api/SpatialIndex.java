@@ -0,0 +1,75 @@
+package com.lyndir.omicron.api;
+
+import com.google.common.collect.*;
+import com.lyndir.lhunath.opal.math.Vec2;
+import java.util.*;
+
+
+/**
+ * Tracks which tiles hold a game object, bucketed by the square cell of the level they're in.
+ * <p>
+ * Looking for the game objects near a position only visits the cells that overlap the search range instead of every tile in it.  The
+ * index is updated whenever the contents of a tile change.
+ *
+ * @author lhunath, 2014-08-18
+ */
+class SpatialIndex {
+
+    private static final int CELL_SHIFT = 3;
+
+    private final ImmutableMap<Level, ImmutableList<Set<Tile>>> cellsByLevel;
+
+    SpatialIndex(final ImmutableList<Level> levels) {
+        ImmutableMap.Builder<Level, ImmutableList<Set<Tile>>> cellsByLevelBuilder = ImmutableMap.builder();
+        for (final Level level : levels) {
+            ImmutableList.Builder<Set<Tile>> cells = ImmutableList.builder();
+            for (int cell = 0; cell < columns( level ) * rows( level ); ++cell)
+                cells.add( Sets.newHashSet() );
+            cellsByLevelBuilder.put( level, cells.build() );
+        }
+        cellsByLevel = cellsByLevelBuilder.build();
+    }
+
+    /**
+     * Record whether a tile holds a game object.
+     */
+    void update(final Tile tile, final boolean occupied) {
+        Set<Tile> cell = cellsByLevel.get( tile.getLevel() ).get( cell( tile.getLevel(), tile.getPosition() ) );
+        if (occupied)
+            cell.add( tile );
+        else
+            cell.remove( tile );
+    }
+
+    /**
+     * @return The tiles of the level that hold a game object and are at most the given distance away from the position.
+     */
+    List<Tile> find(final ILevel level, final Vec2 position, final int distance) {
+        ImmutableList<Set<Tile>> cells = cellsByLevel.get( level );
+        int fromColumn = Math.max( 0, (position.getX() - distance) >> CELL_SHIFT );
+        int toColumn = Math.min( columns( level ) - 1, (position.getX() + distance) >> CELL_SHIFT );
+        int fromRow = Math.max( 0, (position.getY() - distance) >> CELL_SHIFT );
+        int toRow = Math.min( rows( level ) - 1, (position.getY() + distance) >> CELL_SHIFT );
+
+        List<Tile> tiles = Lists.newArrayList();
+        for (int row = fromRow; row <= toRow; ++row)
+            for (int column = fromColumn; column <= toColumn; ++column)
+                for (final Tile tile : cells.get( row * columns( level ) + column ))
+                    if (tile.getPosition().distanceTo( position ) <= distance)
+                        tiles.add( tile );
+
+        return tiles;
+    }
+
+    private static int cell(final ILevel level, final Vec2 position) {
+        return (position.getY() >> CELL_SHIFT) * columns( level ) + (position.getX() >> CELL_SHIFT);
+    }
+
+    private static int columns(final ILevel level) {
+        return (level.getSize().getWidth() >> CELL_SHIFT) + 1;
+    }
+
+    private static int rows(final ILevel level) {
+        return (level.getSize().getHeight() >> CELL_SHIFT) + 1;
+    }
+}
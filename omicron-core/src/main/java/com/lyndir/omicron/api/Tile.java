@@ -29,7 +29,7 @@ public class Tile extends MetaObject implements ITile {
     @ObjectMeta(useFor = ObjectMeta.For.all)
     private final Level      level;
     @ObjectMeta(useFor = ObjectMeta.For.all)
-    private final Map<ResourceType, Integer> resourceQuantities = Collections.synchronizedMap( new EnumMap<>( ResourceType.class ) );
+    private final Map<ResourceType, Integer> resourceQuantities = new EnumMap<>( ResourceType.class );
 
     Tile(final Vec2 position, final Level level) {
         this.position = position;
@@ -66,6 +66,13 @@ public class Tile extends MetaObject implements ITile {
         return Maybe.ofNullable( contents );
     }
 
+    /**
+     * @return The object on the tile, regardless of whether the current player can observe it.
+     */
+    Optional<GameObject> findContents() {
+        return Optional.ofNullable( contents );
+    }
+
     void setContents(@Nullable final GameObject contents) {
         if (contents != null)
             Preconditions.checkState( this.contents == null || this.contents.equals( contents ),
@@ -80,6 +87,8 @@ public class Tile extends MetaObject implements ITile {
         this.contents = contents;
         if (contents != null)
             contents.setLocation( this );
+        Security.currentGame().getSpatialIndex().update( this, contents != null );
+        Security.currentGame().getSnapshots().changed( this );
 
         Security.currentGame().getController().fireIfObservable( this ) //
                 .onTileContents( this, contentsChange.to( this.contents ) );
@@ -103,6 +112,7 @@ public class Tile extends MetaObject implements ITile {
         else
             quantityChange = ChangeInt.from( resourceQuantities.remove( resourceType ) );
 
+        Security.currentGame().getSnapshots().changed( this );
         Security.currentGame().getController().fireIfObservable( this ) //
                 .onTileResources( this, resourceType, quantityChange.to( resourceQuantity ) );
     }
@@ -125,6 +135,13 @@ public class Tile extends MetaObject implements ITile {
         return Maps.immutableEnumMap( builder.build() );
     }
 
+    /**
+     * @return The quantities of the resources available in the tile, regardless of whether the current player can observe it.
+     */
+    ImmutableMap<ResourceType, Integer> getResourceQuantities() {
+        return Maps.immutableEnumMap( resourceQuantities );
+    }
+
     @Override
     public Optional<? extends IPlayer> getOwner() {
         return contents == null? Optional.empty(): contents.getOwner();
@@ -24,5 +24,19 @@ import com.google.common.collect.ImmutableList;
  */
 public interface UnitType extends IUnitType {
 
-    ImmutableList<? extends Module> createModules();
+    /**
+     * @return The immutable configuration of the modules of this unit type, shared by all units of this type.
+     */
+    ImmutableList<? extends Module.Definition<?>> getModuleDefinitions();
+
+    /**
+     * @return New module instances for a unit of this type.  The modules only carry their own state and share this type's definitions.
+     */
+    default ImmutableList<? extends Module> createModules() {
+        ImmutableList.Builder<Module> modules = ImmutableList.builder();
+        for (final Module.Definition<?> moduleDefinition : getModuleDefinitions())
+            modules.add( moduleDefinition.create() );
+
+        return modules.build();
+    }
 }
@@ -18,7 +18,6 @@
 package com.lyndir.omicron.api;
 
 import com.google.common.collect.*;
-import com.lyndir.lhunath.opal.system.collection.SSupplier;
 
 
 /**
@@ -27,106 +26,111 @@ import com.lyndir.lhunath.opal.system.collection.SSupplier;
 public enum UnitTypes implements UnitType {
 
     ENGINEER( PublicUnitTypes.ENGINEER, //
-              () -> ImmutableList.of( BaseModule.createWithStandardResourceCost()
-                                                .maxHealth( 10 )
-                                                .armor( 2 )
-                                                .viewRange( 3 )
-                                                .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ),
-                                      MobilityModule.createWithStandardResourceCost()
-                                                    .movementSpeed( 5 )
-                                                    .movementCost( ImmutableMap.of( LevelType.GROUND, 1d ) )
-                                                    .levelingCost( ImmutableMap.<LevelType, Double>of() ),
-                                      ConstructorModule.createWithStandardResourceCost().buildSpeed( 3 ).buildsModule( ModuleType.BASE ),
-                                      ConstructorModule.createWithStandardResourceCost()
-                                                       .buildSpeed( 2 )
-                                                       .buildsModule( ModuleType.CONSTRUCTOR ),
-                                      ConstructorModule.createWithStandardResourceCost()
-                                                       .buildSpeed( 3 )
-                                                       .buildsModule( ModuleType.CONTAINER ),
-                                      ConstructorModule.createWithStandardResourceCost()
-                                                       .buildSpeed( 3 )
-                                                       .buildsModule( ModuleType.EXTRACTOR ),
-                                      ConstructorModule.createWithStandardResourceCost()
-                                                       .buildSpeed( 3 )
-                                                       .buildsModule( ModuleType.MOBILITY ),
-                                      ConstructorModule.createWithStandardResourceCost().buildSpeed( 2 ).buildsModule( ModuleType.WEAPON ),
-                                      ContainerModule.createWithStandardResourceCost().resourceType( ResourceType.METALS ).capacity( 10 ),
-                                      ContainerModule.createWithStandardResourceCost().resourceType( ResourceType.FUEL ).capacity( 5 ), //
-                                      ContainerModule.createWithStandardResourceCost()
-                                                     .resourceType( ResourceType.RARE_ELEMENTS )
-                                                     .capacity( 5 ), //
-                                      ContainerModule.createWithStandardResourceCost()
-                                                     .resourceType( ResourceType.SILICON )
-                                                     .capacity( 5 ) ) ),
+              ImmutableList.of( BaseModule.createWithStandardResourceCost()
+                                          .maxHealth( 10 )
+                                          .armor( 2 )
+                                          .viewRange( 3 )
+                                          .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ),
+                                MobilityModule.createWithStandardResourceCost()
+                                              .movementSpeed( 5 )
+                                              .movementCost( ImmutableMap.of( LevelType.GROUND, 1d ) )
+                                              .levelingCost( ImmutableMap.<LevelType, Double>of() ),
+                                ConstructorModule.createWithStandardResourceCost().buildSpeed( 3 ).buildsModule( ModuleType.BASE ),
+                                ConstructorModule.createWithStandardResourceCost()
+                                                 .buildSpeed( 2 )
+                                                 .buildsModule( ModuleType.CONSTRUCTOR ),
+                                ConstructorModule.createWithStandardResourceCost()
+                                                 .buildSpeed( 3 )
+                                                 .buildsModule( ModuleType.CONTAINER ),
+                                ConstructorModule.createWithStandardResourceCost()
+                                                 .buildSpeed( 3 )
+                                                 .buildsModule( ModuleType.EXTRACTOR ),
+                                ConstructorModule.createWithStandardResourceCost()
+                                                 .buildSpeed( 3 )
+                                                 .buildsModule( ModuleType.MOBILITY ),
+                                ConstructorModule.createWithStandardResourceCost().buildSpeed( 2 ).buildsModule( ModuleType.WEAPON ),
+                                ContainerModule.createWithStandardResourceCost().resourceType( ResourceType.METALS ).capacity( 10 ),
+                                ContainerModule.createWithStandardResourceCost().resourceType( ResourceType.FUEL ).capacity( 5 ), //
+                                ContainerModule.createWithStandardResourceCost()
+                                               .resourceType( ResourceType.RARE_ELEMENTS )
+                                               .capacity( 5 ), //
+                                ContainerModule.createWithStandardResourceCost()
+                                               .resourceType( ResourceType.SILICON )
+                                               .capacity( 5 ) ) ),
     QUARRY( PublicUnitTypes.QUARRY, //
-            () -> ImmutableList.of( BaseModule.createWithStandardResourceCost()
-                                              .maxHealth( 20 )
-                                              .armor( 5 )
-                                              .viewRange( 2 )
-                                              .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ),
-                                    ExtractorModule.createWithStandardResourceCost().resourceType( ResourceType.METALS ).speed( 2 ) ) ),
+            ImmutableList.of( BaseModule.createWithStandardResourceCost()
+                                        .maxHealth( 20 )
+                                        .armor( 5 )
+                                        .viewRange( 2 )
+                                        .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ),
+                              ExtractorModule.createWithStandardResourceCost().resourceType( ResourceType.METALS ).speed( 2 ) ) ),
     DRILL( PublicUnitTypes.DRILL, //
-           () -> ImmutableList.of( BaseModule.createWithStandardResourceCost()
-                                             .maxHealth( 20 )
-                                             .armor( 2 )
-                                             .viewRange( 2 )
-                                             .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ),
-                                   ExtractorModule.createWithStandardResourceCost().resourceType( ResourceType.FUEL ).speed( 2 ) ) ),
+           ImmutableList.of( BaseModule.createWithStandardResourceCost()
+                                       .maxHealth( 20 )
+                                       .armor( 2 )
+                                       .viewRange( 2 )
+                                       .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ),
+                             ExtractorModule.createWithStandardResourceCost().resourceType( ResourceType.FUEL ).speed( 2 ) ) ),
     CONTAINER( PublicUnitTypes.CONTAINER, //
-               () -> ImmutableList.of( BaseModule.createWithStandardResourceCost()
-                                                 .maxHealth( 20 )
-                                                 .armor( 10 )
-                                                 .viewRange( 2 )
-                                                 .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ),
-                                       ContainerModule.createWithStandardResourceCost().resourceType( ResourceType.METALS ).capacity( 20 ),
-                                       //
-                                       ContainerModule.createWithStandardResourceCost().resourceType( ResourceType.FUEL ).capacity( 20 ), //
-                                       ContainerModule.createWithStandardResourceCost()
-                                                      .resourceType( ResourceType.RARE_ELEMENTS )
-                                                      .capacity( 20 ), //
-                                       ContainerModule.createWithStandardResourceCost()
-                                                      .resourceType( ResourceType.SILICON )
-                                                      .capacity( 20 ) ) ),
+               ImmutableList.of( BaseModule.createWithStandardResourceCost()
+                                           .maxHealth( 20 )
+                                           .armor( 10 )
+                                           .viewRange( 2 )
+                                           .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ),
+                                 ContainerModule.createWithStandardResourceCost().resourceType( ResourceType.METALS ).capacity( 20 ),
+                                 //
+                                 ContainerModule.createWithStandardResourceCost().resourceType( ResourceType.FUEL ).capacity( 20 ), //
+                                 ContainerModule.createWithStandardResourceCost()
+                                                .resourceType( ResourceType.RARE_ELEMENTS )
+                                                .capacity( 20 ), //
+                                 ContainerModule.createWithStandardResourceCost()
+                                                .resourceType( ResourceType.SILICON )
+                                                .capacity( 20 ) ) ),
     SCOUT( PublicUnitTypes.SCOUT, //
-           () -> ImmutableList.of( BaseModule.createWithStandardResourceCost()
-                                             .maxHealth( 5 )
-                                             .armor( 3 )
-                                             .viewRange( 5 )
-                                             .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ),
-                                   MobilityModule.createWithStandardResourceCost()
-                                                 .movementSpeed( 8 )
-                                                 .movementCost( ImmutableMap.of( LevelType.GROUND, 1d ) )
-                                                 .levelingCost( ImmutableMap.<LevelType, Double>of() ),
-                                   WeaponModule.createWithStandardResourceCost()
-                                               .firePower( 3 )
-                                               .armor( 3 )
-                                               .range( 5 )
-                                               .repeat( 3 )
-                                               .ammunitionLoad( 20 )
-                                               .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ) ) ),
+           ImmutableList.of( BaseModule.createWithStandardResourceCost()
+                                       .maxHealth( 5 )
+                                       .armor( 3 )
+                                       .viewRange( 5 )
+                                       .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ),
+                             MobilityModule.createWithStandardResourceCost()
+                                           .movementSpeed( 8 )
+                                           .movementCost( ImmutableMap.of( LevelType.GROUND, 1d ) )
+                                           .levelingCost( ImmutableMap.<LevelType, Double>of() ),
+                             WeaponModule.createWithStandardResourceCost()
+                                         .firePower( 3 )
+                                         .armor( 3 )
+                                         .range( 5 )
+                                         .repeat( 3 )
+                                         .ammunitionLoad( 20 )
+                                         .supportedLayers( ImmutableSet.of( LevelType.GROUND ) ) ) ),
     AIRSHIP( PublicUnitTypes.AIRSHIP, //
-             () -> ImmutableList.of( BaseModule.createWithStandardResourceCost()
-                                               .maxHealth( 5 )
-                                               .armor( 1 )
-                                               .viewRange( 5 )
-                                               .supportedLayers( ImmutableSet.of( LevelType.SKY ) ),
-                                     MobilityModule.createWithStandardResourceCost()
-                                                   .movementSpeed( 2 )
-                                                   .movementCost( ImmutableMap.of( LevelType.SKY, 1d ) )
-                                                   .levelingCost( ImmutableMap.<LevelType, Double>of() ) ) ),
+             ImmutableList.of( BaseModule.createWithStandardResourceCost()
+                                         .maxHealth( 5 )
+                                         .armor( 1 )
+                                         .viewRange( 5 )
+                                         .supportedLayers( ImmutableSet.of( LevelType.SKY ) ),
+                               MobilityModule.createWithStandardResourceCost()
+                                             .movementSpeed( 2 )
+                                             .movementCost( ImmutableMap.of( LevelType.SKY, 1d ) )
+                                             .levelingCost( ImmutableMap.<LevelType, Double>of() ) ) ),
     CONSTRUCTION( PublicUnitTypes.CONSTRUCTION, //
-                  () -> ImmutableList.of( BaseModule.createWithStandardResourceCost()
-                                                    .maxHealth( 1 )
-                                                    .armor( 1 )
-                                                    .viewRange( 1 )
-                                                    .supportedLayers( ImmutableSet.copyOf( LevelType.values() ) ) ) );
+                  ImmutableList.of( BaseModule.createWithStandardResourceCost()
+                                              .maxHealth( 1 )
+                                              .armor( 1 )
+                                              .viewRange( 1 )
+                                              .supportedLayers( ImmutableSet.copyOf( LevelType.values() ) ) ) );
 
-    private final PublicUnitTypes                            publicUnitType;
-    private final SSupplier<ImmutableList<? extends Module>> moduleSupplier;
+    private final PublicUnitTypes                     publicUnitType;
+    private final ImmutableList<Module.Definition<?>> moduleDefinitions;
 
-    UnitTypes(final PublicUnitTypes publicUnitType, final SSupplier<ImmutableList<? extends Module>> moduleSupplier) {
+    UnitTypes(final PublicUnitTypes publicUnitType, final ImmutableList<? extends Module> modules) {
         this.publicUnitType = publicUnitType;
-        this.moduleSupplier = moduleSupplier;
+
+        // Keep only the modules' immutable definitions; they're shared by all the units we create.
+        ImmutableList.Builder<Module.Definition<?>> moduleDefinitionsBuilder = ImmutableList.builder();
+        for (final Module module : modules)
+            moduleDefinitionsBuilder.add( module.getDefinition() );
+        moduleDefinitions = moduleDefinitionsBuilder.build();
     }
 
     @Override
@@ -140,7 +144,7 @@ public enum UnitTypes implements UnitType {
     }
 
     @Override
-    public ImmutableList<? extends Module> createModules() {
-        return moduleSupplier.get();
+    public ImmutableList<Module.Definition<?>> getModuleDefinitions() {
+        return moduleDefinitions;
     }
 }
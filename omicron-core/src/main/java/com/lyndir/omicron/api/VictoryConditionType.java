@@ -102,7 +102,7 @@ public enum VictoryConditionType {
                         if (mightiestPlayer != null && mightiestIsMighty) {
                             // We found a mighty player.
                             mightyPlayer = mightiestPlayer;
-                            mightySince = game.getTurns().getLast();
+                            mightySince = game.getCurrentTurn();
                         }
                     }
                 }
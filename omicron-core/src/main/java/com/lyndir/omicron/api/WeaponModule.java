@@ -2,37 +2,22 @@ package com.lyndir.omicron.api;
 
 import static com.lyndir.omicron.api.error.ExceptionUtils.assertState;
 
-import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.*;
+import com.lyndir.lhunath.opal.math.Vec2;
 import com.lyndir.omicron.api.error.*;
-import com.lyndir.omicron.api.util.Maybe;
-import java.util.Random;
-import java.util.Set;
+import java.util.*;
 
 
 public class WeaponModule extends Module implements IWeaponModule, IWeaponModuleController {
 
-    private static final Random RANDOM = new Random();
-    private final int                     firePower;
-    private final int                     variance;
-    private final int                     range;
-    private final int                     repeat;
-    private final int                     ammunitionLoad;
-    private final ImmutableSet<LevelType> supportedLayers;
-    private       int                     repeated;
-    private       int                     ammunition;
+    private final Definition definition;
+    private       int        repeated;
+    private       int        ammunition;
 
-    protected WeaponModule(final ImmutableResourceCost resourceCost, final int firePower, final int variance, final int range,
-                           final int repeat, final int ammunitionLoad, final Set<LevelType> supportedLayers) {
-        super( resourceCost );
+    protected WeaponModule(final Definition definition) {
+        this.definition = definition;
 
-        this.firePower = firePower;
-        this.variance = variance;
-        this.range = range;
-        this.repeat = repeat;
-        this.ammunitionLoad = ammunitionLoad;
-        this.supportedLayers = ImmutableSet.copyOf( supportedLayers );
-
-        ammunition = ammunitionLoad;
+        ammunition = definition.getAmmunitionLoad();
     }
 
     static Builder0 createWithStandardResourceCost() {
@@ -43,34 +28,39 @@ public class WeaponModule extends Module implements IWeaponModule, IWeaponModule
         return new Builder0( ModuleType.WEAPON.getStandardCost().add( resourceCost ) );
     }
 
+    @Override
+    public Definition getDefinition() {
+        return definition;
+    }
+
     @Override
     public int getFirePower()
             throws NotAuthenticatedException, NotObservableException {
-        return firePower;
+        return definition.getFirePower();
     }
 
     @Override
     public int getVariance()
             throws NotAuthenticatedException, NotObservableException {
-        return variance;
+        return definition.getVariance();
     }
 
     @Override
     public int getRange()
             throws NotAuthenticatedException, NotObservableException {
-        return range;
+        return definition.getRange();
     }
 
     @Override
     public int getRepeat()
             throws NotAuthenticatedException, NotObservableException {
-        return repeat;
+        return definition.getRepeat();
     }
 
     @Override
     public int getAmmunitionLoad()
             throws NotAuthenticatedException, NotObservableException {
-        return ammunitionLoad;
+        return definition.getAmmunitionLoad();
     }
 
     @Override
@@ -88,41 +78,97 @@ public class WeaponModule extends Module implements IWeaponModule, IWeaponModule
             throws NotAuthenticatedException, NotObservableException {
         assertObservable();
 
-        return ImmutableSet.copyOf( supportedLayers );
+        return definition.getSupportedLayers();
     }
 
     @Override
     public boolean fireAt(final ITile target)
             throws NotAuthenticatedException, NotOwnedException, NotObservableException, IWeaponModuleController.OutOfRangeException,
                    IWeaponModuleController.OutOfRepeatsException, IWeaponModuleController.OutOfAmmunitionException {
+        return fireAt( ImmutableList.of( target ) );
+    }
+
+    /**
+     * The shots are resolved per target in the order the targets are first listed: all shots at a target are fired together, after which
+     * the object on it takes their damage at once, or when the turn ends if combat is simultaneous.
+     */
+    @Override
+    public boolean fireAt(final List<? extends ITile> targets)
+            throws NotAuthenticatedException, NotOwnedException, NotObservableException, IWeaponModuleController.OutOfRangeException,
+                   IWeaponModuleController.OutOfRepeatsException, IWeaponModuleController.OutOfAmmunitionException {
         assertOwned();
-        Security.assertObservable( target );
-        assertState( getGameObject().getLocation().get().getPosition().distanceTo( target.getPosition() ) <= range,
-                     IWeaponModuleController.OutOfRangeException.class );
-        assertState( repeated < repeat, IWeaponModuleController.OutOfRepeatsException.class );
-        assertState( ammunition > 0, IWeaponModuleController.OutOfAmmunitionException.class );
-
-        ChangeInt.From repeatedChange = ChangeInt.from( repeated );
-        ChangeInt.From ammunitionChange = ChangeInt.from( ammunition );
-
-        ++repeated;
-        --ammunition;
-
-        getGameObject().getGame()
-                       .getController()
-                       .fireIfObservable( getGameObject() )
-                       .onWeaponFired( this, target, repeatedChange.to( repeated ), ammunitionChange.to( ammunition ) );
-
-        Maybe<? extends IGameObject> targetGameObject = target.getContents();
-        if (targetGameObject.isPresent())
-            targetGameObject.get().onModule( ModuleType.BASE, 0, module -> {
-                module.addDamage( firePower + RANDOM.nextInt( variance ) );
-                return Void.TYPE;
-            } );
+        Vec2 position = getGameObject().getLocation().get().getPosition();
+        Map<ITile, Integer> shotsByTarget = Maps.newLinkedHashMap();
+        for (final ITile target : targets)
+            if (shotsByTarget.merge( target, 1, Integer::sum ) == 1) {
+                Security.assertObservable( target );
+                assertState( position.distanceTo( target.getPosition() ) <= definition.getRange(),
+                             IWeaponModuleController.OutOfRangeException.class );
+            }
+        assertState( repeated + targets.size() <= definition.getRepeat(), IWeaponModuleController.OutOfRepeatsException.class );
+        assertState( ammunition >= targets.size(), IWeaponModuleController.OutOfAmmunitionException.class );
+
+        GameController gameController = getGameObject().getGame().getController();
+        gameController.batch( () -> {
+            for (final Map.Entry<ITile, Integer> shots : shotsByTarget.entrySet()) {
+                ChangeInt.From repeatedChange = ChangeInt.from( repeated );
+                ChangeInt.From ammunitionChange = ChangeInt.from( ammunition );
+
+                repeated += shots.getValue();
+                ammunition -= shots.getValue();
+
+                gameController.fireIfObservable( getGameObject() )
+                              .onWeaponFired( this, shots.getKey(), repeatedChange.to( repeated ), ammunitionChange.to( ammunition ) );
+
+                getGameObject().getGame().getCombat().fire( this, Tile.cast( shots.getKey() ), shots.getValue() );
+            }
+        } );
 
         return true;
     }
 
+    /**
+     * Rather than asking for each target whether it is observable, the locations and view ranges of the current player's objects are
+     * collected once and each object in range is checked against them.
+     */
+    @Override
+    public ImmutableList<GameObject> targets()
+            throws NotAuthenticatedException, NotOwnedException {
+        assertOwned();
+        Game game = getGameObject().getGame();
+        Vec2 position = getGameObject().getLocation().get().getPosition();
+        Optional<Player> owner = getGameObject().getOwner();
+
+        List<Vec2> eyePositions = Lists.newArrayList();
+        List<Integer> eyeRanges = Lists.newArrayList();
+        if (!Security.isGod())
+            for (final GameObject observer : Security.currentPlayer().getObjects()) {
+                eyePositions.add( observer.getLocation().get().getPosition() );
+                eyeRanges.add( observer.onModuleElse( PublicModuleType.BASE, 0, -1, IBaseModule::getViewRange ) );
+            }
+
+        List<Tile> targetTiles = Lists.newArrayList();
+        for (final LevelType levelType : definition.getSupportedLayers())
+            for (final Tile tile : game.getSpatialIndex().find( game.getLevel( levelType ), position, definition.getRange() )) {
+                Optional<Player> targetOwner = tile.findContents().flatMap( GameObject::getOwner );
+                if (!targetOwner.isPresent() || targetOwner.equals( owner ))
+                    continue;
+
+                boolean observed = Security.isGod();
+                for (int e = 0; !observed && e < eyePositions.size(); ++e)
+                    observed = eyePositions.get( e ).distanceTo( tile.getPosition() ) <= eyeRanges.get( e );
+                if (observed)
+                    targetTiles.add( tile );
+            }
+        targetTiles.sort( Comparator.comparingDouble( tile -> tile.getPosition().distanceTo( position ) ) );
+
+        ImmutableList.Builder<GameObject> targets = ImmutableList.builder();
+        for (final Tile tile : targetTiles)
+            targets.add( tile.findContents().get() );
+
+        return targets.build();
+    }
+
     @Override
     protected void onReset() {
         repeated = 0;
@@ -142,6 +188,63 @@ public class WeaponModule extends Module implements IWeaponModule, IWeaponModule
         return this;
     }
 
+    public static class Definition extends Module.Definition<WeaponModule> {
+
+        private final int                     firePower;
+        private final int                     variance;
+        private final int                     range;
+        private final int                     repeat;
+        private final int                     ammunitionLoad;
+        private final ImmutableSet<LevelType> supportedLayers;
+
+        Definition(final ImmutableResourceCost resourceCost, final int firePower, final int variance, final int range, final int repeat,
+                   final int ammunitionLoad, final Set<LevelType> supportedLayers) {
+            super( resourceCost );
+
+            this.firePower = firePower;
+            this.variance = variance;
+            this.range = range;
+            this.repeat = repeat;
+            this.ammunitionLoad = ammunitionLoad;
+            this.supportedLayers = ImmutableSet.copyOf( supportedLayers );
+        }
+
+        @Override
+        public PublicModuleType<IWeaponModule> getType() {
+            return PublicModuleType.WEAPON;
+        }
+
+        public int getFirePower() {
+            return firePower;
+        }
+
+        public int getVariance() {
+            return variance;
+        }
+
+        public int getRange() {
+            return range;
+        }
+
+        public int getRepeat() {
+            return repeat;
+        }
+
+        public int getAmmunitionLoad() {
+            return ammunitionLoad;
+        }
+
+        public ImmutableSet<LevelType> getSupportedLayers() {
+            return supportedLayers;
+        }
+
+        @Override
+        WeaponModule create() {
+            return new WeaponModule( this );
+        }
+    }
+
+
     @SuppressWarnings({ "ParameterHidesMemberVariable", "InnerClassFieldHidesOuterClassField" })
     static class Builder0 {
 
@@ -212,8 +315,8 @@ public class WeaponModule extends Module implements IWeaponModule, IWeaponModule
                             }
 
                             WeaponModule supportedLayers(final Set<LevelType> supportedLayers) {
-                                return new WeaponModule( resourceCost, firePower, variance, range, repeat, ammunitionLoad,
-                                                         supportedLayers );
+                                return new Definition( resourceCost, firePower, variance, range, repeat, ammunitionLoad,
+                                                       supportedLayers ).create();
                             }
                         }
                     }
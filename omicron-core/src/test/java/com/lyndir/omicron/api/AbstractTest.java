@@ -100,6 +100,15 @@ public abstract class AbstractTest {
                 return constructionWork;
             }
 
+            @Override
+            public ImmutableList<? extends Module.Definition<?>> getModuleDefinitions() {
+                ImmutableList.Builder<Module.Definition<?>> moduleDefinitions = ImmutableList.builder();
+                for (final Module module : modules)
+                    moduleDefinitions.add( module.getDefinition() );
+
+                return moduleDefinitions.build();
+            }
+
             @Override
             public ImmutableList<? extends Module> createModules() {
                 return ImmutableList.copyOf( modules );
@@ -0,0 +1,99 @@
+package com.lyndir.omicron.api;
+
+import static org.testng.AssertJUnit.*;
+
+import com.lyndir.lhunath.opal.math.Vec2;
+import java.util.Optional;
+import org.testng.annotations.Test;
+
+
+public class DiscoveryTest extends AbstractTest {
+
+    private Player otherPlayer;
+
+    @Override
+    protected Game.Builder newGameBuilder() {
+        Game.Builder builder = super.newGameBuilder();
+        otherPlayer = builder.addPlayer( null, Player.randomName(), Color.random(), Color.random() );
+        return builder;
+    }
+
+    @Test
+    public void testContactOnSpawn()
+            throws Exception {
+
+        createUnit( UnitTypes.SCOUT, 0, 4 );
+        createUnit( UnitTypes.SCOUT, staticGame, otherPlayer, 9, 4 );
+        assertUndiscovered();
+
+        // Placed within view of each other's units.
+        createUnit( UnitTypes.SCOUT, staticGame, otherPlayer, 3, 4 );
+        assertDiscovered( currentTurn() );
+    }
+
+    @Test
+    public void testContactOnMove()
+            throws Exception {
+
+        GameObject scout = createUnit( UnitTypes.SCOUT, 0, 4 );
+        createUnit( UnitTypes.SCOUT, staticGame, otherPlayer, 9, 4 );
+        staticGame.getController().setReady();
+        assertUndiscovered();
+
+        Tile target = Tile.cast( staticGame.getLevel( LevelType.GROUND ).getTile( Vec2.create( 5, 4 ) ).get() );
+        scout.onModule( ModuleType.MOBILITY, 0, module -> module.movement( target ) ).execute();
+        assertDiscovered( currentTurn() );
+    }
+
+    @Test
+    public void testContactOnCapture()
+            throws Exception {
+
+        createUnit( UnitTypes.SCOUT, 0, 4 );
+        createUnit( UnitTypes.SCOUT, staticGame, otherPlayer, 9, 4 );
+        GameObject captured = createUnit( UnitTypes.SCOUT, staticGame, otherPlayer, 9, 6 );
+        assertUndiscovered();
+
+        // The captured unit sees the other player's unit next to it, which sees it back.
+        captured.getController().setOwner( staticPlayer );
+        assertDiscovered( currentTurn() );
+    }
+
+    @Test
+    public void testFirstContactTurn()
+            throws Exception {
+
+        createUnit( UnitTypes.SCOUT, 0, 4 );
+        staticGame.getController().setReady();
+        staticGame.getController().setReady();
+        int contactTurn = currentTurn();
+        assertTrue( contactTurn > 1 );
+
+        createUnit( UnitTypes.SCOUT, staticGame, otherPlayer, 3, 4 );
+        assertEquals( Optional.of( contactTurn ),
+                      staticGame.getController().getPlayerGameInfo( otherPlayer ).getFirstContactTurn() );
+
+        // Later contact doesn't change the turn of the first.
+        staticGame.getController().setReady();
+        createUnit( UnitTypes.SCOUT, staticGame, otherPlayer, 2, 4 );
+        assertDiscovered( contactTurn );
+        assertEquals( Optional.of( contactTurn ),
+                      staticGame.getController().getPlayerGameInfo( otherPlayer ).getFirstContactTurn() );
+    }
+
+    private int currentTurn() {
+        return staticGame.getCurrentTurn().getNumber();
+    }
+
+    private void assertUndiscovered() {
+        assertFalse( staticGame.getDiscovery().firstContact( staticPlayer, otherPlayer ).isPresent() );
+        assertFalse( staticGame.getDiscovery().firstContact( otherPlayer, staticPlayer ).isPresent() );
+        assertFalse( staticGame.getController().getPlayerGameInfo( otherPlayer ).isDiscovered() );
+    }
+
+    private void assertDiscovered(final int turn) {
+        assertEquals( Optional.of( turn ), staticGame.getDiscovery().firstContact( staticPlayer, otherPlayer ) );
+        assertEquals( Optional.of( turn ), staticGame.getDiscovery().firstContact( otherPlayer, staticPlayer ) );
+        assertTrue( staticGame.getController().getPlayerGameInfo( otherPlayer ).isDiscovered() );
+    }
+}
@@ -0,0 +1,47 @@
+package com.lyndir.omicron.api;
+
+import static org.testng.AssertJUnit.*;
+
+import com.google.common.collect.Lists;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.annotations.Test;
+
+
+public class GameControllerTest extends AbstractTest {
+
+    @Test
+    public void testSubmit()
+            throws Exception {
+
+        GameController gameController = staticGame.getController();
+
+        // Commands run as the player that sent them.
+        assertEquals( staticPlayer, gameController.submit( Security::currentPlayer ).get() );
+        assertTrue( Security.godRun( () -> gameController.call( Security::isGod ) ) );
+
+        // Commands run one at a time, in the order they were sent.
+        List<Integer> handled = Lists.newArrayList();
+        AtomicInteger running = new AtomicInteger(), overlapping = new AtomicInteger();
+        List<CompletableFuture<Boolean>> commands = Lists.newArrayList();
+        for (int command = 0; command < 100; ++command) {
+            int index = command;
+            commands.add( gameController.submit( () -> {
+                if (running.incrementAndGet() > 1)
+                    overlapping.incrementAndGet();
+                handled.add( index );
+                running.decrementAndGet();
+                return Boolean.TRUE;
+            } ) );
+        }
+        CompletableFuture.allOf( commands.toArray( new CompletableFuture<?>[commands.size()] ) ).get();
+        assertEquals( 0, overlapping.get() );
+        assertEquals( IntStream.range( 0, 100 ).boxed().collect( Collectors.toList() ), handled );
+
+        // A command sent while handling another one runs right away instead of waiting for the one that sent it.
+        assertEquals( 1, (int) gameController.call( () -> gameController.call( () -> 1 ) ) );
+    }
+}
@@ -0,0 +1,68 @@
+package com.lyndir.omicron.api;
+
+import static org.testng.AssertJUnit.*;
+
+import com.lyndir.lhunath.opal.math.Vec2;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.testng.annotations.Test;
+
+
+public class GameSnapshotTest extends AbstractTest {
+
+    @Test
+    public void testSnapshot()
+            throws Exception {
+
+        GameSnapshot initial = staticGame.getSnapshot();
+        assertEquals( 0, initial.getUnits().count() );
+
+        // Changes made outside of a command only show up when the turn ends.
+        GameObject scout = createUnit( UnitTypes.SCOUT, 1, 1 );
+        assertSame( initial, staticGame.getSnapshot() );
+
+        staticGame.getController().setReady();
+        GameSnapshot turn = staticGame.getSnapshot();
+        assertTrue( turn.getVersion() > initial.getVersion() );
+        assertEquals( initial.getTurn().getNumber() + 1, turn.getTurn().getNumber() );
+        GameSnapshot.UnitSnapshot scoutSnapshot = turn.getContents( LevelType.GROUND, Vec2.create( 1, 1 ) ).get();
+        assertEquals( scout.getObjectID(), scoutSnapshot.getObjectID() );
+        assertEquals( staticPlayer.getPlayerID(), (long) scoutSnapshot.getOwnerID().get() );
+        assertFalse( turn.getContents( LevelType.GROUND, Vec2.create( 2, 1 ) ).isPresent() );
+        assertFalse( initial.getContents( LevelType.GROUND, Vec2.create( 1, 1 ) ).isPresent() );
+
+        // Only the chunk that changed was rebuilt, the others are shared with the previous snapshot.
+        assertNotSame( initial.chunk( LevelType.GROUND, 0 ), turn.chunk( LevelType.GROUND, 0 ) );
+        assertSame( initial.chunk( LevelType.GROUND, 3 ), turn.chunk( LevelType.GROUND, 3 ) );
+        assertSame( initial.chunk( LevelType.SKY, 0 ), turn.chunk( LevelType.SKY, 0 ) );
+
+        // A command that changes nothing doesn't publish a new snapshot.
+        assertTrue( staticGame.getController().call( () -> Boolean.TRUE ) );
+        assertSame( turn, staticGame.getSnapshot() );
+    }
+
+    @Test
+    public void testObservedPositions()
+            throws Exception {
+
+        GameObject scout = createUnit( UnitTypes.SCOUT, 4, 4 );
+        Tile.cast( staticGame.getLevel( LevelType.GROUND ).getTile( Vec2.create( 5, 4 ) ).get() )
+            .setResourceQuantity( ResourceType.METALS, 7 );
+        staticGame.getController().setReady();
+        GameSnapshot snapshot = staticGame.getSnapshot();
+
+        assertEquals( 7, snapshot.getResourceQuantity( LevelType.GROUND, Vec2.create( 5, 4 ), ResourceType.METALS ) );
+        assertEquals( 0, snapshot.getResourceQuantity( LevelType.GROUND, Vec2.create( 5, 4 ), ResourceType.FUEL ) );
+        assertEquals( scout.getModule( ModuleType.BASE, 0 ).get().getViewRange(),
+                      (int) snapshot.getContents( LevelType.GROUND, Vec2.create( 4, 4 ) ).get().getViewRange().get() );
+
+        // The snapshot finds the same tiles that the player observes.
+        Set<Vec2> observed = staticPlayer.getController()
+                                         .observedTiles( LevelType.GROUND, Vec2.create(), staticGame.getLevelSize() )
+                                         .map( observedTile -> observedTile.getTile().getPosition() )
+                                         .collect( Collectors.toSet() );
+        assertFalse( observed.isEmpty() );
+        assertEquals( observed, snapshot.observedPositions( staticPlayer.getPlayerID(), LevelType.GROUND, Vec2.create(),
+                                                            staticGame.getLevelSize() ).collect( Collectors.toSet() ) );
+    }
+}
@@ -2,8 +2,12 @@ package com.lyndir.omicron.api;
 
 import static org.testng.AssertJUnit.*;
 
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.*;
 import com.lyndir.lhunath.opal.math.*;
+import com.lyndir.omicron.api.util.PathUtils;
+import com.lyndir.omicron.api.view.FlowField;
+import com.lyndir.omicron.api.view.ReachableArea;
+import java.util.*;
 import org.testng.annotations.Test;
 
 
@@ -52,6 +56,18 @@ public class MobilityModuleTest extends AbstractTest {
         assertEquals( 0d, module.costForLevelingToLevel( LevelType.GROUND ) );
         assertEquals( 1d, module.costForLevelingToLevel( LevelType.SKY ) );
         assertEquals( 3d, module.costForLevelingToLevel( LevelType.SPACE ) );
+
+        // Leveling down is possible even when leveling further up is not.
+        module = MobilityModule.createWithStandardResourceCost()
+                               .movementSpeed( 0 )
+                               .movementCost( ImmutableMap.<LevelType, Double>of() )
+                               .levelingCost( ImmutableMap.of( LevelType.GROUND, 1d ) );
+        createUnit( testUnitType( "Lander", module ), staticGame, staticPlayer,
+                    Tile.cast( staticGame.getLevel( LevelType.SKY ).getTile( Vec2.create( 1, 1 ) ).get() ) );
+
+        assertEquals( 1d, module.costForLevelingToLevel( LevelType.GROUND ) );
+        assertEquals( 0d, module.costForLevelingToLevel( LevelType.SKY ) );
+        assertEquals( Double.MAX_VALUE, module.costForLevelingToLevel( LevelType.SPACE ) );
     }
 
     @Test
@@ -168,4 +184,153 @@ public class MobilityModuleTest extends AbstractTest {
         assertEquals( Vec2.create( 0, 5 ), mover.getLocation().get().getPosition() );
         assertEquals( 3d, mover.onModule( ModuleType.MOBILITY, 0, MobilityModule::getRemainingSpeed ) );
     }
+
+    @Test
+    public void testReachable()
+            throws Exception {
+
+        GameObject mover = createUnit( testUnitType( "Mover", BaseModule.createWithStandardResourceCost()
+                                                                        .maxHealth( 1 )
+                                                                        .armor( 1 )
+                                                                        .viewRange( 10 )
+                                                                        .supportedLayers( LevelType.values() ),
+                                                     MobilityModule.createWithStandardResourceCost()
+                                                                   .movementSpeed( 4 )
+                                                                   .movementCost(
+                                                                           ImmutableMap.of( LevelType.GROUND, 1d, LevelType.SKY, 2d ) )
+                                                                   .levelingCost( ImmutableMap.of( LevelType.GROUND, 1d ) ) ), 4, 4 );
+        createUnit( testUnitType( "Obstacle" ), 5, 4 );
+        staticGame.getController().setReady();
+
+        for (final LevelType levelType : ImmutableList.of( LevelType.GROUND, LevelType.SKY )) {
+            ReachableArea area = mover.onModule( ModuleType.MOBILITY, 0, module -> module.reachable( levelType ) );
+            assertEquals( mover.getLocation().get().getPosition(), area.getPosition( 0 ) );
+            assertEquals( -1, area.getParent( 0 ) );
+
+            // The area agrees with searching for a movement to each tile.
+            for (final ITile tile : staticGame.getLevel( levelType ).getTilesByPosition().values()) {
+                MobilityModule.Movement movement = mover.onModule( ModuleType.MOBILITY, 0, module -> module.movement( tile ) );
+                assertEquals( tile.toString(), movement.isPossible(), area.contains( tile ) );
+                if (!movement.isPossible())
+                    continue;
+
+                assertEquals( movement.getCost(), area.getCost( tile ).getAsDouble() );
+                ImmutableList<ITile> steps = area.getSteps( tile );
+                assertEquals( tile, steps.get( steps.size() - 1 ) );
+                for (int s = 1; s < steps.size(); ++s)
+                    assertTrue( steps.get( s - 1 ).neighbours().contains( steps.get( s ) ) );
+            }
+        }
+
+        // The obstacle is in the way on the ground but not in the sky.
+        ITile obstacleTile = staticGame.getLevel( LevelType.GROUND ).getTile( Vec2.create( 5, 4 ) ).get();
+        assertFalse( mover.onModule( ModuleType.MOBILITY, 0, module -> module.reachable( LevelType.GROUND ) ).contains( obstacleTile ) );
+        assertEquals( 3d, mover.onModule( ModuleType.MOBILITY, 0, module -> module.reachable( LevelType.SKY ) )
+                           .getCost( staticGame.getLevel( LevelType.SKY ).getTile( Vec2.create( 5, 4 ) ).get() ).getAsDouble() );
+
+        // Space is out of reach.
+        assertTrue( mover.onModule( ModuleType.MOBILITY, 0, module -> module.reachable( LevelType.SPACE ) ).isEmpty() );
+    }
+
+    @Test
+    public void testGroupMovement()
+            throws Exception {
+
+        // A row of units that each move one tile east, listed back to front so every unit is in the way of the one before it.
+        Map<GameObject, ITile> targets = Maps.newLinkedHashMap();
+        for (int x = 1; x <= 4; ++x)
+            targets.put( createUnit( testUnitType( "Mover", BaseModule.createWithStandardResourceCost()
+                                                                      .maxHealth( 1 )
+                                                                      .armor( 1 )
+                                                                      .viewRange( 10 )
+                                                                      .supportedLayers( LevelType.values() ),
+                                                   MobilityModule.createWithStandardResourceCost()
+                                                                 .movementSpeed( 1 )
+                                                                 .movementCost( ImmutableMap.of( LevelType.GROUND, 1d ) )
+                                                                 .levelingCost( ImmutableMap.<LevelType, Double>of() ) ), x, 2 ),
+                         staticGame.getLevel( LevelType.GROUND ).getTile( Vec2.create( x + 1, 2 ) ).get() );
+        staticGame.getController().setReady();
+
+        IGameController.IGroupMovement groupMovement = staticGame.getController().groupMovement( targets );
+        assertTrue( groupMovement.isPossible() );
+        assertTrue( groupMovement.getImpossible().isEmpty() );
+        assertEquals( ImmutableList.copyOf( targets.keySet() ).reverse(), groupMovement.getMovements().keySet().asList() );
+
+        // Listeners only hear of the movements once all units have moved.
+        List<IGameObject> moved = Lists.newLinkedList();
+        staticGame.getController().addGameListener( new GameListener() {
+            @Override
+            public void onMobilityMoved(final IMobilityModule mobilityModule, final Change<ITile> location,
+                                        final ChangeDbl remainingSpeed) {
+                for (final Map.Entry<GameObject, ITile> target : targets.entrySet())
+                    assertEquals( target.getValue(), target.getKey().getLocation().get() );
+                moved.add( mobilityModule.getGameObject() );
+            }
+        } );
+        groupMovement.execute();
+        assertEquals( groupMovement.getMovements().keySet().asList(), moved );
+    }
+
+    @Test
+    public void testMovementToward()
+            throws Exception {
+
+        GameObject mover = createMover( 0, 4 );
+        staticGame.getController().setReady();
+        Tile target = Tile.cast( staticGame.getLevel( LevelType.GROUND ).getTile( Vec2.create( 8, 4 ) ).get() );
+
+        // The unit makes as much progress along the field as its speed allows.
+        FlowField flowField = staticGame.getFlowFields().get( target );
+        int originSteps = flowField.getSteps( mover.getLocation().get() ).getAsInt();
+        MobilityModule.Movement movement = mover.onModule( ModuleType.MOBILITY, 0, module -> module.movementToward( target ) );
+        assertTrue( movement.isPossible() );
+        assertEquals( 3d, movement.getCost() );
+        assertEquals( originSteps - 3, flowField.getSteps( movement.getPath().getTarget() ).getAsInt() );
+        assertEquals( movement.getCost(), mover.onModule( ModuleType.MOBILITY, 0, module -> module.movement(
+                movement.getPath().getTarget() ) ).getCost() );
+        movement.execute();
+
+        // No speed left to make progress.
+        assertFalse( mover.onModule( ModuleType.MOBILITY, 0, module -> module.movementToward( target ) ).isPossible() );
+    }
+
+    @Test
+    public void testMovementTowardSharedField()
+            throws Exception {
+
+        List<GameObject> movers = ImmutableList.of( createMover( 0, 2 ), createMover( 0, 4 ), createMover( 0, 6 ) );
+        staticGame.getController().setReady();
+        Tile target = Tile.cast( staticGame.getLevel( LevelType.GROUND ).getTile( Vec2.create( 8, 4 ) ).get() );
+        FlowField flowField = staticGame.getFlowFields().get( target );
+
+        // Hold the tile that the field leads the last unit to first.
+        GameObject blocked = movers.get( 2 );
+        ITile held = flowField.getNext( blocked.getLocation().get() ).get();
+        createUnit( testUnitType( "Blocker" ), held.getPosition().getX(), held.getPosition().getY() );
+
+        // Units heading for the same target follow one field, stepping around the tiles held by objects along the way.
+        for (final GameObject mover : movers) {
+            int originSteps = flowField.getSteps( mover.getLocation().get() ).getAsInt();
+            MobilityModule.Movement movement = mover.onModule( ModuleType.MOBILITY, 0, module -> module.movementToward( target ) );
+            assertTrue( movement.isPossible() );
+            assertTrue( flowField.getSteps( movement.getPath().getTarget() ).getAsInt() < originSteps );
+            for (Optional<PathUtils.Path<ITile>> step = Optional.of( movement.getPath() ); step.isPresent(); step = step.get().getParent())
+                assertFalse( step.get().getTarget().equals( held ) );
+
+            movement.execute();
+            assertSame( flowField, staticGame.getFlowFields().get( target ) );
+        }
+    }
+
+    private GameObject createMover(final int x, final int y) {
+        return createUnit( testUnitType( "Mover", BaseModule.createWithStandardResourceCost()
+                                                            .maxHealth( 1 )
+                                                            .armor( 1 )
+                                                            .viewRange( 10 )
+                                                            .supportedLayers( LevelType.values() ),
+                                         MobilityModule.createWithStandardResourceCost()
+                                                       .movementSpeed( 3 )
+                                                       .movementCost( ImmutableMap.of( LevelType.GROUND, 1d ) )
+                                                       .levelingCost( ImmutableMap.<LevelType, Double>of() ) ), x, y );
+    }
 }
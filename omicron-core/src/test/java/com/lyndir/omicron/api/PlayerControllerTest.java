@@ -0,0 +1,54 @@
+package com.lyndir.omicron.api;
+
+import static org.testng.AssertJUnit.*;
+
+import com.google.common.collect.ImmutableList;
+import com.lyndir.lhunath.opal.math.Size;
+import com.lyndir.lhunath.opal.math.Vec2;
+import com.lyndir.omicron.api.view.ObservedTile;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.testng.annotations.Test;
+
+
+public class PlayerControllerTest extends AbstractTest {
+
+    @Test
+    public void testObservedTiles()
+            throws Exception {
+
+        GameObject observer = createUnit( testUnitType( "Observer", BaseModule.createWithStandardResourceCost()
+                                                                              .maxHealth( 1 )
+                                                                              .armor( 1 )
+                                                                              .viewRange( 1 )
+                                                                              .supportedLayers( LevelType.values() ) ), 5, 5 );
+
+        // The whole level: the same tiles as the observable tiles, row by row.
+        List<ITile> observedTiles = staticPlayer.observedTiles( LevelType.GROUND, Vec2.create( 0, 0 ), new Size( 10, 10 ) )
+                                                .map( ObservedTile::getTile )
+                                                .collect( Collectors.toList() );
+        List<ITile> observableTiles = staticPlayer.observableTiles()
+                                                  .filter( tile -> tile.getLevel().getType() == LevelType.GROUND )
+                                                  .sorted( (t1, t2) -> t1.getPosition().getY() == t2.getPosition().getY()
+                                                          ? t1.getPosition().getX() - t2.getPosition().getX()
+                                                          : t1.getPosition().getY() - t2.getPosition().getY() )
+                                                  .collect( Collectors.toList() );
+        assertFalse( observedTiles.isEmpty() );
+        assertEquals( observableTiles, observedTiles );
+
+        // A single tile window: the observer's own tile, with its contents.
+        List<ObservedTile> observerTile = staticPlayer.observedTiles( LevelType.GROUND, Vec2.create( 5, 5 ), new Size( 1, 1 ) )
+                                                      .collect( Collectors.toList() );
+        assertEquals( 1, observerTile.size() );
+        assertEquals( observer.getLocation().get(), observerTile.get( 0 ).getTile() );
+        assertEquals( observer, observerTile.get( 0 ).getContents().get() );
+
+        // Windows out of sight, out of bounds or on another level.
+        assertEquals( ImmutableList.of(), staticPlayer.observedTiles( LevelType.GROUND, Vec2.create( 0, 0 ), new Size( 2, 2 ) )
+                                                      .collect( Collectors.toList() ) );
+        assertEquals( ImmutableList.of(), staticPlayer.observedTiles( LevelType.GROUND, Vec2.create( 10, 10 ), new Size( 5, 5 ) )
+                                                      .collect( Collectors.toList() ) );
+        assertEquals( ImmutableList.of(), staticPlayer.observedTiles( LevelType.SKY, Vec2.create( 0, 0 ), new Size( 10, 10 ) )
+                                                      .collect( Collectors.toList() ) );
+    }
+}
@@ -0,0 +1,148 @@
+package com.lyndir.omicron.api;
+
+import static org.testng.AssertJUnit.*;
+
+import com.google.common.collect.ImmutableList;
+import com.lyndir.lhunath.opal.math.Vec2;
+import com.lyndir.omicron.api.error.OmicronException;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+
+
+public class WeaponModuleTest extends AbstractTest {
+
+    private Player otherPlayer;
+
+    @Override
+    protected Game.Builder newGameBuilder() {
+        Game.Builder builder = super.newGameBuilder();
+        otherPlayer = builder.addPlayer( null, Player.randomName(), Color.random(), Color.random() );
+        return builder;
+    }
+
+    @Test
+    public void testTargets()
+            throws Exception {
+
+        GameObject shooter = createShooter();
+        createUnit( target( "Own" ), 1, 2 );
+        GameObject near = createUnit( target( "Near" ), staticGame, otherPlayer, 3, 2 );
+        GameObject far = createUnit( target( "Far" ), staticGame, otherPlayer, 4, 2 );
+        createUnit( target( "Out of Range" ), staticGame, otherPlayer, 7, 2 );
+
+        assertEquals( ImmutableList.of( near, far ), shooter.onModule( ModuleType.WEAPON, 0, WeaponModule::targets ) );
+    }
+
+    @Test
+    public void testFireAtTargets()
+            throws Exception {
+
+        GameObject shooter = createShooter();
+        GameObject near = createUnit( target( "Near" ), staticGame, otherPlayer, 3, 2 );
+        GameObject far = createUnit( target( "Far" ), staticGame, otherPlayer, 4, 2 );
+        ITile nearTile = near.getLocation().get(), farTile = far.getLocation().get();
+        ITile outOfRangeTile = staticGame.getLevel( LevelType.GROUND ).getTile( Vec2.create( 7, 2 ) ).get();
+        WeaponModule weapon = shooter.getModule( ModuleType.WEAPON, 0 ).get();
+
+        // None of the shots are fired if one of them can't be.
+        try {
+            weapon.fireAt( ImmutableList.of( nearTile, outOfRangeTile ) );
+            fail( "Expected out of range." );
+        }
+        catch (final IWeaponModuleController.OutOfRangeException ignored) {
+        }
+        assertEquals( 0, weapon.getRepeated() );
+        assertEquals( 10, weapon.getAmmunition() );
+
+        // Listeners hear once per target fired at and once per object damaged.
+        AtomicInteger fired = new AtomicInteger(), damaged = new AtomicInteger();
+        staticGame.getController().addGameListener( new GameListener() {
+            @Override
+            public void onWeaponFired(final IWeaponModule weaponModule, final ITile target, final ChangeInt repeated,
+                                      final ChangeInt ammunition) {
+                fired.incrementAndGet();
+            }
+
+            @Override
+            public void onBaseDamaged(final IBaseModule baseModule, final ChangeInt damage) {
+                damaged.incrementAndGet();
+            }
+        } );
+        assertTrue( weapon.fireAt( ImmutableList.of( nearTile, farTile, nearTile ) ) );
+        assertEquals( 3, weapon.getRepeated() );
+        assertEquals( 7, weapon.getAmmunition() );
+        assertEquals( 2, fired.get() );
+        assertEquals( 2, damaged.get() );
+        assertEquals( 8, near.getModule( ModuleType.BASE, 0 ).get().getDamage() );
+        assertEquals( 4, far.getModule( ModuleType.BASE, 0 ).get().getDamage() );
+
+        try {
+            weapon.fireAt( farTile );
+            fail( "Expected out of repeats." );
+        }
+        catch (final IWeaponModuleController.OutOfRepeatsException ignored) {
+        }
+    }
+
+    @Test
+    public void testSimultaneousCombat()
+            throws Exception {
+
+        staticGame = newGameBuilder().setCombatResolution( Game.CombatResolution.SIMULTANEOUS ).build();
+        GameObject shooter = createShooter();
+        GameObject enemy = createUnit( shooterType(), staticGame, otherPlayer, 3, 2 );
+        Tile shooterTile = shooter.getLocation().get(), enemyTile = enemy.getLocation().get();
+        GameObject far = createUnit( target( "Far" ), staticGame, otherPlayer, 4, 2 );
+        WeaponModule weapon = shooter.getModule( ModuleType.WEAPON, 0 ).get();
+        WeaponModule enemyWeapon = enemy.getModule( ModuleType.WEAPON, 0 ).get();
+
+        // Shots are spent when they're fired but do no damage until the turn ends.
+        assertTrue( weapon.fireAt( ImmutableList.of( enemyTile, far.getLocation().get() ) ) );
+        assertEquals( 2, weapon.getRepeated() );
+        assertEquals( 0, enemy.getModule( ModuleType.BASE, 0 ).get().getDamage() );
+        assertEquals( 0, far.getModule( ModuleType.BASE, 0 ).get().getDamage() );
+
+        // The enemy can still return fire although it was shot first.
+        Security.godRun( () -> {
+            try {
+                assertTrue( enemyWeapon.fireAt( shooterTile ) );
+            }
+            catch (final OmicronException e) {
+                throw new AssertionError( e );
+            }
+        } );
+
+        staticGame.getController().setReady();
+        assertFalse( shooterTile.findContents().isPresent() );
+        assertFalse( enemyTile.findContents().isPresent() );
+        assertEquals( 4, far.getModule( ModuleType.BASE, 0 ).get().getDamage() );
+    }
+
+    private GameObject createShooter() {
+        return createUnit( shooterType(), 2, 2 );
+    }
+
+    private UnitType shooterType() {
+        return testUnitType( "Shooter", BaseModule.createWithStandardResourceCost()
+                                                  .maxHealth( 1 )
+                                                  .armor( 1 )
+                                                  .viewRange( 5 )
+                                                  .supportedLayers( LevelType.values() ),
+                             WeaponModule.createWithStandardResourceCost()
+                                         .firePower( 5 )
+                                         .armor( 1 )
+                                         .range( 2 )
+                                         .repeat( 3 )
+                                         .ammunitionLoad( 10 )
+                                         .supportedLayers( EnumSet.of( LevelType.GROUND ) ) );
+    }
+
+    private UnitType target(final String typeName) {
+        return testUnitType( typeName, BaseModule.createWithStandardResourceCost()
+                                                 .maxHealth( 20 )
+                                                 .armor( 1 )
+                                                 .viewRange( 1 )
+                                                 .supportedLayers( LevelType.values() ) );
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2010, Maarten Billemont
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package com.lyndir.omicron.api;
+
+import com.google.common.collect.ImmutableMap;
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import com.lyndir.lhunath.opal.system.util.Job;
+import com.lyndir.omicron.api.thrift.AccessDenied;
+import com.lyndir.omicron.api.thrift.PlayerAuth;
+import javax.annotation.Nullable;
+
+
+/**
+ * A game hosted by the server, along with the state recorders of its remote players.
+ *
+ * @author lhunath, 2014-08-16
+ */
+public class GameSession {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final Logger logger = Logger.get( GameSession.class );
+
+    private final long                                gameID;
+    private final Game                                game;
+    private final ImmutableMap<Player, StateRecorder> recorders;
+
+    private volatile long    lastAccess = System.currentTimeMillis();
+    private volatile boolean ended;
+
+    GameSession(final long gameID, final Game game) {
+        this.gameID = gameID;
+        this.game = game;
+
+        ImmutableMap.Builder<Player, StateRecorder> recordersBuilder = ImmutableMap.builder();
+        Security.activateGame( game );
+        for (final Player player : game.getPlayers())
+            if (!player.isKeyLess()) {
+                StateRecorder recorder = new StateRecorder( player );
+                Security.playerRun( player, () -> game.getController().addGameListener( recorder ) );
+                recordersBuilder.put( player, recorder );
+            }
+        recorders = recordersBuilder.build();
+
+        game.getController().addInternalGameListener( new GameListener() {
+            @Override
+            public void onGameEnded(final IGame game, final PublicVictoryConditionType victoryCondition, @Nullable final IPlayer victor) {
+                ended = true;
+            }
+        } );
+    }
+
+    public long getGameID() {
+        return gameID;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * @return The time this session was last used by one of its players.
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * @return true if the game has ended.
+     */
+    boolean isEnded() {
+        return ended;
+    }
+
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * @return The player in this game identified and proven by the given credentials.
+     *
+     * @throws AccessDenied If the credentials do not identify a player of this game.
+     */
+    Player authenticate(final PlayerAuth auth)
+            throws AccessDenied {
+        if (auth.getGameID() == gameID)
+            try {
+                PlayerKey playerKey = new PlayerKey( auth.getPlayerKey() );
+                for (final Player player : game.getPlayers())
+                    if (player.getPlayerID() == auth.getPlayerID() && player.hasKey( playerKey ))
+                        return player;
+            }
+            catch (final IllegalArgumentException e) {
+                logger.dbg( e, "Malformed player key for player %d", auth.getPlayerID() );
+            }
+
+        throw new AccessDenied( String.format( "Not a player of game %d: %d", gameID, auth.getPlayerID() ) );
+    }
+
+    StateRecorder getRecorder(final Player player) {
+        return recorders.get( player );
+    }
+
+    /**
+     * Run a job against this game as the given player.  Jobs are sent to the game's mailbox, so jobs against the same game never run
+     * concurrently while jobs against different games do.
+     */
+    <R> R run(final Player player, final Job<R> job) {
+        return Security.playerRun( player, () -> game.getController().call( job ) );
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2010, Maarten Billemont
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package com.lyndir.omicron.api;
+
+import static com.lyndir.omicron.api.ThriftUtils.*;
+
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import com.lyndir.omicron.api.error.OmicronException;
+import com.lyndir.omicron.api.error.OmicronSecurityException;
+import com.lyndir.omicron.api.thrift.*;
+import java.util.*;
+
+
+/**
+ * Hosts games for remote players: creates games, serves their views and carries out their commands.
+ * <p>
+ * Commands arrive in batches so that a whole turn's worth of orders costs a single round trip.  A batch is carried out in order and
+ * without interruption by other batches for the same game.  A command that fails does not abort the batch, its result explains why it
+ * was not carried out and the next command is attempted.
+ * <p>
+ * Anyone can create a game, so the games that can be created are bounded: their levels and player count are limited, and no new games
+ * are created while the server hosts too many games already.  This bounds both the memory a single request can claim and the time its
+ * world generation can take.
+ *
+ * @author lhunath, 2014-08-17
+ */
+public class OmicronHandler extends OmicronSyncHandler implements Omicron.Iface {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final Logger logger = Logger.get( OmicronHandler.class );
+
+    static final int MAX_LEVEL_SIZE   = 256;
+    static final int MAX_PLAYERS      = 16;
+    static final int MAX_HOSTED_GAMES = 256;
+
+    @Override
+    public HostedGame createGame(final GameSpec spec)
+            throws GameRefused {
+        if (getHostedGames() >= MAX_HOSTED_GAMES)
+            throw new GameRefused( String.format( "Already hosting %d games, try again later.", getHostedGames() ) );
+        if (spec.getLevelSize().getWidth() < 1 || spec.getLevelSize().getWidth() > MAX_LEVEL_SIZE //
+            || spec.getLevelSize().getHeight() < 1 || spec.getLevelSize().getHeight() > MAX_LEVEL_SIZE)
+            throw new GameRefused( String.format( "Level size must be between 1 and %d in each dimension: %s", //
+                                                  MAX_LEVEL_SIZE, spec.getLevelSize() ) );
+        if (spec.getTotalPlayers() < 1 || spec.getTotalPlayers() > MAX_PLAYERS)
+            throw new GameRefused( String.format( "Total players must be between 1 and %d: %d", MAX_PLAYERS, spec.getTotalPlayers() ) );
+        if (spec.getPlayersSize() > spec.getTotalPlayers())
+            throw new GameRefused( String.format( "More players specified than the total players: %d > %d", //
+                                                  spec.getPlayersSize(), spec.getTotalPlayers() ) );
+
+        Game.Builder builder = Game.builder();
+        builder.setLevelSize( cast( spec.getLevelSize() ) );
+        builder.setTotalPlayers( spec.getTotalPlayers() );
+        builder.setResourceConfig( cast( spec.getResourceConfig() ) );
+        builder.setUnitConfig( cast( spec.getUnitConfig() ) );
+        if (spec.isSetVictoryConditions()) {
+            builder.getVictoryConditions().clear();
+            for (final com.lyndir.omicron.api.thrift.VictoryConditionType victoryCondition : spec.getVictoryConditions())
+                builder.addVictoryCondition( cast( victoryCondition ) );
+        }
+
+        List<Long> playerIDs = new LinkedList<>();
+        if (spec.isSetPlayers())
+            for (final PlayerSpec playerSpec : spec.getPlayers())
+                playerIDs.add( builder.addPlayer( playerSpec.isSetPlayerKey()? new PlayerKey( playerSpec.getPlayerKey() ): null,
+                                                  playerSpec.getName(), cast( playerSpec.getPrimaryColor() ),
+                                                  cast( playerSpec.getSecondaryColor() ) ).getPlayerID() );
+
+        return new HostedGame( host( builder.build() ).getGameID(), playerIDs );
+    }
+
+    @Override
+    public com.lyndir.omicron.api.thrift.Game view(final PlayerAuth auth)
+            throws AccessDenied {
+        GameSession session = getSession( auth );
+        Player player = session.authenticate( auth );
+
+        return session.run( player, () -> ThriftUtils.view( player ) );
+    }
+
+    @Override
+    public List<CommandResult> execute(final PlayerAuth auth, final List<Command> commands)
+            throws AccessDenied {
+        GameSession session = getSession( auth );
+        Player player = session.authenticate( auth );
+
+        return session.run( player, () -> {
+            List<CommandResult> results = new ArrayList<>( commands.size() );
+            for (final Command command : commands)
+                results.add( execute( session.getGame(), player, command ) );
+
+            return results;
+        } );
+    }
+
+    private static CommandResult execute(final Game game, final Player player, final Command command) {
+        try {
+            switch (command.getSetField()) {
+                case MOVE:
+                    return move( game, player, command.getMove() );
+                case FIRE:
+                    return fire( game, player, command.getFire() );
+                case BUILD:
+                    return build( game, player, command.getBuild() );
+                case END_TURN:
+                    return result( CommandStatus.CS_DONE ).setNewTurn( game.getController().setReady() );
+            }
+
+            return result( CommandStatus.CS_INVALID, "Unsupported command: %s", command.getSetField() );
+        }
+        catch (final OmicronSecurityException e) {
+            return result( CommandStatus.CS_DENIED, "%s", e.getLocalizedMessage() );
+        }
+        catch (final OmicronException e) {
+            return result( CommandStatus.CS_REJECTED, "%s", e.getLocalizedMessage() );
+        }
+        catch (final IllegalArgumentException | IndexOutOfBoundsException e) {
+            // The command refers to something that doesn't exist or can't be used this way.
+            return result( CommandStatus.CS_INVALID, "%s", e.getLocalizedMessage() );
+        }
+        catch (final RuntimeException e) {
+            // The command is well-formed but can't be carried out in the current state of the game.
+            logger.dbg( e, "Rejected command: %s", command );
+            return result( CommandStatus.CS_REJECTED, "%s", e.getLocalizedMessage() );
+        }
+    }
+
+    private static CommandResult move(final Game game, final Player player, final MoveCommand command)
+            throws OmicronException {
+        Optional<GameObject> unit = player.getObject( command.getObjectID() );
+        if (!unit.isPresent())
+            return result( CommandStatus.CS_INVALID, "No such unit: %d", command.getObjectID() );
+        Optional<IMobilityModule> module = unit.get().getModule( PublicModuleType.MOBILITY, command.getModule() );
+        if (!module.isPresent())
+            return result( CommandStatus.CS_INVALID, "No mobility module %d on unit: %d", command.getModule(), command.getObjectID() );
+        Optional<? extends ITile> target = resolve( game, command.getTarget() );
+        if (!target.isPresent())
+            return result( CommandStatus.CS_INVALID, "No such tile: %s", command.getTarget() );
+
+        IMobilityModuleController.IMovement movement = module.get().getController().movement( target.get() );
+        if (!movement.isPossible())
+            return result( CommandStatus.CS_REJECTED, "No path to: %s", command.getTarget() );
+
+        movement.execute();
+        return result( CommandStatus.CS_DONE );
+    }
+
+    private static CommandResult fire(final Game game, final Player player, final FireCommand command)
+            throws OmicronException {
+        Optional<GameObject> unit = player.getObject( command.getObjectID() );
+        if (!unit.isPresent())
+            return result( CommandStatus.CS_INVALID, "No such unit: %d", command.getObjectID() );
+        Optional<IWeaponModule> module = unit.get().getModule( PublicModuleType.WEAPON, command.getModule() );
+        if (!module.isPresent())
+            return result( CommandStatus.CS_INVALID, "No weapon module %d on unit: %d", command.getModule(), command.getObjectID() );
+        Optional<? extends ITile> target = resolve( game, command.getTarget() );
+        if (!target.isPresent())
+            return result( CommandStatus.CS_INVALID, "No such tile: %s", command.getTarget() );
+
+        if (!module.get().getController().fireAt( target.get() ))
+            return result( CommandStatus.CS_REJECTED, "Could not fire at: %s", command.getTarget() );
+
+        return result( CommandStatus.CS_DONE );
+    }
+
+    private static CommandResult build(final Game game, final Player player, final BuildCommand command)
+            throws OmicronException {
+        Optional<GameObject> unit = player.getObject( command.getObjectID() );
+        if (!unit.isPresent())
+            return result( CommandStatus.CS_INVALID, "No such unit: %d", command.getObjectID() );
+        Optional<IConstructorModule> module = unit.get().getModule( PublicModuleType.CONSTRUCTOR, command.getModule() );
+        if (!module.isPresent())
+            return result( CommandStatus.CS_INVALID, "No constructor module %d on unit: %d", command.getModule(), command.getObjectID() );
+        Optional<? extends ITile> location = resolve( game, command.getLocation() );
+        if (!location.isPresent())
+            return result( CommandStatus.CS_INVALID, "No such tile: %s", command.getLocation() );
+
+        IConstructorModuleController.IConstructionSite site = module.get().getController().schedule( cast( command.getUnitType() ),
+                                                                                                      location.get() );
+        return result( CommandStatus.CS_DONE ).setObjectID( site.getObjectID() );
+    }
+
+    private static CommandResult result(final CommandStatus status) {
+        return new CommandResult( status );
+    }
+
+    private static CommandResult result(final CommandStatus status, final String format, final Object... args) {
+        return new CommandResult( status ).setMessage( String.format( format, args ) );
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2010, Maarten Billemont
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package com.lyndir.omicron.api;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import com.lyndir.omicron.api.thrift.Omicron;
+import java.io.Closeable;
+import java.util.concurrent.*;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.server.TThreadedSelectorServer;
+import org.apache.thrift.transport.*;
+
+
+/**
+ * Serves the {@link Omicron} thrift service.
+ * <p>
+ * Connections are multiplexed over a few selector threads and requests are handled by a pool of workers.  Messages are framed and
+ * use the compact protocol.  Games that are no longer played are swept from the handler periodically.
+ *
+ * @author lhunath, 2014-08-17
+ */
+public class OmicronServer implements Closeable {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final Logger logger = Logger.get( OmicronServer.class );
+
+    public static final int DEFAULT_PORT = 7470;
+
+    private static final long SWEEP_INTERVAL_MINUTES = 1;
+
+    private final OmicronHandler           handler = new OmicronHandler();
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat( "OmicronServer-sweep" ).setDaemon( true ).build() );
+    private final TNonblockingServerSocket serverSocket;
+    private final TServer                  server;
+
+    public static void main(final String... arguments)
+            throws TTransportException {
+
+        int port = arguments.length > 0? Integer.parseInt( arguments[0] ): DEFAULT_PORT;
+        new OmicronServer( port ).serve();
+    }
+
+    /**
+     * @param port The port to listen on, or 0 to listen on any free port.
+     */
+    public OmicronServer(final int port)
+            throws TTransportException {
+        serverSocket = new TNonblockingServerSocket( port );
+        server = new TThreadedSelectorServer( new TThreadedSelectorServer.Args( serverSocket ) //
+                                                      .workerThreads( Runtime.getRuntime().availableProcessors() )
+                                                      .processor( new Omicron.Processor<>( handler ) )
+                                                      .transportFactory( new TFramedTransport.Factory() )
+                                                      .protocolFactory( new TCompactProtocol.Factory() ) );
+        sweeper.scheduleWithFixedDelay( handler::sweep, SWEEP_INTERVAL_MINUTES, SWEEP_INTERVAL_MINUTES, TimeUnit.MINUTES );
+    }
+
+    public OmicronHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * @return The port the server is listening on.
+     */
+    public int getPort() {
+        return serverSocket.getPort();
+    }
+
+    /**
+     * Serve requests on the current thread until the server is closed.
+     */
+    public void serve() {
+        logger.inf( "Serving on port %d", getPort() );
+        server.serve();
+    }
+
+    /**
+     * Serve requests on a background thread.
+     *
+     * @return The thread that serves the requests.
+     */
+    public Thread start() {
+        Thread serverThread = new Thread( this::serve, "OmicronServer" );
+        serverThread.setDaemon( true );
+        serverThread.start();
+
+        return serverThread;
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        server.stop();
+        serverSocket.close();
+    }
+}
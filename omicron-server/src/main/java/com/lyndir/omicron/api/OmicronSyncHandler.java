@@ -0,0 +1,127 @@
+/*
+ * Copyright 2010, Maarten Billemont
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package com.lyndir.omicron.api;
+
+import com.google.common.collect.ImmutableList;
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import com.lyndir.omicron.api.thrift.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Serves the observable state of hosted games to their remote players.
+ * <p>
+ * Players first obtain a snapshot of the game, after which they poll for updates since the sequence of the last delta they applied.
+ * Updates carry only what changed, unless the player has fallen too far behind, in which case the update carries a new snapshot.
+ * <p>
+ * A {@link #sweep()} stops hosting games that ended and have since gone idle, and games that none of their players have used for a
+ * long time.
+ *
+ * @author lhunath, 2014-08-16
+ */
+public class OmicronSyncHandler implements OmicronSync.Iface {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final Logger logger = Logger.get( OmicronSyncHandler.class );
+
+    static final long ENDED_IDLE_MINUTES = 15;
+    static final long ABANDON_MINUTES    = TimeUnit.DAYS.toMinutes( 1 );
+
+    private final ConcurrentMap<Long, GameSession> sessions   = new ConcurrentHashMap<>();
+    private final AtomicLong                       nextGameID = new AtomicLong( 1 );
+
+    /**
+     * Host a game on this server, making it available to its remote players.
+     *
+     * @return The session through which the game is hosted.
+     */
+    public GameSession host(final Game game) {
+        GameSession session = new GameSession( nextGameID.getAndIncrement(), game );
+        sessions.put( session.getGameID(), session );
+        logger.inf( "Hosting game %d: %s", session.getGameID(), game );
+
+        return session;
+    }
+
+    @Override
+    public StateSnapshot snapshot(final PlayerAuth auth)
+            throws AccessDenied {
+        GameSession session = getSession( auth );
+        Player player = session.authenticate( auth );
+
+        return session.run( player, () -> session.getRecorder( player ).snapshot() );
+    }
+
+    @Override
+    public StateUpdate update(final PlayerAuth auth, final long sinceSequence)
+            throws AccessDenied {
+        GameSession session = getSession( auth );
+        Player player = session.authenticate( auth );
+
+        return session.run( player, () -> {
+            StateRecorder recorder = session.getRecorder( player );
+            Optional<List<StateDelta>> deltas = recorder.since( sinceSequence );
+            if (deltas.isPresent())
+                return new StateUpdate( recorder.getSequence(), deltas.get() );
+
+            logger.dbg( "%s: cannot serve deltas since %d, resyncing.", player, sinceSequence );
+            StateSnapshot resync = recorder.snapshot();
+            return new StateUpdate( resync.getSequence(), ImmutableList.of() ).setResync( resync );
+        } );
+    }
+
+    /**
+     * @return The amount of games hosted on this server.
+     */
+    public int getHostedGames() {
+        return sessions.size();
+    }
+
+    /**
+     * Stop hosting the games that ended and have since gone idle, and the games that have been abandoned.
+     */
+    public void sweep() {
+        sweep( System.currentTimeMillis() );
+    }
+
+    void sweep(final long now) {
+        sessions.values().removeIf( session -> {
+            long idleMinutes = TimeUnit.MILLISECONDS.toMinutes( now - session.getLastAccess() );
+            if (idleMinutes < ABANDON_MINUTES && (!session.isEnded() || idleMinutes < ENDED_IDLE_MINUTES))
+                return false;
+
+            logger.inf( "No longer hosting game %d, idle for %d minutes.", session.getGameID(), idleMinutes );
+            return true;
+        } );
+    }
+
+    GameSession getSession(final PlayerAuth auth)
+            throws AccessDenied {
+        GameSession session = sessions.get( auth.getGameID() );
+        if (session == null)
+            throw new AccessDenied( String.format( "No such game: %d", auth.getGameID() ) );
+
+        session.touch();
+        return session;
+    }
+}
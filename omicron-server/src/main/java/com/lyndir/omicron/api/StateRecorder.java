@@ -0,0 +1,222 @@
+/*
+ * Copyright 2010, Maarten Billemont
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package com.lyndir.omicron.api;
+
+import static com.lyndir.omicron.api.ThriftUtils.*;
+
+import com.google.common.collect.*;
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import com.lyndir.omicron.api.thrift.*;
+import com.lyndir.omicron.api.util.Maybe;
+import com.lyndir.omicron.api.view.PlayerGameInfo;
+import java.util.*;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+
+/**
+ * Records the changes that a single player observes in a game as a sequence of deltas.
+ * <p>
+ * The recorder is registered as a game listener of the player, so the core only notifies it of changes the player can observe.  While
+ * a delta is pending, changes are coalesced by their subject: a delta holds only the latest state of each thing that changed.  Pending
+ * changes are sealed into a delta when a new turn begins or when the player asks for them.  Only the most recent deltas are retained,
+ * players that fall further behind are resynced from a snapshot instead.
+ *
+ * @author lhunath, 2014-08-16
+ */
+public class StateRecorder extends GameListener {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final Logger logger = Logger.get( StateRecorder.class );
+
+    private static final int RETAINED_DELTAS = 64;
+
+    private final Player player;
+    private final Map<List<Object>, StateChange> pendingChanges = new LinkedHashMap<>();
+    private final Deque<StateDelta>              deltas         = new ArrayDeque<>( RETAINED_DELTAS );
+    private       long                           sequence;
+
+    StateRecorder(final Player player) {
+        this.player = player;
+    }
+
+    /**
+     * @return The sequence number of the last sealed delta.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Seal pending changes and obtain the deltas that follow the given sequence.
+     *
+     * @param sinceSequence The sequence of the last delta the player has applied.
+     *
+     * @return The deltas that follow the given sequence, in order, or absent if they are no longer retained and the player should resync
+     * from a snapshot.
+     */
+    synchronized Optional<List<StateDelta>> since(final long sinceSequence) {
+        seal();
+
+        if (sinceSequence == sequence)
+            return Optional.of( ImmutableList.of() );
+        if (sinceSequence > sequence || deltas.isEmpty() || deltas.getFirst().getSequence() > sinceSequence + 1)
+            return Optional.empty();
+
+        return Optional.of( deltas.stream().filter( delta -> delta.getSequence() > sinceSequence ).collect( Collectors.toList() ) );
+    }
+
+    /**
+     * Seal pending changes and capture the complete state of the game as it is currently observable by the player.
+     *
+     * NOTE: Must be invoked as the recorder's player.
+     *
+     * @return A snapshot that includes all changes up to the current sequence.
+     */
+    synchronized StateSnapshot snapshot() {
+        seal();
+
+        IGame game = player.getController().getGameController().getGame();
+        Map<Long, ObjectState> objects = new LinkedHashMap<>();
+        List<TileResources> tiles = new LinkedList<>();
+        player.observableTiles().distinct().forEach( tile -> {
+            Maybe<? extends IGameObject> contents = tile.getContents();
+            if (contents.isPresent())
+                objects.put( contents.get().getObjectID(), cast( contents.get() ) );
+
+            Map<com.lyndir.omicron.api.thrift.ResourceType, Short> quantities = quantities( tile );
+            if (!quantities.isEmpty())
+                tiles.add( new TileResources( cast( tile ), quantities ) );
+        } );
+        for (final IGameObject gameObject : player.getObjectsByID().values())
+            if (!objects.containsKey( gameObject.getObjectID() ))
+                objects.put( gameObject.getObjectID(), cast( gameObject ) );
+
+        Map<Long, Integer> scores = new HashMap<>();
+        for (final PlayerGameInfo playerGameInfo : game.getController().listPlayerGameInfo())
+            if (playerGameInfo.isDiscovered())
+                scores.put( playerGameInfo.getPlayer().getPlayerID(), playerGameInfo.getScore() );
+
+        return new StateSnapshot( sequence, cast( game.getCurrentTurn() ), cast( game.getLevelSize() ),
+                                  ImmutableList.copyOf( objects.values() ), tiles, scores );
+    }
+
+    private void seal() {
+        if (pendingChanges.isEmpty())
+            return;
+
+        int turn = player.getController().getGameController().getGame().getCurrentTurn().getNumber();
+        StateDelta delta = new StateDelta( ++sequence, turn, ImmutableList.copyOf( pendingChanges.values() ) );
+        pendingChanges.clear();
+
+        if (deltas.size() == RETAINED_DELTAS)
+            deltas.removeFirst();
+        deltas.addLast( delta );
+        logger.trc( "%s: sealed delta %d with %d changes", player, delta.getSequence(), delta.getChangesSize() );
+    }
+
+    /**
+     * Record a change, replacing any pending change of the same kind to the same subject.
+     */
+    private synchronized void record(final StateChange change, final Object... subject) {
+        List<Object> key = Lists.asList( change.getSetField(), subject );
+
+        // Re-insert so the change is ordered after the changes that preceded it.
+        pendingChanges.remove( key );
+        pendingChanges.put( key, change );
+    }
+
+    @Override
+    public synchronized void onNewTurn(final Turn currentTurn) {
+        record( StateChange.newTurn( cast( currentTurn ) ) );
+        seal();
+    }
+
+    @Override
+    public void onBaseDamaged(final IBaseModule baseModule, final ChangeInt damage) {
+        long objectID = baseModule.getGameObject().getObjectID();
+        record( StateChange.objectDamage( new ObjectDamageChange( objectID, (short) damage.getTo() ) ), objectID );
+    }
+
+    @Override
+    public void onTileContents(final ITile tile, final Change<IGameObject> contents) {
+        TileRef tileRef = cast( tile );
+        TileContentsChange change = new TileContentsChange( tileRef );
+        if (contents.getTo() != null)
+            change.setContents( cast( contents.getTo() ) );
+
+        record( StateChange.tileContents( change ), tileRef );
+    }
+
+    @Override
+    public void onTileResources(final ITile tile, final ResourceType resourceType, final ChangeInt resourceQuantity) {
+        TileRef tileRef = cast( tile );
+        record( StateChange.tileResource( new TileResourceChange( tileRef, cast( resourceType ), (short) resourceQuantity.getTo() ) ),
+                tileRef, resourceType );
+    }
+
+    @Override
+    public void onPlayerScore(final IPlayer player, final ChangeInt score) {
+        if (this.player.equals( player ) || this.player.getController().getGameController().getPlayerGameInfo( player ).isDiscovered())
+            record( StateChange.playerScore( new PlayerScoreChange( player.getPlayerID(), score.getTo() ) ), player.getPlayerID() );
+    }
+
+    @Override
+    public void onUnitCaptured(final IGameObject gameObject, final Change<IPlayer> owner) {
+        record( StateChange.objectState( cast( gameObject ) ), gameObject.getObjectID() );
+    }
+
+    @Override
+    public void onUnitMoved(final IGameObject gameObject, final Change<ITile> location) {
+        onLocation( gameObject, location.getTo(), null );
+    }
+
+    @Override
+    public void onUnitDied(final IGameObject gameObject) {
+        record( StateChange.objectDied( gameObject.getObjectID() ), gameObject.getObjectID() );
+    }
+
+    @Override
+    public void onContainerStockChanged(final IContainerModule containerModule, final ChangeInt stock) {
+        IGameObject gameObject = containerModule.getGameObject();
+        byte container = (byte) gameObject.getModules( PublicModuleType.CONTAINER ).indexOf( containerModule );
+        record( StateChange.containerStock( new ContainerStockChange( gameObject.getObjectID(), container, (short) stock.getTo() ) ),
+                gameObject.getObjectID(), container );
+    }
+
+    @Override
+    public void onMobilityLeveled(final IMobilityModule mobilityModule, final Change<ITile> location, final ChangeDbl remainingSpeed) {
+        onLocation( mobilityModule.getGameObject(), location.getTo(), remainingSpeed.getTo() );
+    }
+
+    @Override
+    public void onMobilityMoved(final IMobilityModule mobilityModule, final Change<ITile> location, final ChangeDbl remainingSpeed) {
+        onLocation( mobilityModule.getGameObject(), location.getTo(), remainingSpeed.getTo() );
+    }
+
+    private void onLocation(final IGameObject gameObject, @Nullable final ITile location, @Nullable final Double remainingSpeed) {
+        if (location == null)
+            return;
+
+        ObjectLocationChange change = new ObjectLocationChange( gameObject.getObjectID(), cast( location ) );
+        if (remainingSpeed != null)
+            change.setRemainingSpeed( remainingSpeed );
+
+        record( StateChange.objectLocation( change ), gameObject.getObjectID() );
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2010, Maarten Billemont
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package com.lyndir.omicron.api;
+
+import com.google.common.collect.ImmutableList;
+import com.lyndir.lhunath.opal.math.Size;
+import com.lyndir.lhunath.opal.math.Vec2;
+import com.lyndir.omicron.api.thrift.*;
+import com.lyndir.omicron.api.util.Maybe;
+import com.lyndir.omicron.api.view.PlayerGameInfo;
+import java.util.*;
+import java.util.stream.Collectors;
+
+
+/**
+ * Casts core game state into its thrift representation.
+ * <p>
+ * All casts observe the game through the eyes of the current player, so they only reveal what that player is allowed to see.
+ *
+ * @author lhunath, 2014-08-16
+ */
+public abstract class ThriftUtils {
+
+    private static final ImmutableList<PublicModuleType<?>> moduleTypes = ImmutableList.of(
+            PublicModuleType.BASE, PublicModuleType.MOBILITY, PublicModuleType.CONTAINER, PublicModuleType.EXTRACTOR,
+            PublicModuleType.CONSTRUCTOR, PublicModuleType.WEAPON );
+
+    static com.lyndir.omicron.api.thrift.LevelType cast(final LevelType levelType) {
+        return com.lyndir.omicron.api.thrift.LevelType.values()[levelType.ordinal()];
+    }
+
+    static com.lyndir.omicron.api.thrift.ResourceType cast(final ResourceType resourceType) {
+        return com.lyndir.omicron.api.thrift.ResourceType.values()[resourceType.ordinal()];
+    }
+
+    static com.lyndir.omicron.api.thrift.UnitType cast(final IUnitType unitType) {
+        for (final PublicUnitTypes publicUnitType : PublicUnitTypes.values())
+            if (publicUnitType.getTypeName().equals( unitType.getTypeName() ))
+                return com.lyndir.omicron.api.thrift.UnitType.values()[publicUnitType.ordinal()];
+
+        throw new IllegalArgumentException( "Unit type has no public counterpart: " + unitType.getTypeName() );
+    }
+
+    static com.lyndir.omicron.api.thrift.Turn cast(final Turn turn) {
+        return new com.lyndir.omicron.api.thrift.Turn( turn.getNumber() );
+    }
+
+    static com.lyndir.omicron.api.thrift.Vec2 cast(final Vec2 vec2) {
+        return new com.lyndir.omicron.api.thrift.Vec2( (short) vec2.getX(), (short) vec2.getY() );
+    }
+
+    static com.lyndir.omicron.api.thrift.Size cast(final Size size) {
+        return new com.lyndir.omicron.api.thrift.Size( (short) size.getWidth(), (short) size.getHeight() );
+    }
+
+    static TileRef cast(final ITile tile) {
+        return new TileRef( cast( tile.getLevel().getType() ), cast( tile.getPosition() ) );
+    }
+
+    static ObjectState cast(final IGameObject gameObject) {
+        ObjectState objectState = new ObjectState( gameObject.getObjectID(), cast( gameObject.getType() ) );
+
+        Optional<? extends IPlayer> owner = gameObject.getOwner();
+        if (owner.isPresent())
+            objectState.setOwnerID( owner.get().getPlayerID() );
+
+        Maybe<? extends ITile> location = gameObject.getLocation();
+        if (location.isPresent())
+            objectState.setLocation( cast( location.get() ) );
+
+        Optional<IBaseModule> baseModule = gameObject.getModule( PublicModuleType.BASE, 0 );
+        if (baseModule.isPresent())
+            objectState.setDamage( (short) baseModule.get().getDamage() );
+
+        return objectState;
+    }
+
+    /**
+     * @return The known, non-zero resource quantities on the given tile.
+     */
+    static Map<com.lyndir.omicron.api.thrift.ResourceType, Short> quantities(final ITile tile) {
+        Map<com.lyndir.omicron.api.thrift.ResourceType, Short> quantities = new EnumMap<>(
+                com.lyndir.omicron.api.thrift.ResourceType.class );
+        tile.getQuantitiesByResourceType().forEach( (resourceType, quantity) -> {
+            if (quantity.isPresent() && quantity.get() > 0)
+                quantities.put( cast( resourceType ), quantity.get().shortValue() );
+        } );
+
+        return quantities;
+    }
+
+    static com.lyndir.omicron.api.thrift.Color cast(final Color color) {
+        return new com.lyndir.omicron.api.thrift.Color( color.getRed(), color.getGreen(), color.getBlue() );
+    }
+
+    static com.lyndir.omicron.api.thrift.ModuleType cast(final PublicModuleType<?> moduleType) {
+        return com.lyndir.omicron.api.thrift.ModuleType.values()[moduleTypes.indexOf( moduleType )];
+    }
+
+    static com.lyndir.omicron.api.thrift.ResourceCost cast(final ResourceCost resourceCost) {
+        Map<com.lyndir.omicron.api.thrift.ResourceType, Short> quantities = new EnumMap<>(
+                com.lyndir.omicron.api.thrift.ResourceType.class );
+        for (final ResourceType resourceType : ResourceType.values())
+            if (resourceCost.get( resourceType ) > 0)
+                quantities.put( cast( resourceType ), (short) resourceCost.get( resourceType ) );
+
+        return new com.lyndir.omicron.api.thrift.ResourceCost( quantities );
+    }
+
+    static MaybeI16 cast(final Maybe<Integer> maybe) {
+        MaybeI16 maybeI16 = new MaybeI16( maybe.isKnown() );
+        if (maybe.isPresent())
+            maybeI16.setValue( maybe.get().shortValue() );
+
+        return maybeI16;
+    }
+
+    static LevelType cast(final com.lyndir.omicron.api.thrift.LevelType levelType) {
+        return LevelType.values()[levelType.ordinal()];
+    }
+
+    static UnitType cast(final com.lyndir.omicron.api.thrift.UnitType unitType) {
+        String typeName = PublicUnitTypes.values()[unitType.ordinal()].getTypeName();
+        for (final UnitTypes coreUnitType : UnitTypes.values())
+            if (coreUnitType.getTypeName().equals( typeName ))
+                return coreUnitType;
+
+        throw new IllegalArgumentException( "Unit type has no core counterpart: " + typeName );
+    }
+
+    static PublicVictoryConditionType cast(final com.lyndir.omicron.api.thrift.VictoryConditionType victoryConditionType) {
+        return PublicVictoryConditionType.values()[victoryConditionType.ordinal()];
+    }
+
+    static IGame.GameResourceConfigs cast(final ResourceConfig resourceConfig) {
+        return IGame.GameResourceConfigs.values()[resourceConfig.ordinal()];
+    }
+
+    static IGame.PublicGameUnitConfig cast(final UnitConfig unitConfig) {
+        return IGame.PublicGameUnitConfig.values()[unitConfig.ordinal()];
+    }
+
+    static Color cast(final com.lyndir.omicron.api.thrift.Color color) {
+        return new Color( color.getRed(), color.getGreen(), color.getBlue() );
+    }
+
+    static Vec2 cast(final com.lyndir.omicron.api.thrift.Vec2 vec2) {
+        return Vec2.create( vec2.getX(), vec2.getY() );
+    }
+
+    static Size cast(final com.lyndir.omicron.api.thrift.Size size) {
+        return new Size( size.getWidth(), size.getHeight() );
+    }
+
+    /**
+     * @return The tile in the given game that is referenced, or absent if the game has no such tile.
+     */
+    static Optional<? extends ITile> resolve(final IGame game, final TileRef tileRef) {
+        return game.getLevel( cast( tileRef.getLevel() ) ).getTile( cast( tileRef.getPosition() ) );
+    }
+
+    /**
+     * Capture the game as it is observable by the given player.
+     *
+     * NOTE: Must be invoked as the given player.
+     */
+    static com.lyndir.omicron.api.thrift.Game view(final IPlayer player) {
+        IGame game = player.getController().getGameController().getGame();
+
+        // Collect what the player can see.
+        Map<LevelType, Map<com.lyndir.omicron.api.thrift.Vec2, com.lyndir.omicron.api.thrift.Tile>> tiles = new EnumMap<>(
+                LevelType.class );
+        Map<Long, Map<Long, com.lyndir.omicron.api.thrift.GameObject>> objectsByOwner = new HashMap<>();
+        player.observableTiles().distinct().forEach( tile -> {
+            tiles.computeIfAbsent( tile.getLevel().getType(), levelType -> new HashMap<>() ) //
+                    .put( cast( tile.getPosition() ), view( tile ) );
+
+            Maybe<? extends IGameObject> contents = tile.getContents();
+            if (contents.isPresent() && contents.get().getOwner().isPresent())
+                objectsByOwner.computeIfAbsent( contents.get().getOwner().get().getPlayerID(), playerID -> new HashMap<>() ) //
+                        .put( contents.get().getObjectID(), view( contents.get() ) );
+        } );
+        for (final IGameObject gameObject : player.getObjectsByID().values())
+            objectsByOwner.computeIfAbsent( player.getPlayerID(), playerID -> new HashMap<>() ) //
+                    .put( gameObject.getObjectID(), view( gameObject ) );
+
+        List<com.lyndir.omicron.api.thrift.Level> levels = new ArrayList<>( game.getLevels().size() );
+        for (final ILevel level : game.getLevels())
+            levels.add( new com.lyndir.omicron.api.thrift.Level( cast( level.getSize() ), cast( level.getType() ),
+                                                                   tiles.getOrDefault( level.getType(), new HashMap<>() ) ) );
+
+        Map<Long, com.lyndir.omicron.api.thrift.Player> players = new LinkedHashMap<>();
+        for (final IPlayer gamePlayer : game.getPlayers()) {
+            PlayerGameInfo playerGameInfo = game.getController().getPlayerGameInfo( gamePlayer );
+            players.put( gamePlayer.getPlayerID(), new com.lyndir.omicron.api.thrift.Player(
+                    gamePlayer.getPlayerID(), gamePlayer.getName(), cast( gamePlayer.getPrimaryColor() ),
+                    cast( gamePlayer.getSecondaryColor() ), objectsByOwner.getOrDefault( gamePlayer.getPlayerID(), new HashMap<>() ),
+                    playerGameInfo.isDiscovered()? playerGameInfo.getScore(): 0, gamePlayer.equals( player ) ) );
+        }
+
+        List<com.lyndir.omicron.api.thrift.Turn> turns = game.getTurns().stream() //
+                .map( turn -> cast( turn ) ).collect( Collectors.toList() );
+        Set<com.lyndir.omicron.api.thrift.Player> readyPlayers = game.getReadyPlayers().stream() //
+                .map( readyPlayer -> players.get( readyPlayer.getPlayerID() ) ).collect( Collectors.toSet() );
+
+        return new com.lyndir.omicron.api.thrift.Game( turns, cast( game.getLevelSize() ), levels, ImmutableList.copyOf( players.values() ),
+                                                       readyPlayers, game.isRunning() );
+    }
+
+    private static com.lyndir.omicron.api.thrift.Tile view(final ITile tile) {
+        Map<com.lyndir.omicron.api.thrift.ResourceType, MaybeI16> quantities = new EnumMap<>(
+                com.lyndir.omicron.api.thrift.ResourceType.class );
+        tile.getQuantitiesByResourceType().forEach( (resourceType, quantity) -> quantities.put( cast( resourceType ), cast( quantity ) ) );
+
+        return new com.lyndir.omicron.api.thrift.Tile( cast( tile.getPosition() ), quantities );
+    }
+
+    private static com.lyndir.omicron.api.thrift.GameObject view(final IGameObject gameObject) {
+        Map<com.lyndir.omicron.api.thrift.ModuleType, List<com.lyndir.omicron.api.thrift.Module>> modules = new EnumMap<>(
+                com.lyndir.omicron.api.thrift.ModuleType.class );
+        for (final IModule module : gameObject.getModules())
+            modules.computeIfAbsent( cast( module.getType() ), moduleType -> new LinkedList<>() ) //
+                    .add( new com.lyndir.omicron.api.thrift.Module( cast( module.getResourceCost() ), cast( module.getType() ) ) );
+
+        Maybe<? extends ITile> location = gameObject.getLocation();
+        MaybeTile maybeTile = new MaybeTile( location.isKnown() );
+        if (location.isPresent())
+            maybeTile.setValue( view( location.get() ) );
+
+        return new com.lyndir.omicron.api.thrift.GameObject( gameObject.getObjectID(), cast( gameObject.getType() ), modules, maybeTile );
+    }
+}
@@ -0,0 +1,113 @@
+package com.lyndir.omicron.api;
+
+import static org.testng.Assert.*;
+
+import com.google.common.collect.ImmutableList;
+import com.lyndir.omicron.api.thrift.*;
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+import java.util.List;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.transport.*;
+import org.testng.annotations.*;
+
+
+/**
+ * @author lhunath, 2014-08-17
+ */
+public class OmicronServerTest {
+
+    private OmicronServer  server;
+    private TTransport     transport;
+    private Omicron.Client client;
+
+    @BeforeMethod
+    public void setUp()
+            throws Exception {
+
+        server = new OmicronServer( 0 );
+        server.start();
+
+        transport = new TFramedTransport( new TSocket( "localhost", server.getPort() ) );
+        transport.open();
+        client = new Omicron.Client( new TCompactProtocol( transport ) );
+    }
+
+    @AfterMethod
+    public void tearDown()
+            throws Exception {
+
+        transport.close();
+        server.close();
+    }
+
+    @Test
+    public void testBatch()
+            throws Exception {
+
+        PlayerKey playerKey = new PlayerKey();
+        ByteBuffer encodedKey = ByteBuffer.wrap( playerKey.getEncoded() );
+        com.lyndir.omicron.api.thrift.Color color = new com.lyndir.omicron.api.thrift.Color( (byte) 0, (byte) 0, (byte) 0 );
+        PlayerSpec playerSpec = new PlayerSpec( "testPlayer", color, color ).setPlayerKey( encodedKey );
+        HostedGame hostedGame = client.createGame(
+                new GameSpec( new com.lyndir.omicron.api.thrift.Size( (short) 20, (short) 20 ), ImmutableList.of( playerSpec ), 1,
+                              new LinkedList<>(), ResourceConfig.RC_PLENTY, UnitConfig.UC_BASIC ) );
+        PlayerAuth auth = new PlayerAuth( hostedGame.getGameID(), hostedGame.getPlayerIDs().get( 0 ), encodedKey );
+
+        // Find our airship, it's alone in the sky so any tile next to it is free.
+        com.lyndir.omicron.api.thrift.Game view = client.view( auth );
+        com.lyndir.omicron.api.thrift.GameObject airship = null;
+        for (final com.lyndir.omicron.api.thrift.GameObject gameObject : view.getPlayers().get( 0 ).getObjectsByID().values())
+            if (gameObject.getType() == com.lyndir.omicron.api.thrift.UnitType.U_AIRSHIP)
+                airship = gameObject;
+        assertNotNull( airship );
+        com.lyndir.omicron.api.thrift.Vec2 position = airship.getLocation().getValue().getPosition();
+        com.lyndir.omicron.api.thrift.Vec2 target = new com.lyndir.omicron.api.thrift.Vec2(
+                (short) (position.getX() > 0? position.getX() - 1: position.getX() + 1), position.getY() );
+
+        long airshipID = airship.getObjectID();
+        TileRef targetTile = new TileRef( com.lyndir.omicron.api.thrift.LevelType.L_SKY, target );
+        TileRef airshipTile = new TileRef( com.lyndir.omicron.api.thrift.LevelType.L_SKY, position );
+        List<CommandResult> results = client.execute( auth, ImmutableList.of( //
+                Command.endTurn( new EndTurnCommand() ), //
+                Command.move( new MoveCommand( airshipID, (byte) 0, targetTile ) ), //
+                Command.move( new MoveCommand( -1, (byte) 0, targetTile ) ), //
+                Command.fire( new FireCommand( airshipID, (byte) 9, airshipTile ) ), //
+                Command.move( new MoveCommand( airshipID, (byte) -1, targetTile ) ), //
+                Command.endTurn( new EndTurnCommand() ) ) );
+
+        // A command that fails on bad input doesn't abort the rest of the batch.
+        assertEquals( results.size(), 6 );
+        assertEquals( results.get( 0 ).getStatus(), CommandStatus.CS_DONE );
+        assertTrue( results.get( 0 ).isNewTurn() );
+        assertEquals( results.get( 1 ).getStatus(), CommandStatus.CS_DONE );
+        assertEquals( results.get( 2 ).getStatus(), CommandStatus.CS_INVALID );
+        assertEquals( results.get( 3 ).getStatus(), CommandStatus.CS_INVALID );
+        assertEquals( results.get( 4 ).getStatus(), CommandStatus.CS_INVALID );
+        assertEquals( results.get( 5 ).getStatus(), CommandStatus.CS_DONE );
+
+        // The move shows up in the player's state updates.
+        boolean moved = false;
+        for (final StateDelta delta : client.update( auth, 0 ).getDeltas())
+            for (final StateChange change : delta.getChanges())
+                if (change.isSetObjectLocation() && change.getObjectLocation().getObjectID() == airshipID)
+                    moved = change.getObjectLocation().getLocation().getPosition().equals( target );
+        assertTrue( moved );
+    }
+
+    @Test(expectedExceptions = GameRefused.class)
+    public void testGameRefused()
+            throws Exception {
+
+        short tooLarge = (short) (OmicronHandler.MAX_LEVEL_SIZE + 1);
+        client.createGame( new GameSpec( new com.lyndir.omicron.api.thrift.Size( tooLarge, tooLarge ), new LinkedList<>(), 1,
+                                         new LinkedList<>(), ResourceConfig.RC_PLENTY, UnitConfig.UC_BASIC ) );
+    }
+
+    @Test(expectedExceptions = AccessDenied.class)
+    public void testAccessDenied()
+            throws Exception {
+
+        client.view( new PlayerAuth( 42, 1, ByteBuffer.wrap( new PlayerKey().getEncoded() ) ) );
+    }
+}
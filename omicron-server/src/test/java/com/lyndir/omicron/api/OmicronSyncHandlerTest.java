@@ -0,0 +1,131 @@
+package com.lyndir.omicron.api;
+
+import static org.testng.Assert.*;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterables;
+import com.lyndir.lhunath.opal.math.Side;
+import com.lyndir.lhunath.opal.math.Size;
+import com.lyndir.lhunath.opal.math.Vec2;
+import com.lyndir.omicron.api.thrift.*;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+/**
+ * @author lhunath, 2014-08-16
+ */
+public class OmicronSyncHandlerTest {
+
+    private OmicronSyncHandler handler;
+    private GameSession        session;
+    private Player             player;
+    private GameObject         scout;
+    private PlayerAuth         auth;
+
+    @BeforeMethod
+    public void setUp()
+            throws Exception {
+
+        PlayerKey playerKey = new PlayerKey();
+        Game.Builder builder = Game.builder();
+        builder.setLevelSize( new Size( 10, 10 ) );
+        builder.setResourceConfig( IGame.GameResourceConfigs.NONE );
+        builder.setUnitConfig( IGame.PublicGameUnitConfig.NONE );
+        builder.setTotalPlayers( 1 );
+        Security.activatePlayer( player = builder.addPlayer( playerKey, "testPlayer", Color.random(), Color.random() ) );
+        Game game = builder.build();
+
+        scout = new GameObject( UnitTypes.SCOUT, game, player,
+                                Tile.cast( game.getLevel( LevelType.GROUND ).getTile( Vec2.create( 5, 5 ) ).get() ) );
+        scout.register();
+
+        handler = new OmicronSyncHandler();
+        session = handler.host( game );
+        auth = new PlayerAuth( session.getGameID(), player.getPlayerID(), ByteBuffer.wrap( playerKey.getEncoded() ) );
+    }
+
+    @Test
+    public void testSnapshot()
+            throws Exception {
+
+        StateSnapshot snapshot = handler.snapshot( auth );
+        assertEquals( snapshot.getSequence(), 0 );
+        assertEquals( snapshot.getObjectsSize(), 1 );
+        assertEquals( snapshot.getObjects().get( 0 ).getObjectID(), scout.getObjectID() );
+        assertEquals( snapshot.getObjects().get( 0 ).getOwnerID(), player.getPlayerID() );
+    }
+
+    @Test
+    public void testUpdate()
+            throws Exception {
+
+        ITile target = scout.getLocation().get().neighbour( Side.E ).get();
+        session.run( player, () -> session.getGame().getController().setReady() );
+        session.run( player, () -> scout.onModule( PublicModuleType.MOBILITY, 0, module -> {
+            try {
+                module.getController().movement( target ).execute();
+                return Void.TYPE;
+            }
+            catch (IModule.ImpossibleException | IModule.InvalidatedException e) {
+                throw Throwables.propagate( e );
+            }
+        } ) );
+
+        StateUpdate update = handler.update( auth, 0 );
+        assertFalse( update.isSetResync() );
+        assertEquals( update.getSequence(), 2 );
+        assertEquals( update.getDeltasSize(), 2 );
+        assertTrue( Iterables.getLast( update.getDeltas().get( 0 ).getChanges() ).isSetNewTurn() );
+
+        boolean moved = false;
+        for (final StateChange change : update.getDeltas().get( 1 ).getChanges())
+            if (change.isSetObjectLocation()) {
+                assertEquals( change.getObjectLocation().getObjectID(), scout.getObjectID() );
+                assertEquals( change.getObjectLocation().getLocation().getPosition().getX(), target.getPosition().getX() );
+                assertTrue( change.getObjectLocation().isSetRemainingSpeed() );
+                moved = true;
+            }
+        assertTrue( moved );
+
+        // Up-to-date players get nothing new.
+        update = handler.update( auth, update.getSequence() );
+        assertEquals( update.getDeltasSize(), 0 );
+        assertFalse( update.isSetResync() );
+
+        // Players that are out of step are resynced.
+        update = handler.update( auth, 42 );
+        assertTrue( update.isSetResync() );
+        assertEquals( update.getResync().getSequence(), 2 );
+    }
+
+    @Test(expectedExceptions = AccessDenied.class)
+    public void testAccessDenied()
+            throws Exception {
+
+        handler.snapshot( new PlayerAuth( session.getGameID(), player.getPlayerID(), ByteBuffer.wrap( new PlayerKey().getEncoded() ) ) );
+    }
+
+    @Test
+    public void testSweep()
+            throws Exception {
+
+        // Games that are still being played stay hosted while they're in use.
+        long now = System.currentTimeMillis();
+        handler.sweep( now + TimeUnit.MINUTES.toMillis( OmicronSyncHandler.ENDED_IDLE_MINUTES ) );
+        assertEquals( handler.getHostedGames(), 1 );
+        handler.snapshot( auth );
+
+        // Abandoned games are no longer hosted.
+        handler.sweep( System.currentTimeMillis() + TimeUnit.MINUTES.toMillis( OmicronSyncHandler.ABANDON_MINUTES ) );
+        assertEquals( handler.getHostedGames(), 0 );
+        try {
+            handler.snapshot( auth );
+            fail( "Expected the abandoned game to be gone." );
+        }
+        catch (final AccessDenied ignored) {
+        }
+    }
+}
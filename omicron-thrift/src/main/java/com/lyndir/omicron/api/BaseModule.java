@@ -18,10 +18,14 @@ package com.lyndir.omicron.api;
 
 import com.google.common.collect.*;
 import com.lyndir.lhunath.opal.system.error.TodoException;
+import javax.annotation.Nullable;
 
 
 public class BaseModule extends Module<com.lyndir.omicron.api.thrift.BaseModule> implements IBaseModule {
 
+    @Nullable
+    private ImmutableSet<LevelType> supportedLayers;
+
     protected BaseModule(final com.lyndir.omicron.api.thrift.BaseModule thrift) {
         super( thrift );
     }
@@ -53,7 +57,10 @@ public class BaseModule extends Module<com.lyndir.omicron.api.thrift.BaseModule>
 
     @Override
     public ImmutableSet<LevelType> getSupportedLayers() {
-        return FluentIterable.from(thrift().getSupportedLayers()).transform( this::cast ).toSet();
+        if (supportedLayers == null)
+            supportedLayers = Sets.immutableEnumSet( Iterables.transform( thrift().getSupportedLayers(), this::cast ) );
+
+        return supportedLayers;
     }
 
     @Override
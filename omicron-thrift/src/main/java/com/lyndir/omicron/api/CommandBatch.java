@@ -0,0 +1,85 @@
+/*
+ * Copyright 2010, Maarten Billemont
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.lyndir.omicron.api;
+
+import com.google.common.collect.ImmutableList;
+import com.lyndir.lhunath.opal.math.Vec2;
+import com.lyndir.omicron.api.thrift.*;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Collects a player's commands so they can be sent to the server in a single call.
+ * <p>
+ * The server carries out the commands in the order they were added.  A command that cannot be carried out does not prevent the
+ * commands that follow it: inspect the result of each command to learn its outcome.
+ *
+ * @author lhunath, 2014-08-17
+ */
+public class CommandBatch {
+
+    private final ThriftSession session;
+    private final List<Command> commands = new ArrayList<>();
+
+    CommandBatch(final ThriftSession session) {
+        this.session = session;
+    }
+
+    public CommandBatch move(final long objectID, final int module, final LevelType levelType, final Vec2 target) {
+        commands.add( Command.move( new MoveCommand( objectID, (byte) module, tile( levelType, target ) ) ) );
+        return this;
+    }
+
+    public CommandBatch fire(final long objectID, final int module, final LevelType levelType, final Vec2 target) {
+        commands.add( Command.fire( new FireCommand( objectID, (byte) module, tile( levelType, target ) ) ) );
+        return this;
+    }
+
+    public CommandBatch build(final long objectID, final int module, final PublicUnitTypes unitType, final LevelType levelType,
+                              final Vec2 location) {
+        commands.add( Command.build( new BuildCommand( objectID, (byte) module, ThriftObject.thriftUnitTypes[unitType.ordinal()],
+                                                       tile( levelType, location ) ) ) );
+        return this;
+    }
+
+    public CommandBatch endTurn() {
+        commands.add( Command.endTurn( new EndTurnCommand() ) );
+        return this;
+    }
+
+    public int size() {
+        return commands.size();
+    }
+
+    /**
+     * Send the commands to the server and start a new, empty batch.
+     *
+     * @return The result of each command, in the order the commands were added.
+     */
+    public List<CommandResult> execute() {
+        List<Command> batch = ImmutableList.copyOf( commands );
+        commands.clear();
+
+        return session.execute( batch );
+    }
+
+    private static TileRef tile(final LevelType levelType, final Vec2 position) {
+        return new TileRef( ThriftObject.thriftLevelTypes[levelType.ordinal()],
+                            new com.lyndir.omicron.api.thrift.Vec2( (short) position.getX(), (short) position.getY() ) );
+    }
+}
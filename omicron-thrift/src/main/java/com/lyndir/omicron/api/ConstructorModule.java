@@ -17,15 +17,19 @@
 
 package com.lyndir.omicron.api;
 
-import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.*;
 import com.lyndir.lhunath.opal.system.error.AlreadyCheckedException;
 import com.lyndir.lhunath.opal.system.error.TodoException;
 import com.lyndir.omicron.api.error.NotAuthenticatedException;
 import com.lyndir.omicron.api.error.NotObservableException;
+import javax.annotation.Nullable;
 
 
 public class ConstructorModule extends Module<com.lyndir.omicron.api.thrift.ConstructorModule> implements IConstructorModule {
 
+    @Nullable
+    private ImmutableSet<PublicUnitTypes> blueprints;
+
     protected ConstructorModule(final com.lyndir.omicron.api.thrift.ConstructorModule thrift) {
         super( thrift );
     }
@@ -81,7 +85,10 @@ public class ConstructorModule extends Module<com.lyndir.omicron.api.thrift.Cons
 
     @Override
     public ImmutableSet<? extends IUnitType> blueprints() {
-        return ImmutableSet.copyOf( thrift().getBlueprints().stream().map( this::cast ).iterator() );
+        if (blueprints == null)
+            blueprints = Sets.immutableEnumSet( Iterables.transform( thrift().getBlueprints(), this::cast ) );
+
+        return blueprints;
     }
 
     @Override
@@ -34,7 +34,7 @@ public class ContainerModule extends Module<com.lyndir.omicron.api.thrift.Contai
 
     @Override
     public ResourceType getResourceType() {
-        return ResourceType.values()[thrift().getResourceType().ordinal()];
+        return cast( thrift().getResourceType() );
     }
 
     @Override
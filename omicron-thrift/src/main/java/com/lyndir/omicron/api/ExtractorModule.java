@@ -34,7 +34,7 @@ public class ExtractorModule extends Module<com.lyndir.omicron.api.thrift.Extrac
 
     @Override
     public ResourceType getResourceType() {
-        return ResourceType.values()[ thrift().getResourceType().ordinal() ];
+        return cast( thrift().getResourceType() );
     }
 
     @Override
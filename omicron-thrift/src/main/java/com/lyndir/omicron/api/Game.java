@@ -19,22 +19,55 @@ package com.lyndir.omicron.api;
 
 import com.google.common.collect.*;
 import com.lyndir.lhunath.opal.math.Size;
-import com.lyndir.lhunath.opal.system.error.TodoException;
-import java.util.Deque;
-import java.util.LinkedList;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.annotation.Nullable;
 
 
 /**
  * <i>10 07, 2012</i>
+ * <p>
+ * The game's wrappers are created on first access and reused after that.  Players and game objects are wrapped once per
+ * identifier so that every path through the model leads to the same wrapper.
  *
  * @author lhunath
  */
 public class Game extends ThriftObject<com.lyndir.omicron.api.thrift.Game> implements IGame {
 
+    @Nullable
+    private final ThriftSession                   session;
+    private final GameController                  controller   = new GameController( this );
+    private final ConcurrentMap<Long, Player>     playersByID  = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, GameObject> objectsByID  = new ConcurrentHashMap<>();
+    private final Level[]                         levelsByType = new Level[levelTypes.length];
+
+    @Nullable
+    private ImmutableList<Level>  levels;
+    @Nullable
+    private ImmutableList<Turn>   turns;
+    @Nullable
+    private ImmutableList<Player> players;
+    @Nullable
+    private ImmutableSet<Player>  readyPlayers;
+    @Nullable
+    private Size                  levelSize;
+
     protected Game(final com.lyndir.omicron.api.thrift.Game thrift) {
+        this( thrift, null );
+    }
+
+    protected Game(final com.lyndir.omicron.api.thrift.Game thrift, @Nullable final ThriftSession session) {
         super( thrift );
+
+        this.session = session;
+    }
+
+    /**
+     * @return The session through which this game was obtained from the server, if any.
+     */
+    public Optional<ThriftSession> getSession() {
+        return Optional.ofNullable( session );
     }
 
     @Override
@@ -48,34 +81,61 @@ public class Game extends ThriftObject<com.lyndir.omicron.api.thrift.Game> imple
     }
 
     @Override
-    public IGameController getController() {
-        throw new TodoException();
+    public GameController getController() {
+        return controller;
     }
 
     @Override
-    public ILevel getLevel(final LevelType levelType) {
-        return new Level(
-                thrift().getLevels().stream().filter( level -> level.getType().ordinal() == levelType.ordinal() ).findFirst().get() );
+    public Level getLevel(final LevelType levelType) {
+        getLevels();
+        Level level = levelsByType[levelType.ordinal()];
+        if (level == null)
+            throw new NoSuchElementException( "Game has no level of type: " + levelType );
+
+        return level;
     }
 
     @Override
-    public Deque<Turn> getTurns() {
-        return thrift().getTurns().stream().map( this::cast ).collect( Collectors.toCollection( LinkedList::new ) );
+    public ImmutableList<Turn> getTurns() {
+        if (turns == null) {
+            ImmutableList.Builder<Turn> newTurns = ImmutableList.builder();
+            for (final com.lyndir.omicron.api.thrift.Turn turn : thrift().getTurns())
+                newTurns.add( cast( turn ) );
+            turns = newTurns.build();
+        }
+
+        return turns;
     }
 
     @Override
-    public ImmutableList<? extends ILevel> getLevels() {
-        return FluentIterable.from( thrift().getLevels() ).transform( Level::new ).toList();
+    public ImmutableList<Level> getLevels() {
+        if (levels == null) {
+            ImmutableList.Builder<Level> builder = ImmutableList.builder();
+            for (final com.lyndir.omicron.api.thrift.Level thriftLevel : thrift().getLevels()) {
+                Level level = new Level( thriftLevel );
+                levelsByType[level.getType().ordinal()] = level;
+                builder.add( level );
+            }
+            levels = builder.build();
+        }
+
+        return levels;
     }
 
     @Override
     public ImmutableList<Player> getPlayers() {
-        return FluentIterable.from( thrift().getPlayers() ).transform( Player::new ).toList();
+        if (players == null)
+            players = FluentIterable.from( thrift().getPlayers() ).transform( this::wrap ).toList();
+
+        return players;
     }
 
     @Override
-    public ImmutableSet<? extends IPlayer> getReadyPlayers() {
-        return ImmutableSet.copyOf( thrift().getReadyPlayers().stream().map( Player::new ).iterator() );
+    public ImmutableSet<Player> getReadyPlayers() {
+        if (readyPlayers == null)
+            readyPlayers = FluentIterable.from( thrift().getReadyPlayers() ).transform( this::wrap ).toSet();
+
+        return readyPlayers;
     }
 
     @Override
@@ -85,6 +145,23 @@ public class Game extends ThriftObject<com.lyndir.omicron.api.thrift.Game> imple
 
     @Override
     public Size getLevelSize() {
-        return cast( thrift().getLevelSize() );
+        if (levelSize == null)
+            levelSize = cast( thrift().getLevelSize() );
+
+        return levelSize;
+    }
+
+    /**
+     * @return The wrapper for the player with the given struct's identifier, created from the struct if it's the first of its player.
+     */
+    Player wrap(final com.lyndir.omicron.api.thrift.Player player) {
+        return playersByID.computeIfAbsent( player.getPlayerID(), playerID -> new Player( player, this ) );
+    }
+
+    /**
+     * @return The wrapper for the object with the given struct's identifier, created from the struct if it's the first of its object.
+     */
+    GameObject wrap(final com.lyndir.omicron.api.thrift.GameObject gameObject) {
+        return objectsByID.computeIfAbsent( gameObject.getObjectID(), objectID -> new GameObject( gameObject ) );
     }
 }
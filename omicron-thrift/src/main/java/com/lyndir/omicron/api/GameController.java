@@ -18,8 +18,10 @@ package com.lyndir.omicron.api;
 
 import com.google.common.collect.*;
 import com.lyndir.lhunath.opal.system.error.TodoException;
+import com.lyndir.omicron.api.error.ExceptionUtils;
 import com.lyndir.omicron.api.error.NotAuthenticatedException;
 import com.lyndir.omicron.api.view.PlayerGameInfo;
+import java.util.Optional;
 
 
 public class GameController implements IGameController {
@@ -55,6 +57,9 @@ public class GameController implements IGameController {
     @Override
     public boolean setReady()
             throws NotAuthenticatedException {
-        throw new TodoException();
+        Optional<ThriftSession> session = game.getSession();
+        ExceptionUtils.assertSecure( session.isPresent(), NotAuthenticatedException.class );
+
+        return session.get().batch().endTurn().execute().get( 0 ).isNewTurn();
     }
 }
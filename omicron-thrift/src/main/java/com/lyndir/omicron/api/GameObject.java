@@ -22,6 +22,7 @@ import com.lyndir.lhunath.opal.system.error.TodoException;
 import com.lyndir.omicron.api.util.Maybe;
 import java.util.Objects;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 
 /**
@@ -31,6 +32,9 @@ import javax.annotation.Nonnull;
  */
 public class GameObject extends ThriftObject<com.lyndir.omicron.api.thrift.GameObject> implements IGameObject {
 
+    @Nullable
+    private Maybe<Tile> location;
+
     public GameObject(final com.lyndir.omicron.api.thrift.GameObject thrift) {
         super( thrift );
     }
@@ -78,7 +82,10 @@ public class GameObject extends ThriftObject<com.lyndir.omicron.api.thrift.GameO
     }
 
     @Override
-    public Maybe<? extends ITile> getLocation() {
-        return cast( thrift().getLocation() );
+    public Maybe<Tile> getLocation() {
+        if (location == null)
+            location = cast( thrift().getLocation() );
+
+        return location;
     }
 }
@@ -17,7 +17,6 @@
 
 package com.lyndir.omicron.api;
 
-import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.lyndir.lhunath.opal.math.Size;
 import com.lyndir.lhunath.opal.math.Vec2;
@@ -33,30 +32,43 @@ import javax.annotation.Nullable;
  */
 public class Level extends ThriftObject<com.lyndir.omicron.api.thrift.Level> implements ILevel {
 
+    private final LevelType type;
+    private final Size      size;
+
+    @Nullable
+    private ImmutableMap<Vec2, Tile> tilesByPosition;
+
     public Level(final com.lyndir.omicron.api.thrift.Level thrift) {
         super( thrift );
+
+        type = cast( thrift.getType() );
+        size = cast( thrift.getSize() );
     }
 
     @Override
     public Size getSize() {
-        return cast( thrift().getSize() );
+        return size;
     }
 
     @Override
     public LevelType getType() {
-        return cast( thrift().getType() );
+        return type;
     }
 
     @Override
-    public ImmutableMap<Vec2, ? extends ITile> getTilesByPosition() {
-        ImmutableMap.Builder<Vec2, ITile> builder = ImmutableBiMap.builder();
-        thrift().getTilesByPosition().forEach( (position, tile) -> builder.put( cast( position ), new Tile( tile ) ) );
-        return builder.build();
+    public ImmutableMap<Vec2, Tile> getTilesByPosition() {
+        if (tilesByPosition == null) {
+            ImmutableMap.Builder<Vec2, Tile> builder = ImmutableMap.builder();
+            thrift().getTilesByPosition().forEach( (position, tile) -> builder.put( cast( position ), new Tile( tile, this ) ) );
+            tilesByPosition = builder.build();
+        }
+
+        return tilesByPosition;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash( getSize(), getType() );
+        return Objects.hash( size, type );
     }
 
     @Override
@@ -67,6 +79,6 @@ public class Level extends ThriftObject<com.lyndir.omicron.api.thrift.Level> imp
             return false;
 
         Level o = (Level) obj;
-        return getSize().equals( o.getSize() ) && getType() == o.getType();
+        return size.equals( o.size ) && type == o.type;
     }
 }
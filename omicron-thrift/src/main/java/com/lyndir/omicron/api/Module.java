@@ -27,6 +27,9 @@ public abstract class Module<T> extends ThriftObject<T> implements IModule {
     @SuppressWarnings("UnusedDeclaration")
     private static final Logger logger = Logger.get( Module.class );
 
+    @Nullable
+    private ImmutableResourceCost resourceCost;
+
     protected Module(final T thrift) {
         super( thrift );
     }
@@ -45,7 +48,10 @@ public abstract class Module<T> extends ThriftObject<T> implements IModule {
 
     @Override
     public ImmutableResourceCost getResourceCost() {
-        return cast( thriftModule().getResourceCost() );
+        if (resourceCost == null)
+            resourceCost = cast( thriftModule().getResourceCost() );
+
+        return resourceCost;
     }
 
     @Override
@@ -18,6 +18,7 @@ package com.lyndir.omicron.api;
 
 import com.google.common.collect.ImmutableMap;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 
 /**
@@ -27,50 +28,72 @@ import javax.annotation.Nonnull;
  */
 public class Player extends ThriftObject<com.lyndir.omicron.api.thrift.Player> implements IPlayer {
 
+    @Nullable
+    private final Game                            game;
+    @Nullable
+    private       Color                           primaryColor;
+    @Nullable
+    private       Color                           secondaryColor;
+    @Nullable
+    private       ImmutableMap<Long, IGameObject> objectsByID;
+
     public Player(final com.lyndir.omicron.api.thrift.Player thrift) {
+        this( thrift, null );
+    }
+
+    Player(final com.lyndir.omicron.api.thrift.Player thrift, @Nullable final Game game) {
         super( thrift );
+
+        this.game = game;
     }
 
     @Override
     public long getPlayerID() {
-        // TODO
-        return 0;
+        return thrift().getPlayerID();
     }
 
     @Override
     public String getName() {
-        // TODO
-        return null;
+        return thrift().getName();
     }
 
     @Override
     public Color getPrimaryColor() {
-        // TODO
-        return null;
+        if (primaryColor == null)
+            primaryColor = cast( thrift().getPrimaryColor() );
+
+        return primaryColor;
     }
 
     @Override
     public Color getSecondaryColor() {
-        // TODO
-        return null;
+        if (secondaryColor == null)
+            secondaryColor = cast( thrift().getSecondaryColor() );
+
+        return secondaryColor;
     }
 
     @Override
     public int getScore() {
-        // TODO
-        return 0;
+        return thrift().getScore();
     }
 
     @Override
     public ImmutableMap<Long, IGameObject> getObjectsByID() {
-        // TODO
-        return null;
+        if (objectsByID == null) {
+            ImmutableMap.Builder<Long, IGameObject> builder = ImmutableMap.builder();
+            if (thrift().isSetObjectsByID())
+                thrift().getObjectsByID().forEach( (objectID, gameObject) -> //
+                        builder.put( objectID, game == null? new GameObject( gameObject ): game.wrap( gameObject ) ) );
+            objectsByID = builder.build();
+        }
+
+        return objectsByID;
     }
 
     @Override
     public boolean isCurrentPlayer() {
-        // TODO
-        return false;
+        return thrift().isCurentPlayer();
     }
 
     @Nonnull
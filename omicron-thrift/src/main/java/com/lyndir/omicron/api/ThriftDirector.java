@@ -16,18 +16,72 @@
 
 package com.lyndir.omicron.api;
 
-import com.lyndir.lhunath.opal.math.Size;
-import java.util.Collection;
-import java.util.List;
+import com.google.common.base.Throwables;
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import com.lyndir.omicron.api.thrift.Omicron;
+import java.io.Closeable;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.transport.*;
 
 
 /**
+ * Directs games hosted by a remote Omicron server.
+ *
  * @author lhunath, 2014-08-07
  */
-public class ThriftDirector implements Director {
+public class ThriftDirector implements Director, Closeable {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final Logger logger = Logger.get( ThriftDirector.class );
+
+    public static final String DEFAULT_HOST = "localhost";
+    public static final int    DEFAULT_PORT = 7470;
+
+    private final TTransport     transport;
+    private final Omicron.Client client;
+
+    public ThriftDirector() {
+        this( DEFAULT_HOST, DEFAULT_PORT );
+    }
+
+    public ThriftDirector(final String host, final int port) {
+        transport = new TFramedTransport( new TSocket( host, port ) );
+        client = new Omicron.Client( new TCompactProtocol( transport ) );
+    }
 
     @Override
-    public IGame.IBuilder gameBuilder() {
-        return null;
+    public ThriftGameBuilder gameBuilder() {
+        return new ThriftGameBuilder( this );
+    }
+
+    /**
+     * Perform a call on the server.  The connection carries one call at a time, so concurrent calls wait for their turn.
+     *
+     * @throws RuntimeException If the call could not be completed.  The connection is reset so the next call can try again.
+     */
+    synchronized <R> R call(final Call<R> call) {
+        try {
+            if (!transport.isOpen())
+                transport.open();
+
+            return call.on( client );
+        }
+        catch (final TException e) {
+            logger.wrn( e, "Call to server failed, resetting connection." );
+            transport.close();
+            throw Throwables.propagate( e );
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        transport.close();
+    }
+
+    interface Call<R> {
+
+        R on(Omicron.Client client)
+                throws TException;
     }
 }
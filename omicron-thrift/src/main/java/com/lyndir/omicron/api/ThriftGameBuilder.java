@@ -0,0 +1,178 @@
+/*
+ * Copyright 2010, Maarten Billemont
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.lyndir.omicron.api;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.Lists;
+import com.lyndir.lhunath.opal.math.Size;
+import com.lyndir.omicron.api.thrift.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+import javax.annotation.Nullable;
+
+
+/**
+ * Builds a game on a remote Omicron server.
+ * <p>
+ * The built game is viewed through the eyes of the first player added with a key.
+ *
+ * @author lhunath, 2014-08-17
+ */
+@SuppressWarnings("ParameterHidesMemberVariable") // IDEA doesn't understand setters that return this.
+public class ThriftGameBuilder implements IGame.IBuilder {
+
+    private final List<Player>                     players           = Lists.newLinkedList();
+    private final List<PlayerSpec>                 playerSpecs       = Lists.newLinkedList();
+    private final List<PlayerKey>                  playerKeys        = Lists.newLinkedList();
+    private final List<PublicVictoryConditionType> victoryConditions = Lists.newArrayList( PublicVictoryConditionType.values() );
+    private final ThriftDirector director;
+
+    private Size                       levelSize      = new Size( 200, 200 );
+    private int                        nextPlayerID   = 1;
+    private int                        totalPlayers   = 4;
+    private IGame.GameResourceConfigs  resourceConfig = IGame.GameResourceConfigs.PLENTY;
+    private IGame.PublicGameUnitConfig unitConfig     = IGame.PublicGameUnitConfig.BASIC;
+
+    ThriftGameBuilder(final ThriftDirector director) {
+        this.director = director;
+    }
+
+    @Override
+    public Game build() {
+        com.lyndir.omicron.api.thrift.Size size = new com.lyndir.omicron.api.thrift.Size( (short) levelSize.getWidth(),
+                                                                                          (short) levelSize.getHeight() );
+        GameSpec spec = new GameSpec( size, playerSpecs, totalPlayers, new LinkedList<>(), //
+                                      ResourceConfig.values()[resourceConfig.ordinal()], UnitConfig.values()[unitConfig.ordinal()] );
+        for (final PublicVictoryConditionType victoryCondition : victoryConditions)
+            spec.addToVictoryConditions( VictoryConditionType.values()[victoryCondition.ordinal()] );
+
+        HostedGame hostedGame = director.call( client -> client.createGame( spec ) );
+        for (int p = 0; p < playerKeys.size(); ++p)
+            if (playerKeys.get( p ) != null)
+                return new ThriftSession( director, hostedGame.getGameID(), hostedGame.getPlayerIDs().get( p ), playerKeys.get( p ) ) //
+                        .getGame();
+
+        throw new IllegalStateException( "Cannot view the game: no player was added with a key." );
+    }
+
+    @Override
+    public Size getLevelSize() {
+        return levelSize;
+    }
+
+    @Override
+    public ThriftGameBuilder setLevelSize(final Size levelSize) {
+        this.levelSize = levelSize;
+
+        return this;
+    }
+
+    @Override
+    public Collection<? extends IPlayer> getPlayers() {
+        return Collections.unmodifiableList( players );
+    }
+
+    @Override
+    public ThriftGameBuilder setPlayer(final PlayerKey playerKey, final String name, final Color primaryColor, final Color secondaryColor) {
+        int existingPlayer = playerKeys.indexOf( playerKey );
+        if (existingPlayer >= 0) {
+            players.remove( existingPlayer );
+            playerSpecs.remove( existingPlayer );
+            playerKeys.remove( existingPlayer );
+        }
+        addPlayer( playerKey, name, primaryColor, secondaryColor );
+
+        return this;
+    }
+
+    /**
+     * NOTE: The returned player is a placeholder that only describes the player until the game is built.
+     */
+    @Override
+    public Player addPlayer(@Nullable final PlayerKey playerKey, final String name, final Color primaryColor, final Color secondaryColor) {
+        PlayerSpec playerSpec = new PlayerSpec( name, cast( primaryColor ), cast( secondaryColor ) );
+        if (playerKey != null)
+            playerSpec.setPlayerKey( ByteBuffer.wrap( playerKey.getEncoded() ) );
+
+        Player player = new Player( new com.lyndir.omicron.api.thrift.Player( nextPlayerID(), name, cast( primaryColor ),
+                                                                              cast( secondaryColor ), new HashMap<>(), 0, false ) );
+        players.add( player );
+        playerSpecs.add( playerSpec );
+        playerKeys.add( playerKey );
+
+        return player;
+    }
+
+    @Override
+    public List<PublicVictoryConditionType> getVictoryConditions() {
+        return victoryConditions;
+    }
+
+    @Override
+    public ThriftGameBuilder addVictoryCondition(final PublicVictoryConditionType victoryCondition) {
+        victoryConditions.add( victoryCondition );
+
+        return this;
+    }
+
+    @Override
+    public Integer getTotalPlayers() {
+        return totalPlayers;
+    }
+
+    @Override
+    public ThriftGameBuilder setTotalPlayers(final Integer totalPlayers) {
+        this.totalPlayers = totalPlayers;
+
+        return this;
+    }
+
+    @Override
+    public IGame.GameResourceConfig getResourceConfig() {
+        return resourceConfig;
+    }
+
+    @Override
+    public ThriftGameBuilder setResourceConfig(final IGame.GameResourceConfig resourceConfig) {
+        checkArgument( resourceConfig instanceof IGame.GameResourceConfigs, "Only standard resource configs can be sent to the server." );
+        this.resourceConfig = (IGame.GameResourceConfigs) resourceConfig;
+
+        return this;
+    }
+
+    @Override
+    public IGame.PublicGameUnitConfig getUnitConfig() {
+        return unitConfig;
+    }
+
+    @Override
+    public ThriftGameBuilder setUnitConfig(final IGame.PublicGameUnitConfig unitConfig) {
+        this.unitConfig = unitConfig;
+
+        return this;
+    }
+
+    @Override
+    public int nextPlayerID() {
+        return nextPlayerID++;
+    }
+
+    private static com.lyndir.omicron.api.thrift.Color cast(final Color color) {
+        return new com.lyndir.omicron.api.thrift.Color( color.getRed(), color.getGreen(), color.getBlue() );
+    }
+}
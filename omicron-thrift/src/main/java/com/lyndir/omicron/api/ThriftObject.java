@@ -31,6 +31,13 @@ import com.lyndir.omicron.api.util.Maybe;
  */
 public class ThriftObject<T> {
 
+    // Enum#values() copies its array on every call, so conversions look their constants up in these shared copies instead.
+    static final LevelType[]                               levelTypes       = LevelType.values();
+    static final com.lyndir.omicron.api.thrift.LevelType[] thriftLevelTypes = com.lyndir.omicron.api.thrift.LevelType.values();
+    static final ResourceType[]                            resourceTypes    = ResourceType.values();
+    static final PublicUnitTypes[]                         unitTypes        = PublicUnitTypes.values();
+    static final UnitType[]                                thriftUnitTypes  = UnitType.values();
+
     final T thrift;
 
     protected ThriftObject(final T thrift) {
@@ -42,11 +49,11 @@ public class ThriftObject<T> {
     }
 
     com.lyndir.omicron.api.thrift.LevelType cast(final LevelType levelType) {
-        return com.lyndir.omicron.api.thrift.LevelType.values()[levelType.ordinal()];
+        return thriftLevelTypes[levelType.ordinal()];
     }
 
     LevelType cast(final com.lyndir.omicron.api.thrift.LevelType levelType) {
-        return LevelType.values()[levelType.ordinal()];
+        return levelTypes[levelType.ordinal()];
     }
 
     Turn cast(final com.lyndir.omicron.api.thrift.Turn turn) {
@@ -54,7 +61,7 @@ public class ThriftObject<T> {
     }
 
     ResourceType cast(final com.lyndir.omicron.api.thrift.ResourceType resourceType) {
-        return ResourceType.values()[resourceType.ordinal()];
+        return resourceTypes[resourceType.ordinal()];
     }
 
     Maybe<Integer> cast(final MaybeI16 maybeI16) {
@@ -78,7 +85,11 @@ public class ThriftObject<T> {
     }
 
     PublicUnitTypes cast(final UnitType unitType) {
-        return PublicUnitTypes.values()[unitType.ordinal()];
+        return unitTypes[unitType.ordinal()];
+    }
+
+    Color cast(final com.lyndir.omicron.api.thrift.Color color) {
+        return new Color( color.getRed(), color.getGreen(), color.getBlue() );
     }
 
     Vec2 cast(final com.lyndir.omicron.api.thrift.Vec2 vec2) {
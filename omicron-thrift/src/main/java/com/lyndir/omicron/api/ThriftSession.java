@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010, Maarten Billemont
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.lyndir.omicron.api;
+
+import com.lyndir.omicron.api.thrift.*;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+
+/**
+ * A player's authenticated access to a game hosted by a remote Omicron server.
+ *
+ * @author lhunath, 2014-08-17
+ */
+public class ThriftSession {
+
+    private final ThriftDirector director;
+    private final PlayerAuth     auth;
+
+    public ThriftSession(final ThriftDirector director, final long gameID, final long playerID, final PlayerKey playerKey) {
+        this.director = director;
+        auth = new PlayerAuth( gameID, playerID, ByteBuffer.wrap( playerKey.getEncoded() ) );
+    }
+
+    public long getGameID() {
+        return auth.getGameID();
+    }
+
+    public long getPlayerID() {
+        return auth.getPlayerID();
+    }
+
+    /**
+     * @return The game as it is currently observable by the player.
+     */
+    public Game getGame() {
+        return new Game( director.call( client -> client.view( auth ) ), this );
+    }
+
+    /**
+     * @return The complete state of the game as it is currently observable by the player.
+     */
+    public StateSnapshot snapshot() {
+        return director.call( client -> client.snapshot( auth ) );
+    }
+
+    /**
+     * @return The changes the player observed since the given sequence.
+     */
+    public StateUpdate update(final long sinceSequence) {
+        return director.call( client -> client.update( auth, sinceSequence ) );
+    }
+
+    /**
+     * @return A new, empty batch of commands for the player.
+     */
+    public CommandBatch batch() {
+        return new CommandBatch( this );
+    }
+
+    List<CommandResult> execute(final List<Command> commands) {
+        return director.call( client -> client.execute( auth, commands ) );
+    }
+}
@@ -23,6 +23,7 @@ import com.lyndir.lhunath.opal.system.error.TodoException;
 import com.lyndir.lhunath.opal.system.util.ObjectMeta;
 import com.lyndir.omicron.api.util.Maybe;
 import java.util.*;
+import javax.annotation.Nullable;
 
 
 /**
@@ -33,8 +34,22 @@ import java.util.*;
 @ObjectMeta(useFor = { })
 public class Tile extends ThriftObject<com.lyndir.omicron.api.thrift.Tile> implements ITile {
 
+    private final Vec2  position;
+    @Nullable
+    private final Level level;
+
+    @Nullable
+    private ImmutableMap<ResourceType, Maybe<Integer>> quantitiesByResourceType;
+
     public Tile(final com.lyndir.omicron.api.thrift.Tile thrift) {
+        this( thrift, null );
+    }
+
+    Tile(final com.lyndir.omicron.api.thrift.Tile thrift, @Nullable final Level level) {
         super( thrift );
+
+        this.level = level;
+        position = cast( thrift.getPosition() );
     }
 
     @Override
@@ -60,19 +75,27 @@ public class Tile extends ThriftObject<com.lyndir.omicron.api.thrift.Tile> imple
 
     @Override
     public Vec2 getPosition() {
-        return cast( thrift().getPosition() );
+        return position;
     }
 
     @Override
-    public ILevel getLevel() {
-        throw new TodoException();
+    public Level getLevel() {
+        if (level == null)
+            throw new TodoException();
+
+        return level;
     }
 
     @Override
     public ImmutableMap<ResourceType, Maybe<Integer>> getQuantitiesByResourceType() {
-        ImmutableMap.Builder<ResourceType, Maybe<Integer>> builder = ImmutableMap.builder();
-        thrift().getQuantitiesByResourceType().forEach( (resourceType, maybeI16) -> builder.put( cast( resourceType ), cast( maybeI16 ) ) );
-        return builder.build();
+        if (quantitiesByResourceType == null) {
+            Map<ResourceType, Maybe<Integer>> quantities = new EnumMap<>( ResourceType.class );
+            thrift().getQuantitiesByResourceType().forEach( //
+                    (resourceType, maybeI16) -> quantities.put( cast( resourceType ), cast( maybeI16 ) ) );
+            quantitiesByResourceType = Maps.immutableEnumMap( quantities );
+        }
+
+        return quantitiesByResourceType;
     }
 
     @Override
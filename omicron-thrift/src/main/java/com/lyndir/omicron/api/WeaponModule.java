@@ -17,12 +17,16 @@
 
 package com.lyndir.omicron.api;
 
-import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.*;
 import com.lyndir.lhunath.opal.system.error.TodoException;
+import javax.annotation.Nullable;
 
 
 public class WeaponModule extends Module<com.lyndir.omicron.api.thrift.WeaponModule> implements IWeaponModule {
 
+    @Nullable
+    private ImmutableSet<LevelType> supportedLayers;
+
     public WeaponModule(final com.lyndir.omicron.api.thrift.WeaponModule thrift) {
         super( thrift );
     }
@@ -69,7 +73,10 @@ public class WeaponModule extends Module<com.lyndir.omicron.api.thrift.WeaponMod
 
     @Override
     public ImmutableSet<LevelType> getSupportedLayers() {
-        return ImmutableSet.copyOf( thrift().getSupportedLayers().stream().map( this::cast ).iterator() );
+        if (supportedLayers == null)
+            supportedLayers = Sets.immutableEnumSet( Iterables.transform( thrift().getSupportedLayers(), this::cast ) );
+
+        return supportedLayers;
     }
 
     @Override
@@ -279,3 +279,294 @@ struct WeaponModule {
     /** The amount of remaining ammunition available to the weapon. */
     8: required i16 ammunition,
 }
+
+
+/* === STATE SYNC === */
+
+struct PlayerAuth {
+    /** The identifier of the game hosted by the server. */
+    1: required i64 gameID,
+    /** The identifier of the player in the game. */
+    2: required i64 playerID,
+    /** The secret key that proves the caller controls the player. */
+    3: required binary playerKey,
+}
+
+struct TileRef {
+    /** The type of the level the tile is in. */
+    1: required LevelType level,
+    /** The position of the tile within its level. */
+    2: required Vec2 position,
+}
+
+struct ObjectState {
+    /** The unique identifier of this unit in the game. */
+    1: required i64 objectID,
+    /** The type that defines the behavior of this unit. */
+    2: required UnitType type,
+    /** The player that controls this unit, if it is controlled by a player. */
+    3: optional i64 ownerID,
+    /** The tile that this unit currently occupies, if it is known. */
+    4: optional TileRef location,
+    /** The total amount of damage this unit has incurred so far, if it has a base module. */
+    5: optional i16 damage,
+}
+
+struct TileResources {
+    /** The tile that holds the resources. */
+    1: required TileRef tile,
+    /** The quantities of the remaining resources available on this tile mapped by their resource type. */
+    2: map<ResourceType,i16> quantitiesByResourceType,
+}
+
+struct TileContentsChange {
+    /** The tile whose contents has changed. */
+    1: required TileRef tile,
+    /** The unit that now occupies the tile, absent if the tile is now empty. */
+    2: optional ObjectState contents,
+}
+
+struct TileResourceChange {
+    /** The tile whose resources have changed. */
+    1: required TileRef tile,
+    /** The type of resource on the tile that was affected. */
+    2: required ResourceType resourceType,
+    /** The total amount of resource of the given type now available at the tile. */
+    3: required i16 quantity,
+}
+
+struct ObjectLocationChange {
+    /** The unit whose location changed. */
+    1: required i64 objectID,
+    /** The tile that the unit now occupies. */
+    2: required TileRef location,
+    /** The amount of movement power remaining for the unit in the current turn, if it moved by itself. */
+    3: optional double remainingSpeed,
+}
+
+struct ObjectDamageChange {
+    /** The unit that received damage. */
+    1: required i64 objectID,
+    /** The total amount of damage the unit has now incurred. */
+    2: required i16 damage,
+}
+
+struct ContainerStockChange {
+    /** The unit whose container's stock changed. */
+    1: required i64 objectID,
+    /** The index of the container among the unit's container modules. */
+    2: required byte container,
+    /** The total amount of resources now stocked in the container. */
+    3: required i16 stock,
+}
+
+struct PlayerScoreChange {
+    /** The player whose score was affected. */
+    1: required i64 playerID,
+    /** The total score the player now has. */
+    2: required i32 score,
+}
+
+union StateChange {
+    /** A new turn has commenced. */
+    1: Turn newTurn,
+    /** A tile's occupant changed. */
+    2: TileContentsChange tileContents,
+    /** A tile's resource quantity changed. */
+    3: TileResourceChange tileResource,
+    /** A unit moved to another tile. */
+    4: ObjectLocationChange objectLocation,
+    /** A unit's base module received damage. */
+    5: ObjectDamageChange objectDamage,
+    /** A unit's container stock changed. */
+    6: ContainerStockChange containerStock,
+    /** A unit's ownership changed. */
+    7: ObjectState objectState,
+    /** The unit with this identifier was destroyed. */
+    8: i64 objectDied,
+    /** A player's score changed. */
+    9: PlayerScoreChange playerScore,
+}
+
+struct StateDelta {
+    /** The sequence number of this delta, one more than that of the delta before it. */
+    1: required i64 sequence,
+    /** The number of the turn during which these changes occurred. */
+    2: required i32 turn,
+    /** The latest state of everything that changed, in the order in which they last changed. */
+    3: list<StateChange> changes,
+}
+
+struct StateSnapshot {
+    /** The sequence number of the last delta whose changes are included in this snapshot. */
+    1: required i64 sequence,
+    /** The currently active turn. */
+    2: required Turn turn,
+    /** The maximum dimensions of the levels of the game. */
+    3: required Size levelSize,
+    /** The units the player can currently observe or controls. */
+    4: list<ObjectState> objects,
+    /** The resources on the tiles the player can currently observe. */
+    5: list<TileResources> tiles,
+    /** The scores of the players the player has discovered, mapped by player identifier. */
+    6: map<i64,i32> scoresByPlayerID,
+}
+
+struct StateUpdate {
+    /** The sequence number of the last delta whose changes are included in this update. */
+    1: required i64 sequence,
+    /** The deltas that followed the requested sequence, in order. */
+    2: list<StateDelta> deltas,
+    /** A full snapshot to replace the client's state with, when the requested deltas are no longer available. */
+    3: optional StateSnapshot resync,
+}
+
+exception AccessDenied {
+    /** Explains why the request was refused. */
+    1: required string reason,
+}
+
+exception GameRefused {
+    /** Explains why the game was not created. */
+    1: required string reason,
+}
+
+service OmicronSync {
+    /** Get the complete state of the game as it is currently observable by the player. */
+    StateSnapshot snapshot(1: required PlayerAuth auth) throws (1: AccessDenied accessDenied),
+
+    /** Get the changes observed by the player since the given sequence, or a resync snapshot if they are no longer retained. */
+    StateUpdate update(1: required PlayerAuth auth, 2: required i64 sinceSequence) throws (1: AccessDenied accessDenied),
+}
+
+
+/* === COMMANDS === */
+
+enum ResourceConfig {
+    /** No resources are distributed over the levels. */
+    RC_NONE = 1,
+    /** Few, small puddles of resources. */
+    RC_SCARCE = 2,
+    /** A healthy amount of resources. */
+    RC_PLENTY = 3,
+    /** Large puddles of resources. */
+    RC_LOTS = 4,
+    /** More resources than anyone could hope to use. */
+    RC_EXCESSIVE = 5,
+}
+
+enum UnitConfig {
+    /** Players start without any units. */
+    UC_NONE = 1,
+    /** Players start with a basic set of units. */
+    UC_BASIC = 2,
+}
+
+struct PlayerSpec {
+    /** The visible name of the player. */
+    1: required string name,
+    /** The primary color for the player's units. */
+    2: required Color primaryColor,
+    /** The secondary color for the player's units. */
+    3: required Color secondaryColor,
+    /** The secret key the player will prove themselves with, absent for players controlled by the server. */
+    4: optional binary playerKey,
+}
+
+struct GameSpec {
+    /** The maximum dimensions to create the levels of the game in. */
+    1: required Size levelSize,
+    /** The players to create in the game. */
+    2: list<PlayerSpec> players,
+    /** The amount of players in the game, players that are not specified are controlled by the server. */
+    3: required i32 totalPlayers,
+    /** The conditions under which the game ends with a victor. */
+    4: list<VictoryConditionType> victoryConditions,
+    /** The amount of resources to distribute over the levels. */
+    5: required ResourceConfig resourceConfig,
+    /** The units players start the game with. */
+    6: required UnitConfig unitConfig,
+}
+
+struct HostedGame {
+    /** The identifier of the game on the server. */
+    1: required i64 gameID,
+    /** The identifiers of the players that were created for the specified players, in order. */
+    2: list<i64> playerIDs,
+}
+
+struct MoveCommand {
+    /** The unit to move. */
+    1: required i64 objectID,
+    /** The index of the mobility module among the unit's mobility modules. */
+    2: required byte module,
+    /** The tile the unit should move to. */
+    3: required TileRef target,
+}
+
+struct FireCommand {
+    /** The unit to fire with. */
+    1: required i64 objectID,
+    /** The index of the weapon module among the unit's weapon modules. */
+    2: required byte module,
+    /** The tile to fire at. */
+    3: required TileRef target,
+}
+
+struct BuildCommand {
+    /** The unit to build with. */
+    1: required i64 objectID,
+    /** The index of the constructor module among the unit's constructor modules. */
+    2: required byte module,
+    /** The type of unit to construct. */
+    3: required UnitType unitType,
+    /** The tile to put the construction site on. */
+    4: required TileRef location,
+}
+
+struct EndTurnCommand {
+}
+
+union Command {
+    /** Move a unit to another tile. */
+    1: MoveCommand move,
+    /** Fire a unit's weapon at a tile. */
+    2: FireCommand fire,
+    /** Schedule the construction of a new unit. */
+    3: BuildCommand build,
+    /** Mark the player ready with their turn. */
+    4: EndTurnCommand endTurn,
+}
+
+enum CommandStatus {
+    /** The command was carried out. */
+    CS_DONE = 1,
+    /** The rules of the game do not permit the command in the current state. */
+    CS_REJECTED = 2,
+    /** The player may not command the subject of the command. */
+    CS_DENIED = 3,
+    /** The command refers to a unit, module or tile that does not exist. */
+    CS_INVALID = 4,
+}
+
+struct CommandResult {
+    /** The outcome of the command. */
+    1: required CommandStatus status,
+    /** Explains why the command was not carried out. */
+    2: optional string message,
+    /** The construction site created by a build command. */
+    3: optional i64 objectID,
+    /** Whether an end turn command caused a new turn to begin. */
+    4: optional bool newTurn,
+}
+
+service Omicron extends OmicronSync {
+    /** Create and host a new game.  Games that are too large, or created while the server hosts too many games already, are refused. */
+    HostedGame createGame(1: required GameSpec spec) throws (1: GameRefused gameRefused),
+
+    /** Get the game as it is currently observable by the player. */
+    Game view(1: required PlayerAuth auth) throws (1: AccessDenied accessDenied),
+
+    /** Carry out the player's commands in order, answering with the result of each command. */
+    list<CommandResult> execute(1: required PlayerAuth auth, 2: required list<Command> commands) throws (1: AccessDenied accessDenied),
+}
@@ -7,12 +7,16 @@ import com.lyndir.lhunath.opal.system.util.MetaObject;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 /**
  * @author lhunath, 2013-10-14
  */
 @Entity(name = "OEmailAddress")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class EmailAddress extends MetaObject implements Localized {
 
     private static final Messages msgs = MessagesFactory.create( Messages.class );
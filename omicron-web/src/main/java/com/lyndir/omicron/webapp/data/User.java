@@ -26,12 +26,16 @@ import java.io.Serializable;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 /**
  * @author lhunath
  */
 @Entity(name = "OUser")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class User extends MetaObject implements Localized {
 
     private static final Messages msgs = MessagesFactory.create( Messages.class );
@@ -41,6 +45,7 @@ public class User extends MetaObject implements Localized {
     private final long               id             = 0;
     @Expose
     @OneToMany(mappedBy = "user")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private final List<EmailAddress> emailAddresses = Lists.newLinkedList();
     @Nonnull
     private final PlayerKey          playerKey      = new PlayerKey();
@@ -0,0 +1,257 @@
+package com.lyndir.omicron.webapp.data.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Singleton;
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import com.lyndir.lhunath.opal.system.util.Job;
+import com.lyndir.omicron.api.*;
+import java.net.URI;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+
+/**
+ * Runs the work on games and game builders off the request threads.
+ * <p>
+ * Each game builder has its own serial lane: the tasks of a lane run one after the other, in the order they were submitted.  Lanes of
+ * different game builders run in parallel on a bounded pool of worker threads.  Work on a game is sent to the game's own mailbox
+ * instead, which orders it with the commands of every other client of the game.  The amount of tasks waiting in all lanes and
+ * mailboxes together is bounded; requests beyond it are refused with {@code 503 Service Unavailable} instead of piling up.
+ * <p>
+ * Long-running work is submitted as a job: the request is answered right away and the job's outcome is looked up later by its ID.
+ *
+ * @author lhunath, 2014-08-18
+ */
+@Singleton
+public class GameExecutor {
+
+    static final Logger logger = Logger.get( GameExecutor.class );
+
+    private static final Random RANDOM = new SecureRandom();
+
+    private static final int  THREADS               = Runtime.getRuntime().availableProcessors();
+    private static final int  MAX_PENDING_TASKS     = 512;
+    private static final long CALL_TIMEOUT_SECONDS  = 30;
+    private static final long JOB_RETENTION_MINUTES = 60;
+    private static final int  RETRY_AFTER_SECONDS   = 5;
+
+    private final ConcurrentMap<String, Lane>         lanes   = Maps.newConcurrentMap();
+    private final Cache<Long, CompletableFuture<URI>> jobs    = CacheBuilder.newBuilder()
+                                                                            .expireAfterWrite( JOB_RETENTION_MINUTES, TimeUnit.MINUTES )
+                                                                            .build();
+    private final Semaphore                           pending = new Semaphore( MAX_PENDING_TASKS );
+    private final AtomicLong                          refused = new AtomicLong();
+    private final ExecutorService                     workers = Executors.newFixedThreadPool(
+            THREADS, new ThreadFactoryBuilder().setNameFormat( "GameExecutor-%d" ).setDaemon( true ).build() );
+
+    /**
+     * @return The lane of the game builder with the given ID.
+     */
+    public static String gameBuilderLane(final long gameBuilderID) {
+        return "gameBuilder/" + gameBuilderID;
+    }
+
+    /**
+     * Run a task in a lane and wait for its result.
+     * <p>
+     * Runtime exceptions of the task, such as a {@link WebApplicationException}, are rethrown as-is.
+     *
+     * @throws WebApplicationException {@code 503 Service Unavailable} if the executor is saturated or the task didn't complete in time.
+     */
+    public <V> V call(final String lane, final Callable<V> task) {
+        return await( submit( lane, task ) );
+    }
+
+    /**
+     * Send a command to a game as the player and wait for its result.
+     * <p>
+     * Runtime exceptions of the command, such as a {@link WebApplicationException}, are rethrown as-is.
+     *
+     * @throws WebApplicationException {@code 503 Service Unavailable} if the executor is saturated or the command didn't complete in
+     *                                 time.
+     * @see GameController#submit(Job)
+     */
+    public <V> V call(final Game game, final Player player, final Job<V> command) {
+        reserve();
+
+        CompletableFuture<V> future;
+        Security.activatePlayer( player );
+        try {
+            future = game.getController().submit( command );
+        }
+        catch (final RuntimeException e) {
+            pending.release();
+            throw e;
+        }
+        finally {
+            Security.deactivatePlayer();
+        }
+        future.whenComplete( (result, failure) -> pending.release() );
+
+        return await( future );
+    }
+
+    /**
+     * Start a job in a lane without waiting for it.
+     *
+     * @param task Performs the job and yields the URI of the resource it produced.
+     *
+     * @return The ID to look the job up by with {@link #findJob(long)}.
+     *
+     * @throws WebApplicationException {@code 503 Service Unavailable} if the executor is saturated.
+     */
+    public long startJob(final String lane, final Callable<URI> task) {
+        CompletableFuture<URI> job = submit( lane, task );
+
+        long jobID;
+        do {
+            jobID = RANDOM.nextLong();
+        }
+        while (jobID <= 0 || jobs.asMap().putIfAbsent( jobID, job ) != null);
+
+        return jobID;
+    }
+
+    /**
+     * @return The job with the given ID, or {@code null} if there is no such job or it completed a long time ago.
+     */
+    @Nullable
+    public CompletableFuture<URI> findJob(final long jobID) {
+        return jobs.getIfPresent( jobID );
+    }
+
+    /**
+     * @return The amount of tasks that are waiting or running in all lanes.
+     */
+    public int getPendingTasks() {
+        return MAX_PENDING_TASKS - pending.availablePermits();
+    }
+
+    /**
+     * @return The amount of tasks that were refused because the executor was saturated.
+     */
+    public long getRefusedTasks() {
+        return refused.get();
+    }
+
+    private void reserve() {
+        if (!pending.tryAcquire()) {
+            refused.incrementAndGet();
+            throw unavailable();
+        }
+    }
+
+    private static <V> V await(final Future<V> future) {
+        try {
+            return future.get( CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS );
+        }
+        catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+
+            throw new WebApplicationException( e.getCause() );
+        }
+        catch (final TimeoutException ignored) {
+            // The task keeps its place, the client can retry once the game or lane has caught up.
+            throw unavailable();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebApplicationException( e, Response.Status.SERVICE_UNAVAILABLE );
+        }
+    }
+
+    private <V> CompletableFuture<V> submit(final String lane, final Callable<V> task) {
+        reserve();
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        Runnable runnable = () -> {
+            try {
+                future.complete( task.call() );
+            }
+            catch (final Throwable t) {
+                future.completeExceptionally( t );
+            }
+            finally {
+                pending.release();
+            }
+        };
+
+        // Enqueueing and retiring a lane are both done atomically on the map, so a lane is never retired while a task is added to it.
+        lanes.compute( lane, (name, existing) -> {
+            Lane current = existing == null? new Lane( name ): existing;
+            current.enqueue( runnable );
+            return current;
+        } );
+
+        return future;
+    }
+
+    private static WebApplicationException unavailable() {
+        return new WebApplicationException( Response.status( Response.Status.SERVICE_UNAVAILABLE )
+                                                    .header( "Retry-After", RETRY_AFTER_SECONDS )
+                                                    .build() );
+    }
+
+    /**
+     * Runs its tasks one at a time on the worker pool.  Only a single task of a lane is ever handed to the pool at once.
+     */
+    private class Lane {
+
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+        private final String          name;
+
+        private boolean running;
+
+        Lane(final String name) {
+            this.name = name;
+        }
+
+        synchronized void enqueue(final Runnable task) {
+            tasks.add( task );
+            if (!running) {
+                running = true;
+                workers.execute( this::drain );
+            }
+        }
+
+        private void drain() {
+            Runnable task;
+            synchronized (this) {
+                task = tasks.poll();
+            }
+
+            try {
+                task.run();
+            }
+            catch (final RuntimeException e) {
+                logger.err( e, "Unexpected failure in lane: %s", name );
+            }
+            finally {
+                synchronized (this) {
+                    if (tasks.isEmpty())
+                        running = false;
+                    else
+                        // Yield the worker between tasks so one busy lane can't starve the others.
+                        workers.execute( this::drain );
+                }
+
+                lanes.computeIfPresent( name, (key, lane) -> lane.isIdle()? null: lane );
+            }
+        }
+
+        synchronized boolean isIdle() {
+            return !running && tasks.isEmpty();
+        }
+    }
+}
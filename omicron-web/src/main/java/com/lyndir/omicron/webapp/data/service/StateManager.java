@@ -1,13 +1,11 @@
 package com.lyndir.omicron.webapp.data.service;
 
 import com.google.common.base.Verify;
-import com.google.common.collect.*;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.lyndir.omicron.api.IGame;
 import java.net.URI;
-import java.security.SecureRandom;
-import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.*;
+import java.util.function.LongConsumer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.ws.rs.WebApplicationException;
@@ -15,15 +13,31 @@ import javax.ws.rs.core.Response;
 
 
 /**
+ * Games and game builders are kept in memory.  Finished games and abandoned game builders are released once they go idle, running games
+ * stay in memory until they finish.
+ *
  * @author lhunath, 1/28/2014
  */
 public class StateManager {
 
-    private static final Random RANDOM = new SecureRandom();
-
-    private static final ConcurrentMap<Long, IGame>               games        = Maps.newConcurrentMap();
-    private static final ConcurrentMap<Long, IGame.IBuilder>      gameBuilders = Maps.newConcurrentMap();
-    private static final Table<Map<Long, ?>, Long, URI> redirections = HashBasedTable.create();
+    private static final long IDLE_MINUTES            = 15;
+    private static final long GAME_ABANDON_MINUTES    = Long.MAX_VALUE;
+    private static final long BUILDER_ABANDON_MINUTES = TimeUnit.DAYS.toMinutes( 1 );
+    private static final long REDIRECT_MINUTES        = 60;
+    private static final long SWEEP_INTERVAL_MINUTES  = 1;
+
+    private static final StateRegistry<IGame>          games        = new StateRegistry<>(
+            "games", game -> !game.isRunning(), IDLE_MINUTES, GAME_ABANDON_MINUTES, REDIRECT_MINUTES, TimeUnit.MINUTES );
+    private static final StateRegistry<IGame.IBuilder> gameBuilders = new StateRegistry<>(
+            "gameBuilders", gameBuilder -> false, IDLE_MINUTES, BUILDER_ABANDON_MINUTES, REDIRECT_MINUTES, TimeUnit.MINUTES );
+
+    static {
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat( "StateManager" ).setDaemon( true ).build();
+        Executors.newSingleThreadScheduledExecutor( threadFactory ).scheduleWithFixedDelay( () -> {
+            games.sweep();
+            gameBuilders.sweep();
+        }, SWEEP_INTERVAL_MINUTES, SWEEP_INTERVAL_MINUTES, TimeUnit.MINUTES );
+    }
 
     @Nonnull
     public IGame getGame(final long gameID) {
@@ -54,28 +68,41 @@ public class StateManager {
     }
 
     public void dropAndRedirectGameBuilder(final long gameBuilderID, final URI destination) {
-        redirections.put( gameBuilders, gameBuilderID, destination );
-        gameBuilders.remove( gameBuilderID );
+        gameBuilders.redirect( gameBuilderID, destination );
+    }
+
+    /**
+     * @param releaseListener Notified with the ID of every game that is released from memory.
+     */
+    public void addGameReleaseListener(final LongConsumer releaseListener) {
+        games.addReleaseListener( releaseListener );
+    }
+
+    public int getGames() {
+        return games.getSize();
+    }
+
+    public int getGameBuilders() {
+        return gameBuilders.getSize();
+    }
+
+    public StateMetrics getGameMetrics() {
+        return games.getMetrics();
+    }
+
+    public StateMetrics getGameBuilderMetrics() {
+        return gameBuilders.getMetrics();
     }
 
-    private static <T> T get(final Map<Long, T> map, final long key) {
-        URI redirection = redirections.get( map, key );
+    private static <T> T get(final StateRegistry<T> registry, final long id) {
+        URI redirection = registry.findRedirection( id );
         if (redirection != null)
             throw new WebApplicationException( Response.temporaryRedirect( redirection ).build() );
 
-        return map.get( key );
+        return registry.find( id );
     }
 
-    private static <T> long add(final ConcurrentMap<Long, T> map, final T value) {
-        long id;
-        synchronized (map) {
-            do {
-                id = RANDOM.nextInt( Integer.MAX_VALUE );
-            }
-            while (map.containsKey( id ));
-            map.put( id, value );
-        }
-
-        return id;
+    private static <T> long add(final StateRegistry<T> registry, final T value) {
+        return registry.add( value );
     }
 }
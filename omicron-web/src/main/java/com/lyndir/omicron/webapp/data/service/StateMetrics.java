@@ -0,0 +1,38 @@
+package com.lyndir.omicron.webapp.data.service;
+
+import com.lyndir.lhunath.opal.system.util.MetaObject;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Counts what happens to the states in a {@link StateRegistry}.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class StateMetrics extends MetaObject {
+
+    final AtomicLong hits    = new AtomicLong();
+    final AtomicLong misses  = new AtomicLong();
+    final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @return The amount of lookups that found their state.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The amount of lookups that found no state.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return The amount of finished or abandoned states that were released.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,163 @@
+package com.lyndir.omicron.webapp.data.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import java.net.URI;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+
+
+/**
+ * Keeps states in memory by ID.
+ * <p>
+ * A {@link #sweep()} drops states that are retired (eg. finished games) once they go idle, and states that have been abandoned.
+ * States that are redirected elsewhere are dropped right away, and the redirection is forgotten after a while.
+ *
+ * @author lhunath, 2014-08-18
+ */
+public class StateRegistry<T> {
+
+    static final Logger logger = Logger.get( StateRegistry.class );
+
+    private static final Random RANDOM = new SecureRandom();
+
+    private final ConcurrentMap<Long, Entry<T>> states           = Maps.newConcurrentMap();
+    private final List<LongConsumer>            releaseListeners = new CopyOnWriteArrayList<>();
+    private final StateMetrics                  metrics          = new StateMetrics();
+    private final Cache<Long, URI>              redirections;
+    private final String                        name;
+    private final Predicate<T>                  retired;
+    private final long                          idleMillis;
+    private final long                          abandonMillis;
+
+    /**
+     * @param retired         Determines whether a state is done and can be dropped once it goes idle.
+     * @param idleTimeout     How long a retired state must go unused before it is dropped.
+     * @param abandonTimeout  How long any state may go unused before it is dropped.
+     * @param redirectTimeout How long to remember where a state was redirected to.
+     */
+    public StateRegistry(final String name, final Predicate<T> retired, final long idleTimeout, final long abandonTimeout,
+                         final long redirectTimeout, final TimeUnit unit) {
+        this.name = name;
+        this.retired = retired;
+        idleMillis = unit.toMillis( idleTimeout );
+        abandonMillis = unit.toMillis( abandonTimeout );
+        redirections = CacheBuilder.newBuilder().expireAfterWrite( redirectTimeout, unit ).build();
+    }
+
+    /**
+     * @return The state with the given ID, or {@code null} if there is no such state.
+     */
+    @Nullable
+    public T find(final long id) {
+        Entry<T> entry = states.get( id );
+        if (entry == null) {
+            metrics.misses.incrementAndGet();
+            return null;
+        }
+
+        metrics.hits.incrementAndGet();
+        return entry.touch();
+    }
+
+    /**
+     * @return The URI that the state with the given ID was redirected to, or {@code null} if it wasn't redirected.
+     */
+    @Nullable
+    public URI findRedirection(final long id) {
+        return redirections.getIfPresent( id );
+    }
+
+    /**
+     * @return The newly allocated ID of the state.
+     */
+    public long add(final T state) {
+        long id;
+        synchronized (this) {
+            do {
+                id = RANDOM.nextInt( Integer.MAX_VALUE );
+            }
+            while (states.containsKey( id ) || redirections.getIfPresent( id ) != null);
+            states.put( id, new Entry<>( state ) );
+        }
+
+        return id;
+    }
+
+    /**
+     * Remove the state with the given ID and send those who look for it to the given destination instead.
+     */
+    public synchronized void redirect(final long id, final URI destination) {
+        redirections.put( id, destination );
+        if (states.remove( id ) != null)
+            released( id );
+    }
+
+    /**
+     * Drop the retired states that have gone idle and the states that have been abandoned, and forget expired redirections.
+     */
+    public synchronized void sweep() {
+        long now = System.currentTimeMillis();
+        for (final Map.Entry<Long, Entry<T>> candidate : states.entrySet()) {
+            long idle = now - candidate.getValue().lastAccess;
+            if (idle >= abandonMillis || idle >= idleMillis && retired.test( candidate.getValue().state ))
+                drop( candidate.getKey() );
+        }
+
+        redirections.cleanUp();
+        logger.dbg( "%s: %d held, %s", name, states.size(), metrics );
+    }
+
+    /**
+     * @return The amount of states held in memory.
+     */
+    public int getSize() {
+        return states.size();
+    }
+
+    /**
+     * @param releaseListener Notified with the ID of every state that leaves memory, because it was dropped or redirected.
+     */
+    public void addReleaseListener(final LongConsumer releaseListener) {
+        releaseListeners.add( releaseListener );
+    }
+
+    public StateMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void drop(final long id) {
+        logger.inf( "%s: dropping state: %d", name, id );
+        states.remove( id );
+        metrics.dropped.incrementAndGet();
+        released( id );
+    }
+
+    private void released(final long id) {
+        for (final LongConsumer releaseListener : releaseListeners)
+            releaseListener.accept( id );
+    }
+
+    private static class Entry<T> {
+
+        final T state;
+        volatile long lastAccess = System.currentTimeMillis();
+
+        Entry(final T state) {
+            this.state = state;
+        }
+
+        T touch() {
+            lastAccess = System.currentTimeMillis();
+            return state;
+        }
+    }
+}
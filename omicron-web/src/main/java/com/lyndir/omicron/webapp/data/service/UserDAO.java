@@ -18,6 +18,12 @@ public interface UserDAO {
     @Nullable
     User findUser(String emailAddress);
 
+    /**
+     * List the users a page at a time, in the order of their IDs.
+     *
+     * @param afterID    The ID of the last user of the previous page, or {@code 0} for the first page.
+     * @param maxResults The maximum amount of users on the page.
+     */
     @Nonnull
-    List<User> listUsers();
+    List<User> listUsers(long afterID, int maxResults);
 }
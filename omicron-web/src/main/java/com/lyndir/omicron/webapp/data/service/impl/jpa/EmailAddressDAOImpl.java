@@ -1,6 +1,5 @@
 package com.lyndir.omicron.webapp.data.service.impl.jpa;
 
-import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import com.lyndir.lhunath.opal.jpa.Persist;
 import com.lyndir.omicron.webapp.data.EmailAddress;
@@ -14,25 +13,25 @@ import javax.persistence.EntityManager;
  */
 public class EmailAddressDAOImpl implements EmailAddressDAO {
 
-    private final EntityManager   db;
+    private final EntityManager db;
+    private final UserIDCache   userIDs;
 
     @Inject
-    public EmailAddressDAOImpl(final Persist persist) {
+    public EmailAddressDAOImpl(final Persist persist, final UserIDCache userIDs) {
         db = persist.getEntityManager();
+        this.userIDs = userIDs;
     }
 
     @Override
     public EmailAddress newAddress(final String address)
             throws EmailAddressUnavailableException {
-        EmailAddress emailAddress = Iterables.getFirst(
-                db.createQuery( "SELECT e FROM LLEmailAddress e WHERE e.address = :address", EmailAddress.class ) //
-                        .setParameter( "address", address ) //
-                        .getResultList(), null );
-        if (emailAddress != null)
+        // The address is the entity's ID, so this lookup is served by the second-level cache.
+        if (db.find( EmailAddress.class, address ) != null)
             throw new EmailAddressUnavailableException( address );
 
-        emailAddress = new EmailAddress( address );
+        EmailAddress emailAddress = new EmailAddress( address );
         db.persist( emailAddress );
+        userIDs.invalidate( address );
 
         return emailAddress;
     }
@@ -1,12 +1,12 @@
 package com.lyndir.omicron.webapp.data.service.impl.jpa;
 
-import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import com.lyndir.lhunath.opal.jpa.Persist;
 import com.lyndir.lhunath.opal.system.logging.Logger;
 import com.lyndir.omicron.webapp.data.*;
 import com.lyndir.omicron.webapp.data.service.*;
 import java.util.List;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.persistence.EntityManager;
@@ -21,11 +21,13 @@ public class UserDAOImpl implements UserDAO {
 
     private final EntityManager   db;
     private final EmailAddressDAO emailAddressDAO;
+    private final UserIDCache     userIDs;
 
     @Inject
-    public UserDAOImpl(final Persist persist, final EmailAddressDAO emailAddressDAO) {
+    public UserDAOImpl(final Persist persist, final EmailAddressDAO emailAddressDAO, final UserIDCache userIDs) {
         db = persist.getEntityManager();
         this.emailAddressDAO = emailAddressDAO;
+        this.userIDs = userIDs;
     }
 
     @Nonnull
@@ -34,6 +36,7 @@ public class UserDAOImpl implements UserDAO {
             throws EmailAddressUnavailableException {
         User user = new User( emailAddressDAO.newAddress( emailAddress ), name );
         db.persist( user );
+        userIDs.invalidate( emailAddress );
 
         return user;
     }
@@ -41,15 +44,20 @@ public class UserDAOImpl implements UserDAO {
     @Override
     @Nullable
     public User findUser(final String emailAddress) {
-        return Iterables.getFirst( db.createQuery( "SELECT u FROM OEmailAddress e JOIN e.user u " + //
-                                                   "WHERE u.mode = :mode AND e.address = :emailAddress", User.class )
-                                     .setParameter( "emailAddress", emailAddress )
-                                     .getResultList(), null );
+        Optional<Long> userID = userIDs.get( emailAddress, () -> {
+            EmailAddress address = db.find( EmailAddress.class, emailAddress );
+            return Optional.ofNullable( address == null? null: address.getUser() ).map( User::getId );
+        } );
+
+        return userID.isPresent()? db.find( User.class, userID.get() ): null;
     }
 
     @Nonnull
     @Override
-    public List<User> listUsers() {
-        return db.createQuery( "SELECT u FROM OUser u", User.class ).getResultList();
+    public List<User> listUsers(final long afterID, final int maxResults) {
+        return db.createQuery( "SELECT u FROM OUser u WHERE u.id > :afterID ORDER BY u.id", User.class )
+                 .setParameter( "afterID", afterID )
+                 .setMaxResults( maxResults )
+                 .getResultList();
     }
 }
@@ -0,0 +1,57 @@
+package com.lyndir.omicron.webapp.data.service.impl.jpa;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Singleton;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Remembers which user owns an email address, so that looking a user up by email address doesn't need a query.
+ * <p>
+ * Only the user's ID is cached: the user itself is then loaded by ID from the entity manager, which is served by the second-level
+ * cache and always yields an entity managed by the current request.  Addresses without a user aren't remembered: their user may
+ * still be on its way to the database in another request.
+ *
+ * @author lhunath, 2014-08-18
+ */
+@Singleton
+public class UserIDCache {
+
+    private static final int  MAXIMUM_SIZE = 10000;
+    private static final long TTL_MINUTES  = 10;
+
+    private final Cache<String, Optional<Long>> userIDs = CacheBuilder.newBuilder()
+                                                                      .maximumSize( MAXIMUM_SIZE )
+                                                                      .expireAfterWrite( TTL_MINUTES, TimeUnit.MINUTES )
+                                                                      .build();
+
+    /**
+     * @param loader Looks up the ID of the user that owns the email address if it isn't cached.
+     *
+     * @return The ID of the user that owns the email address, or absent if no user owns it.
+     */
+    public Optional<Long> get(final String emailAddress, final Callable<Optional<Long>> loader) {
+        try {
+            Optional<Long> userID = userIDs.get( emailAddress, loader );
+            if (!userID.isPresent())
+                userIDs.invalidate( emailAddress );
+
+            return userID;
+        }
+        catch (final ExecutionException e) {
+            throw Throwables.propagate( e.getCause() );
+        }
+    }
+
+    /**
+     * Forget who owns the email address, after it was claimed or changed owner.
+     */
+    public void invalidate(final String emailAddress) {
+        userIDs.invalidate( emailAddress );
+    }
+}
@@ -28,6 +28,7 @@ import com.lyndir.lhunath.opal.jpa.PersistFilter;
 import com.lyndir.lhunath.opal.system.logging.Logger;
 import com.lyndir.omicron.webapp.data.service.*;
 import com.lyndir.omicron.webapp.resource.*;
+import com.lyndir.omicron.webapp.stream.GameEventServlet;
 import com.lyndir.lhunath.opal.json.GsonJsonProvider;
 import com.sun.jersey.guice.spi.container.servlet.GuiceContainer;
 import java.net.URI;
@@ -42,8 +43,9 @@ public class GuiceContext extends GuiceServletContextListener {
 
     static final Logger logger = Logger.get( GuiceContext.class );
 
-    private static final String PATH_APP      = "/app/*";
-    private static final String PATH_APP_REST = "/app/rest/*";
+    private static final String PATH_APP             = "/app/*";
+    private static final String PATH_APP_REST        = "/app/rest/*";
+    private static final String PATH_APP_GAME_EVENTS = "/app/events/game/*";
 
     @Override
     protected Injector getInjector() {
@@ -85,6 +87,7 @@ public class GuiceContext extends GuiceServletContextListener {
                 logger.dbg( "Configuring API services" );
                 bind( StateManager.class );
                 bind( SessionManager.class );
+                bind( GameExecutor.class );
 
                 logger.dbg( "Configuring API resources" );
                 serve( PATH_APP_REST ).with( GuiceContainer.class ); // Jersey
@@ -92,6 +95,11 @@ public class GuiceContext extends GuiceServletContextListener {
                 bind( UserResource.class );
                 bind( GameResource.class );
                 bind( GameBuilderResource.class );
+                bind( JobResource.class );
+                bind( MetricsResource.class );
+
+                logger.dbg( "Configuring event streams" );
+                serve( PATH_APP_GAME_EVENTS ).with( GameEventServlet.class );
             }
         } );
     }
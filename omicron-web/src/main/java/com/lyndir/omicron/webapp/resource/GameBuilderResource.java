@@ -2,6 +2,7 @@ package com.lyndir.omicron.webapp.resource;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
 import com.lyndir.lhunath.opal.math.Size;
 import com.lyndir.lhunath.opal.system.util.NNFunctionNN;
@@ -25,30 +26,37 @@ public class GameBuilderResource {
 
     private final SessionManager sessionManager;
     private final StateManager   stateManager;
+    private final GameExecutor   executor;
 
     @Inject
-    public GameBuilderResource(final SessionManager sessionManager, final StateManager stateManager) {
+    public GameBuilderResource(final SessionManager sessionManager, final StateManager stateManager, final GameExecutor executor) {
         this.sessionManager = sessionManager;
         this.stateManager = stateManager;
+        this.executor = executor;
     }
 
     @GET
     @Path("{gameBuilderID}")
     @Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_FORM_URLENCODED })
     public Response get(@PathParam("gameBuilderID") final long gameBuilderID) {
-        IGame.IBuilder gameBuilder = stateManager.getGameBuilder( gameBuilderID );
+        GetResponse response = executor.call( GameExecutor.gameBuilderLane( gameBuilderID ),
+                                              () -> new GetResponse( stateManager.getGameBuilder( gameBuilderID ) ) );
 
         // Response.
-        return Response.ok( new GetResponse( gameBuilder ) ).build();
+        return Response.ok( response ).build();
     }
 
     @POST
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_FORM_URLENCODED })
     public Response post(final GameBuilderRequest input) {
+        User user = sessionManager.getUser();
         long gameBuilderID = stateManager.addGameBuilder( Director.CORE_DIRECTOR.gameBuilder() );
 
         // Handle.
-        input.handle( Preconditions.checkNotNull( stateManager.getGameBuilder( gameBuilderID ) ), sessionManager.getUser() );
+        executor.call( GameExecutor.gameBuilderLane( gameBuilderID ), () -> {
+            input.handle( Preconditions.checkNotNull( stateManager.getGameBuilder( gameBuilderID ) ), user );
+            return null;
+        } );
 
         // Response.
         return Response.created( UriBuilder.fromPath( "{gameBuilderID}" ).build( gameBuilderID ) ).build();
@@ -58,10 +66,13 @@ public class GameBuilderResource {
     @Path("{gameBuilderID}")
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_FORM_URLENCODED })
     public Response put(@PathParam("gameBuilderID") final long gameBuilderID, final GameBuilderRequest input) {
-        IGame.IBuilder gameBuilder = stateManager.getGameBuilder( gameBuilderID );
+        User user = sessionManager.getUser();
 
         // Handle.
-        input.handle( gameBuilder, sessionManager.getUser() );
+        executor.call( GameExecutor.gameBuilderLane( gameBuilderID ), () -> {
+            input.handle( stateManager.getGameBuilder( gameBuilderID ), user );
+            return null;
+        } );
 
         // Response.
         return Response.ok().build();
@@ -78,13 +89,13 @@ public class GameBuilderResource {
 
         public GetResponse(final IGame.IBuilder gameBuilder) {
             levelSize = gameBuilder.getLevelSize();
-            players = Collections2.transform( gameBuilder.getPlayers(), new NNFunctionNN<IPlayer, HumanPlayer>() {
+            players = ImmutableList.copyOf( Collections2.transform( gameBuilder.getPlayers(), new NNFunctionNN<IPlayer, HumanPlayer>() {
                 @Nonnull
                 @Override
                 public HumanPlayer apply(@Nonnull final IPlayer player) {
                     return new HumanPlayer( player );
                 }
-            } );
+            } ) );
             victoryConditions = gameBuilder.getVictoryConditions();
             resourceConfig = gameBuilder.getResourceConfig();
             unitConfig = gameBuilder.getUnitConfig();
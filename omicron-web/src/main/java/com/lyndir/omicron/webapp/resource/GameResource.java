@@ -6,8 +6,10 @@ import com.lyndir.lhunath.opal.math.Size;
 import com.lyndir.lhunath.opal.system.util.NNFunctionNN;
 import com.lyndir.omicron.api.*;
 import com.lyndir.omicron.api.view.PlayerGameInfo;
-import com.lyndir.omicron.webapp.data.service.StateManager;
+import com.lyndir.omicron.webapp.data.User;
+import com.lyndir.omicron.webapp.data.service.*;
 import edu.umd.cs.findbugs.annotations.*;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.ws.rs.*;
 import javax.ws.rs.core.*;
@@ -19,31 +21,68 @@ import javax.ws.rs.core.*;
 @Path("/game")
 public class GameResource {
 
-    private final StateManager   stateManager;
+    private final SessionManager    sessionManager;
+    private final StateManager      stateManager;
+    private final GameResponseCache responseCache;
+    private final GameExecutor      executor;
 
     @Inject
-    public GameResource(final StateManager stateManager) {
+    public GameResource(final SessionManager sessionManager, final StateManager stateManager, final GameResponseCache responseCache,
+                        final GameExecutor executor) {
+        this.sessionManager = sessionManager;
         this.stateManager = stateManager;
+        this.responseCache = responseCache;
+        this.executor = executor;
     }
 
     @GET
     @Path("{gameID}")
-    @Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_FORM_URLENCODED })
-    public Response get(@PathParam("gameID") final long gameID) {
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response get(@PathParam("gameID") final long gameID, @Context final Request request) {
+        // Check input.
+        IGame game = stateManager.getGame( gameID );
+        User user = sessionManager.findUser();
+        if (user == null)
+            return Response.status( Response.Status.UNAUTHORIZED ).build();
+        Optional<Player> viewer = Security.findPlayer( (Game) game, user.getPlayerKey() );
+        if (!viewer.isPresent())
+            return Response.status( Response.Status.FORBIDDEN ).build();
+
+        // Handle.
+        GameResponseCache.ViewerResponse viewerResponse = responseCache.get( gameID, (Game) game, viewer.get() );
+        Response.ResponseBuilder notModified = request.evaluatePreconditions( viewerResponse.getTag() );
+        if (notModified != null)
+            return notModified.build();
+
+        GameResponseCache.Rendered rendered = executor.call( (Game) game, viewer.get(), //
+                                                             () -> viewerResponse.render( () -> new GetResponse( (Game) game ) ) );
+
         // Response.
-        return Response.ok( new GetResponse( stateManager.getGame( gameID ) ) ).build();
+        return Response.ok( rendered.getJSON(), MediaType.APPLICATION_JSON_TYPE ).tag( rendered.getTag() ).build();
     }
 
+    /**
+     * Building a game generates its world, which can take a while on large maps.  The game is built in the background and the
+     * response points at the build job, which redirects to the new game once it is ready.
+     */
     @POST
-    public Response post(@QueryParam( "gameBuilderID" ) final long gameBuilderID, final UriInfo uriInfo) {
-        IGame.IBuilder gameBuilder = stateManager.getGameBuilder(gameBuilderID);
+    public Response post(@QueryParam( "gameBuilderID" ) final long gameBuilderID, @Context final UriInfo uriInfo) {
+        // Check input.
+        stateManager.getGameBuilder( gameBuilderID );
 
         // Handle.
-        long gameID = stateManager.addGame( gameBuilder.build() );
-        stateManager.dropAndRedirectGameBuilder( gameBuilderID, uriInfo.getAbsolutePathBuilder().path( "{gameID}" ).build( gameID ) );
+        UriBuilder gameURI = uriInfo.getAbsolutePathBuilder().path( "{gameID}" );
+        long jobID = executor.startJob( GameExecutor.gameBuilderLane( gameBuilderID ), () -> {
+            long gameID = stateManager.addGame( stateManager.getGameBuilder( gameBuilderID ).build() );
+            stateManager.dropAndRedirectGameBuilder( gameBuilderID, gameURI.build( gameID ) );
+
+            return gameURI.build( gameID );
+        } );
 
         // Response.
-        return Response.created( UriBuilder.fromPath( "{gameID}" ).build( gameID ) ).build();
+        return Response.accepted()
+                       .location( uriInfo.getBaseUriBuilder().path( JobResource.class ).path( "{jobID}" ).build( jobID ) )
+                       .build();
     }
 
     @SuppressFBWarnings({ "URF_UNREAD_FIELD" })
@@ -53,16 +92,17 @@ public class GameResource {
         final Size                     levelSize;
         final Iterable<PlayerGameInfo> playersInfo;
 
-        public GetResponse(final IGame game) {
-            turn = game.getTurns();
-            levelSize = game.getLevelSize();
+        public GetResponse(final Game game) {
+            GameSnapshot snapshot = game.getSnapshot();
+            turn = snapshot.getTurn();
+            levelSize = snapshot.getLevelSize();
             playersInfo = FluentIterable.from( game.getPlayers() ).transform( new NNFunctionNN<IPlayer, PlayerGameInfo>() {
                 @Nonnull
                 @Override
                 public PlayerGameInfo apply(@Nonnull final IPlayer player) {
                     return game.getController().getPlayerGameInfo( player );
                 }
-            } );
+            } ).toList();
         }
     }
 }
@@ -0,0 +1,228 @@
+package com.lyndir.omicron.webapp.resource;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Throwables;
+import com.google.common.cache.*;
+import com.google.common.collect.Maps;
+import com.google.gson.Gson;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.lyndir.lhunath.opal.system.util.Job;
+import com.lyndir.omicron.api.*;
+import com.lyndir.omicron.webapp.data.service.StateManager;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import javax.ws.rs.core.EntityTag;
+
+
+/**
+ * Caches the rendered JSON of game responses per game and viewing player.
+ * <p>
+ * Each viewer's response is versioned, and takes a new version whenever the viewer observes an event that can change the response.
+ * Versions are drawn from a single counter for all responses, so a response that is cached again after it was released never reuses a
+ * version that was handed out before.  The response's entity tag combines the current turn with that version, so clients that already
+ * hold the latest response can be answered without rendering it again.
+ * <p>
+ * Responses are kept by game ID so that the cache holds no game that its registry has released.  A viewer's response, and the listener
+ * that tracks its events, are released when the game is or when the viewer hasn't asked for it for a while.
+ *
+ * @author lhunath, 2014-08-18
+ */
+@Singleton
+public class GameResponseCache {
+
+    private static final long       VIEWER_IDLE_MINUTES = 15;
+    private static final AtomicLong versions            = new AtomicLong();
+
+    private final Gson                                             gson      = new Gson();
+    private final ConcurrentMap<Long, Cache<Long, ViewerResponse>> responses = Maps.newConcurrentMap();
+
+    @Inject
+    public GameResponseCache(final StateManager stateManager) {
+        stateManager.addGameReleaseListener( this::evict );
+    }
+
+    /**
+     * @return The cached response of the game for the given viewer.  The first call for a viewer starts tracking the viewer's events,
+     * until the viewer stops asking for a while or the game is released.
+     */
+    public ViewerResponse get(final long gameID, final Game game, final Player viewer) {
+        Cache<Long, ViewerResponse> viewerResponses = responses.computeIfAbsent( gameID, id -> CacheBuilder.newBuilder() //
+                .expireAfterAccess( VIEWER_IDLE_MINUTES, TimeUnit.MINUTES )
+                .removalListener( (RemovalListener<Long, ViewerResponse>) removal -> removal.getValue().close() )
+                .build() );
+
+        try {
+            return viewerResponses.get( viewer.getPlayerID(), () -> {
+                ViewerResponse response = new ViewerResponse( game, viewer );
+                response.open();
+
+                return response;
+            } );
+        }
+        catch (final ExecutionException e) {
+            throw Throwables.propagate( e.getCause() );
+        }
+    }
+
+    private void evict(final long gameID) {
+        Cache<Long, ViewerResponse> viewerResponses = responses.remove( gameID );
+        if (viewerResponses != null)
+            viewerResponses.invalidateAll();
+    }
+
+    public class ViewerResponse extends GameListener {
+
+        private final AtomicLong version = new AtomicLong( versions.incrementAndGet() );
+        private final Game       game;
+        private final Player     viewer;
+
+        @Nullable
+        private volatile Rendered rendered;
+
+        ViewerResponse(final Game game, final Player viewer) {
+            this.game = game;
+            this.viewer = viewer;
+        }
+
+        /**
+         * @return The entity tag of the viewer's current response.
+         */
+        public EntityTag getTag() {
+            return tag( version.get() );
+        }
+
+        /**
+         * @param renderer Renders the response if the cached rendering is out of date.  Invoked as the viewer.
+         *
+         * @return The viewer's current response.
+         */
+        public synchronized Rendered render(final Supplier<?> renderer) {
+            Rendered current = rendered;
+            long currentVersion = version.get();
+            if (current == null || current.version != currentVersion) {
+                byte[] json = gson.toJson( renderer.get() ).getBytes( Charsets.UTF_8 );
+                rendered = current = new Rendered( currentVersion, tag( currentVersion ), json );
+            }
+
+            return current;
+        }
+
+        private EntityTag tag(final long currentVersion) {
+            return new EntityTag( game.getSnapshot().getTurn().getNumber() + "-" + currentVersion );
+        }
+
+        /**
+         * Start tracking the viewer's events.
+         */
+        void open() {
+            send( () -> {
+                game.getController().addGameListener( this );
+                return null;
+            } );
+        }
+
+        /**
+         * Stop tracking the viewer's events.
+         */
+        void close() {
+            send( () -> game.getController().removeGameListener( this ) );
+        }
+
+        /**
+         * Send a command to the game as the viewer, without waiting for it.
+         */
+        private void send(final Job<?> command) {
+            Security.activatePlayer( viewer );
+            try {
+                game.getController().submit( command );
+            }
+            finally {
+                Security.deactivatePlayer();
+            }
+        }
+
+        private void invalidate() {
+            version.accumulateAndGet( versions.incrementAndGet(), Math::max );
+        }
+
+        @Override
+        public void onNewTurn(final Turn currentTurn) {
+            invalidate();
+        }
+
+        @Override
+        public void onPlayerScore(final IPlayer player, final ChangeInt score) {
+            invalidate();
+        }
+
+        @Override
+        public void onPlayerGainedObject(final IPlayer player, final IGameObject gameObject) {
+            invalidate();
+        }
+
+        @Override
+        public void onPlayerLostObject(final IPlayer player, final IGameObject gameObject) {
+            invalidate();
+        }
+
+        @Override
+        public void onTileContents(final ITile tile, final Change<IGameObject> contents) {
+            invalidate();
+        }
+
+        @Override
+        public void onUnitCaptured(final IGameObject gameObject, final Change<IPlayer> owner) {
+            invalidate();
+        }
+
+        @Override
+        public void onUnitMoved(final IGameObject gameObject, final Change<ITile> location) {
+            invalidate();
+        }
+
+        @Override
+        public void onUnitDied(final IGameObject gameObject) {
+            invalidate();
+        }
+
+        @Override
+        public void onMobilityLeveled(final IMobilityModule mobilityModule, final Change<ITile> location, final ChangeDbl remainingSpeed) {
+            invalidate();
+        }
+
+        @Override
+        public void onMobilityMoved(final IMobilityModule mobilityModule, final Change<ITile> location, final ChangeDbl remainingSpeed) {
+            invalidate();
+        }
+
+        @Override
+        public void onGameEnded(final IGame game, final PublicVictoryConditionType victoryCondition, @Nullable final IPlayer victor) {
+            invalidate();
+        }
+    }
+
+
+    public static class Rendered {
+
+        private final long      version;
+        private final EntityTag tag;
+        private final byte[]    json;
+
+        Rendered(final long version, final EntityTag tag, final byte[] json) {
+            this.version = version;
+            this.tag = tag;
+            this.json = json;
+        }
+
+        public EntityTag getTag() {
+            return tag;
+        }
+
+        public byte[] getJSON() {
+            return json;
+        }
+    }
+}
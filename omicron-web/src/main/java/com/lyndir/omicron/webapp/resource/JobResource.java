@@ -0,0 +1,58 @@
+package com.lyndir.omicron.webapp.resource;
+
+import com.google.inject.Inject;
+import com.lyndir.omicron.webapp.data.service.GameExecutor;
+import java.net.URI;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+
+/**
+ * The status of background jobs started by other resources.
+ * <p>
+ * A job that is still running answers {@code 202 Accepted}, a job that is done redirects to the resource it produced with
+ * {@code 303 See Other}.
+ *
+ * @author lhunath, 2014-08-18
+ */
+@Path("/job")
+public class JobResource {
+
+    private final GameExecutor executor;
+
+    @Inject
+    public JobResource(final GameExecutor executor) {
+        this.executor = executor;
+    }
+
+    @GET
+    @Path("{jobID}")
+    @Produces(MediaType.TEXT_PLAIN)
+    public Response get(@PathParam("jobID") final long jobID) {
+        // Check input.
+        CompletableFuture<URI> job = executor.findJob( jobID );
+        if (job == null)
+            return Response.status( Response.Status.NOT_FOUND ).build();
+
+        // Response.
+        if (!job.isDone())
+            return Response.accepted().build();
+
+        try {
+            return Response.seeOther( job.get() ).build();
+        }
+        catch (final ExecutionException e) {
+            if (e.getCause() instanceof WebApplicationException)
+                return ((WebApplicationException) e.getCause()).getResponse();
+
+            return Response.serverError().entity( String.valueOf( e.getCause() ) ).build();
+        }
+        catch (final CancellationException | InterruptedException e) {
+            return Response.serverError().entity( e.toString() ).build();
+        }
+    }
+}
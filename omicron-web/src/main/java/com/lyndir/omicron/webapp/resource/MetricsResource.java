@@ -0,0 +1,56 @@
+package com.lyndir.omicron.webapp.resource;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.lyndir.omicron.api.metrics.*;
+import com.lyndir.omicron.webapp.data.service.*;
+import com.lyndir.omicron.webapp.stream.GameEventStreams;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.function.LongSupplier;
+import javax.ws.rs.*;
+import javax.ws.rs.core.Response;
+
+
+/**
+ * The metrics of the core and the web application, for scraping by Prometheus.
+ *
+ * @author lhunath, 2014-08-18
+ */
+@Path("/metrics")
+@Singleton
+public class MetricsResource {
+
+    @Inject
+    public MetricsResource(final StateManager stateManager, final GameExecutor executor, final GameEventStreams streams) {
+        registerStateMetrics( "games", stateManager.getGameMetrics(), stateManager::getGames );
+        registerStateMetrics( "gameBuilders", stateManager.getGameBuilderMetrics(), stateManager::getGameBuilders );
+
+        Metrics.gauge( "omicron_web_executor_pending_tasks", "Tasks waiting or running in the game lanes.", executor::getPendingTasks );
+        Metrics.counter( "omicron_web_executor_refused_tasks_total", "Tasks refused because the game lanes were saturated.",
+                         executor::getRefusedTasks );
+        Metrics.gauge( "omicron_web_event_streams", "Open game event streams.", streams::getOpenStreams );
+
+        JmxExporter.register();
+    }
+
+    private static void registerStateMetrics(final String registry, final StateMetrics metrics, final LongSupplier held) {
+        Metrics.gauge( "omicron_web_state_held", "States held in memory.", "registry", registry, held );
+        Metrics.counter( "omicron_web_state_hits_total", "State lookups that found their state.", //
+                         "registry", registry, metrics::getHits );
+        Metrics.counter( "omicron_web_state_misses_total", "State lookups that found no state.", //
+                         "registry", registry, metrics::getMisses );
+        Metrics.counter( "omicron_web_state_dropped_total", "Finished or abandoned states that were released.", //
+                         "registry", registry, metrics::getDropped );
+    }
+
+    @GET
+    @Produces(PrometheusExporter.CONTENT_TYPE)
+    public Response get()
+            throws IOException {
+        StringWriter metrics = new StringWriter();
+        PrometheusExporter.write( metrics );
+
+        return Response.ok( metrics.toString() ).build();
+    }
+}
@@ -9,10 +9,9 @@ import com.lyndir.omicron.webapp.data.User;
 import com.lyndir.omicron.webapp.data.service.EmailAddressUnavailableException;
 import com.lyndir.omicron.webapp.data.service.UserDAO;
 import edu.umd.cs.findbugs.annotations.*;
-import java.util.Collection;
+import java.util.List;
 import javax.ws.rs.*;
-import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.Response;
+import javax.ws.rs.core.*;
 
 
 /**
@@ -21,6 +20,8 @@ import javax.ws.rs.core.Response;
 @Path("/user")
 public class UserResource {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserDAO userDAO;
 
     @Inject
@@ -30,8 +31,24 @@ public class UserResource {
 
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
-    public Collection<User> list() {
-        return userDAO.listUsers();
+    public Response list(@QueryParam("after") @DefaultValue("0") final long afterID,
+                         @QueryParam("limit") @DefaultValue("100") final int limit, @Context final UriInfo uriInfo) {
+        // Check input.
+        if (limit <= 0 || limit > MAX_PAGE_SIZE)
+            return Response.status( Response.Status.BAD_REQUEST ) //
+                           .entity( str( "`limit` must be between 1 and {0}.", MAX_PAGE_SIZE ) ).build();
+
+        // Handle.
+        List<User> users = userDAO.listUsers( afterID, limit );
+
+        // Response.
+        Response.ResponseBuilder response = Response.ok( new GenericEntity<List<User>>( users ) {} );
+        if (users.size() == limit)
+            response.header( "Link", str( "<{0}>; rel=\"next\"", //
+                                          uriInfo.getRequestUriBuilder().replaceQueryParam( "after", users.get( users.size() - 1 ).getId() )
+                                                 .build() ) );
+
+        return response.build();
     }
 
     @GET
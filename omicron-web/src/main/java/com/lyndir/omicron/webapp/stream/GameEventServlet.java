@@ -0,0 +1,72 @@
+package com.lyndir.omicron.webapp.stream;
+
+import com.google.common.base.Charsets;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.lyndir.omicron.api.*;
+import com.lyndir.omicron.webapp.data.User;
+import com.lyndir.omicron.webapp.data.service.SessionManager;
+import com.lyndir.omicron.webapp.data.service.StateManager;
+import java.io.IOException;
+import java.util.Optional;
+import javax.servlet.AsyncContext;
+import javax.servlet.http.*;
+
+
+/**
+ * Serves {@code GET /{gameID}} as a stream of server-sent events observed by the authenticated user's player in the game.
+ *
+ * @author lhunath, 2014-08-18
+ * @see PlayerEventStream
+ */
+@Singleton
+public class GameEventServlet extends HttpServlet {
+
+    private final SessionManager   sessionManager;
+    private final StateManager     stateManager;
+    private final GameEventStreams streams;
+
+    @Inject
+    public GameEventServlet(final SessionManager sessionManager, final StateManager stateManager, final GameEventStreams streams) {
+        this.sessionManager = sessionManager;
+        this.stateManager = stateManager;
+        this.streams = streams;
+    }
+
+    @Override
+    protected void doGet(final HttpServletRequest req, final HttpServletResponse resp)
+            throws IOException {
+        User user = sessionManager.findUser();
+        if (user == null) {
+            resp.sendError( HttpServletResponse.SC_UNAUTHORIZED );
+            return;
+        }
+
+        IGame game;
+        try {
+            game = req.getPathInfo() == null? null: stateManager.findGame( Long.parseLong( req.getPathInfo().substring( 1 ) ) );
+        }
+        catch (final NumberFormatException ignored) {
+            game = null;
+        }
+        if (!(game instanceof Game)) {
+            resp.sendError( HttpServletResponse.SC_NOT_FOUND );
+            return;
+        }
+
+        Optional<Player> player = Security.findPlayer( (Game) game, user.getPlayerKey() );
+        if (!player.isPresent()) {
+            resp.sendError( HttpServletResponse.SC_FORBIDDEN );
+            return;
+        }
+
+        resp.setContentType( "text/event-stream" );
+        resp.setCharacterEncoding( Charsets.UTF_8.name() );
+        resp.setHeader( "Cache-Control", "no-cache" );
+        resp.flushBuffer();
+
+        AsyncContext asyncContext = req.startAsync();
+        asyncContext.setTimeout( 0 );
+        streams.open( (Game) game, player.get(), asyncContext );
+    }
+}
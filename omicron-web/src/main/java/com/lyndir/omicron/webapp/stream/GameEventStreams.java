@@ -0,0 +1,75 @@
+package com.lyndir.omicron.webapp.stream;
+
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Singleton;
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import com.lyndir.omicron.api.*;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.*;
+import javax.servlet.AsyncContext;
+
+
+/**
+ * Holds the open event streams and flushes their events to the browsers on a fixed interval.
+ * <p>
+ * Open streams hold no thread while they're idle.  On each interval, every stream is flushed by its own task so that a browser that
+ * is slow to accept data only holds up its own stream.  A stream that is still being flushed skips the interval.
+ *
+ * @author lhunath, 2014-08-18
+ */
+@Singleton
+public class GameEventStreams {
+
+    static final Logger logger = Logger.get( GameEventStreams.class );
+
+    private static final long FLUSH_INTERVAL_MILLIS = 250;
+
+    private final Set<PlayerEventStream> streams  = Sets.newConcurrentHashSet();
+    private final ExecutorService        flushers = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat( "GameEventStreams-flush-%d" ).setDaemon( true ).build() );
+
+    public GameEventStreams() {
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat( "GameEventStreams" ).setDaemon( true ).build();
+        Executors.newSingleThreadScheduledExecutor( threadFactory )
+                 .scheduleWithFixedDelay( this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS );
+    }
+
+    /**
+     * Start streaming the events observed by the player to the browser on the other end of the async context.
+     */
+    public void open(final Game game, final Player player, final AsyncContext asyncContext) {
+        PlayerEventStream stream = new PlayerEventStream( this, game.getController(), player, asyncContext );
+        asyncContext.addListener( stream );
+        streams.add( stream );
+        stream.open();
+    }
+
+    public int getOpenStreams() {
+        return streams.size();
+    }
+
+    void close(final PlayerEventStream stream) {
+        if (streams.remove( stream ))
+            stream.close();
+    }
+
+    private void flush() {
+        long now = System.currentTimeMillis();
+        for (final PlayerEventStream stream : streams)
+            if (stream.startFlush())
+                flushers.execute( () -> flush( stream, now ) );
+    }
+
+    private void flush(final PlayerEventStream stream, final long now) {
+        try {
+            if (!stream.flush( now ))
+                close( stream );
+        }
+        catch (final IOException | RuntimeException e) {
+            logger.dbg( e, "Closing broken event stream." );
+            close( stream );
+        }
+    }
+}
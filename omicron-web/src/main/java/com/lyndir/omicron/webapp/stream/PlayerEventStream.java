@@ -0,0 +1,207 @@
+package com.lyndir.omicron.webapp.stream;
+
+import com.lyndir.lhunath.opal.system.logging.Logger;
+import com.lyndir.lhunath.opal.system.util.Job;
+import com.lyndir.omicron.api.*;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+
+
+/**
+ * Streams the events observed by a player to the player's browser as server-sent events.
+ * <p>
+ * Events are collected as they are fired and written in a single batch on each flush.  Each event is encoded as a compact JSON array
+ * of a type character followed by numbers:
+ * <ul>
+ * <li>{@code ["t",turn]}: A new turn has begun.</li>
+ * <li>{@code ["m",objectID,level,x,y]}: An object moved to a tile, {@code level} is the ordinal of its {@link LevelType}.</li>
+ * <li>{@code ["d",objectID,damage]}: An object's base took damage.</li>
+ * <li>{@code ["s",objectID,container,stock]}: The stock of one of an object's containers changed.</li>
+ * <li>{@code ["x",objectID]}: An object died.</li>
+ * <li>{@code ["p",playerID,score]}: A player's score changed.</li>
+ * </ul>
+ *
+ * @author lhunath, 2014-08-18
+ */
+class PlayerEventStream extends GameListener implements AsyncListener {
+
+    static final Logger logger = Logger.get( PlayerEventStream.class );
+
+    private static final int  MAX_PENDING_EVENTS = 4096;
+    private static final long HEARTBEAT_MILLIS   = 30 * 1000;
+
+    private final StringBuilder    pending  = new StringBuilder();
+    private final AtomicBoolean    flushing = new AtomicBoolean();
+    private final GameEventStreams streams;
+    private final GameController   gameController;
+    private final Player           player;
+    private final AsyncContext     asyncContext;
+
+    private int     pendingEvents;
+    private boolean overflowed;
+    private long    lastWrite = System.currentTimeMillis();
+
+    PlayerEventStream(final GameEventStreams streams, final GameController gameController, final Player player,
+                      final AsyncContext asyncContext) {
+        this.streams = streams;
+        this.gameController = gameController;
+        this.player = player;
+        this.asyncContext = asyncContext;
+    }
+
+    /**
+     * Claim this stream for a flush.  Only one flush of a stream runs at a time.
+     *
+     * @return false if the stream is still being flushed.
+     */
+    boolean startFlush() {
+        return flushing.compareAndSet( false, true );
+    }
+
+    /**
+     * Write the pending events to the browser, or a heartbeat if the connection has been quiet for a while, and release the claim of
+     * {@link #startFlush()}.
+     * <p>
+     * Writing blocks while the browser isn't accepting data, but new events can still be collected in the meanwhile.
+     *
+     * @return false if the connection can no longer be written to and the stream should be closed.
+     */
+    boolean flush(final long now)
+            throws IOException {
+        try {
+            String events;
+            synchronized (this) {
+                if (overflowed)
+                    // The browser isn't keeping up, it should reconnect and catch up from a fresh view of the game.
+                    return false;
+                if (pendingEvents == 0 && now - lastWrite < HEARTBEAT_MILLIS)
+                    return true;
+
+                events = pendingEvents == 0? ":\n\n": "data: [" + pending + "]\n\n";
+                pending.setLength( 0 );
+                pendingEvents = 0;
+                lastWrite = now;
+            }
+
+            PrintWriter writer = asyncContext.getResponse().getWriter();
+            writer.write( events );
+            writer.flush();
+
+            return !writer.checkError();
+        }
+        finally {
+            flushing.set( false );
+        }
+    }
+
+    /**
+     * Start listening to the game.
+     */
+    void open() {
+        send( () -> {
+            gameController.addGameListener( this );
+            return null;
+        } );
+    }
+
+    /**
+     * Stop listening to the game and end the connection.
+     */
+    void close() {
+        send( () -> gameController.removeGameListener( this ) );
+
+        try {
+            asyncContext.complete();
+        }
+        catch (final IllegalStateException e) {
+            logger.dbg( e, "Stream for %s was already complete.", player );
+        }
+    }
+
+    /**
+     * Send a command to the game as the player, without waiting for it.
+     */
+    private void send(final Job<?> command) {
+        Security.activatePlayer( player );
+        try {
+            gameController.submit( command );
+        }
+        finally {
+            Security.deactivatePlayer();
+        }
+    }
+
+    private synchronized void event(final char type, final long... fields) {
+        if (overflowed)
+            return;
+        if (pendingEvents == MAX_PENDING_EVENTS) {
+            overflowed = true;
+            return;
+        }
+
+        if (pendingEvents++ > 0)
+            pending.append( ',' );
+        pending.append( "[\"" ).append( type ).append( '"' );
+        for (final long field : fields)
+            pending.append( ',' ).append( field );
+        pending.append( ']' );
+    }
+
+    @Override
+    public void onNewTurn(final Turn currentTurn) {
+        event( 't', currentTurn.getNumber() );
+    }
+
+    @Override
+    public void onBaseDamaged(final IBaseModule baseModule, final ChangeInt damage) {
+        event( 'd', baseModule.getGameObject().getObjectID(), damage.getTo() );
+    }
+
+    @Override
+    public void onPlayerScore(final IPlayer player, final ChangeInt score) {
+        event( 'p', player.getPlayerID(), score.getTo() );
+    }
+
+    @Override
+    public void onUnitMoved(final IGameObject gameObject, final Change<ITile> location) {
+        // Also fired for moves and level changes by mobility modules.
+        ITile to = location.getTo();
+        if (to != null)
+            event( 'm', gameObject.getObjectID(), to.getLevel().getType().ordinal(), to.getPosition().getX(), to.getPosition().getY() );
+    }
+
+    @Override
+    public void onUnitDied(final IGameObject gameObject) {
+        event( 'x', gameObject.getObjectID() );
+    }
+
+    @Override
+    public void onContainerStockChanged(final IContainerModule containerModule, final ChangeInt stock) {
+        IGameObject gameObject = containerModule.getGameObject();
+        event( 's', gameObject.getObjectID(), gameObject.getModules( PublicModuleType.CONTAINER ).indexOf( containerModule ),
+               stock.getTo() );
+    }
+
+    @Override
+    public void onComplete(final AsyncEvent event) {
+        streams.close( this );
+    }
+
+    @Override
+    public void onTimeout(final AsyncEvent event) {
+        streams.close( this );
+    }
+
+    @Override
+    public void onError(final AsyncEvent event) {
+        streams.close( this );
+    }
+
+    @Override
+    public void onStartAsync(final AsyncEvent event) {
+    }
+}
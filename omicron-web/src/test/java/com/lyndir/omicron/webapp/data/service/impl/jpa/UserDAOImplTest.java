@@ -0,0 +1,93 @@
+package com.lyndir.omicron.webapp.data.service.impl.jpa;
+
+import static org.testng.Assert.*;
+
+import com.google.common.collect.Lists;
+import com.lyndir.lhunath.opal.jpa.Persist;
+import com.lyndir.omicron.webapp.data.EmailAddress;
+import com.lyndir.omicron.webapp.data.User;
+import com.lyndir.omicron.webapp.data.service.EmailAddressDAO;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.testng.annotations.*;
+
+
+/**
+ * @author lhunath, 2014-08-18
+ */
+public class UserDAOImplTest {
+
+    private EntityManager   db;
+    private EmailAddressDAO emailAddressDAO;
+    private UserDAOImpl     userDAO;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception {
+
+        Persist persist = new Persist();
+        UserIDCache userIDs = new UserIDCache();
+        db = persist.getEntityManager();
+        emailAddressDAO = new EmailAddressDAOImpl( persist, userIDs );
+        userDAO = new UserDAOImpl( persist, emailAddressDAO, userIDs );
+    }
+
+    @Test
+    public void testFindUserAfterEmailChange()
+            throws Exception {
+
+        // A lookup for an address nobody has yet doesn't stick.
+        assertNull( userDAO.findUser( "new@omicron.test" ) );
+
+        db.getTransaction().begin();
+        User user = userDAO.newUser( "old@omicron.test", "testUser" );
+        db.getTransaction().commit();
+        assertEquals( userDAO.findUser( "old@omicron.test" ), user );
+        assertNull( userDAO.findUser( "new@omicron.test" ) );
+
+        // Once the user claims the address, lookups find them.
+        db.getTransaction().begin();
+        EmailAddress address = emailAddressDAO.newAddress( "new@omicron.test" );
+        address.setUser( user );
+        db.getTransaction().commit();
+        assertEquals( userDAO.findUser( "new@omicron.test" ), user );
+        assertEquals( userDAO.findUser( "old@omicron.test" ), user );
+
+        // Committed users are served from the second-level cache.
+        db.clear();
+        assertTrue( db.getEntityManagerFactory().getCache().contains( User.class, user.getId() ) );
+        assertEquals( userDAO.findUser( "new@omicron.test" ).getId(), user.getId() );
+    }
+
+    @Test
+    public void testListUsers()
+            throws Exception {
+
+        db.getTransaction().begin();
+        List<Long> userIDs = Lists.newLinkedList();
+        for (int u = 0; u < 5; ++u)
+            userIDs.add( userDAO.newUser( "page" + u + "@omicron.test", "pageUser" + u ).getId() );
+        db.getTransaction().commit();
+
+        // Users added between pages show up after the users that were already listed.
+        List<Long> listedIDs = Lists.newLinkedList();
+        List<User> page = userDAO.listUsers( 0, 2 );
+        while (!page.isEmpty()) {
+            for (final User user : page)
+                listedIDs.add( user.getId() );
+
+            if (listedIDs.size() == 2) {
+                db.getTransaction().begin();
+                userIDs.add( userDAO.newUser( "late@omicron.test", "lateUser" ).getId() );
+                db.getTransaction().commit();
+            }
+
+            page = userDAO.listUsers( listedIDs.get( listedIDs.size() - 1 ), 2 );
+        }
+
+        // Every user is listed exactly once, in the order of their IDs.
+        for (int l = 1; l < listedIDs.size(); ++l)
+            assertTrue( listedIDs.get( l - 1 ) < listedIDs.get( l ) );
+        assertTrue( listedIDs.containsAll( userIDs ) );
+    }
+}